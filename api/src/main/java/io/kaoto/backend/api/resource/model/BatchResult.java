@@ -0,0 +1,26 @@
+package io.kaoto.backend.api.resource.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 🐱class BatchResult
+ *
+ * Used by the API to return the translation of each one of the sources
+ * sent in a batch. Only one of crd, flows or error is set.
+ *
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchResult(int index, String crd, FlowsWrapper flows, String error) {
+
+    public static BatchResult crd(final int index, final String crd) {
+        return new BatchResult(index, crd, null, null);
+    }
+
+    public static BatchResult flows(final int index, final FlowsWrapper flows) {
+        return new BatchResult(index, null, flows, null);
+    }
+
+    public static BatchResult error(final int index, final String error) {
+        return new BatchResult(index, null, null, error);
+    }
+}
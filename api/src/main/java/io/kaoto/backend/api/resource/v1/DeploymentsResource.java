@@ -7,6 +7,8 @@ import io.kaoto.backend.deployment.ClusterService;
 import io.kaoto.backend.model.deployment.Deployment;
 import io.smallrye.common.annotation.Blocking;
 import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
@@ -36,6 +38,9 @@ import java.util.List;
  *
  * This endpoint will interact with the cluster starting, stopping, and listing
  * running resources.
+ *
+ * All but the logs answer without holding a worker thread while the cluster
+ * does its part.
  */
 @Path("/v1/deployments")
 @ApplicationScoped
@@ -45,6 +50,7 @@ public class DeploymentsResource {
 
     private ClusterService clusterService;
     private Instance<DeploymentGeneratorService> parsers;
+    private ManagedExecutor managedExecutor;
 
     @Inject
     public void setClusterService(
@@ -57,6 +63,11 @@ public class DeploymentsResource {
         this.parsers = parsers;
     }
 
+    @Inject
+    public void setManagedExecutor(final ManagedExecutor managedExecutor) {
+        this.managedExecutor = managedExecutor;
+    }
+
     /*
      * 🐱method all: String
      * 🐱param namespace: String
@@ -68,11 +79,11 @@ public class DeploymentsResource {
     @Path("/")
     @Operation(summary = "Get all Resources",
             description = "Returns all the resources on the cluster.")
-    public List<Deployment> all(
+    public Uni<List<Deployment>> all(
             final @Parameter(description = "Namespace of the cluster where "
                     + "the resources are running.")
             @QueryParam("namespace") String namespace) {
-        return clusterService.getResources(namespace);
+        return clusterService.getResourcesAsync(namespace);
     }
 
     /*
@@ -91,15 +102,16 @@ public class DeploymentsResource {
             description = "Deploy and start the given CRD"
                     + " on the cluster. Deployment will be done "
                     + "as a custom resource.")
-    public String start(
+    public Uni<String> start(
             final @RequestBody String crd,
             final @Parameter(description = "Name of the resource to start.") @PathParam(KamelHelper.NAME) String name,
             final @Parameter(description = "Namespace of the cluster where we want to deploy it.")
             @QueryParam("namespace") String namespace) {
 
-        String securedcrd = securityCheck(crd);
-        clusterService.start(securedcrd, namespace);
-        return securedcrd;
+        //Checking the yaml parses it with every custom resource, keep it off the event loop
+        return Uni.createFrom().item(() -> securityCheck(crd))
+                .runSubscriptionOn(managedExecutor)
+                .chain(securedcrd -> clusterService.startAsync(securedcrd, namespace).replaceWith(securedcrd));
     }
 
     private String securityCheck(final String crd) {
@@ -142,14 +154,17 @@ public class DeploymentsResource {
     @Path("/{name}")
     @Operation(summary = "Get CRD",
             description = "Returns the custom resource identified by name.")
-    public String resource(
+    public Uni<String> resource(
             final @Parameter(description = "Name of the resource to get.") @PathParam(KamelHelper.NAME)
             String name,
             final @Parameter(description = "Type of the resource to get", required = true) @NotNull @QueryParam("type")
             String type,
             final @Parameter(description = "Namespace of the cluster where the resource is running.")
             @QueryParam("namespace") String namespace) {
-        CustomResource cr = clusterService.get(namespace, name, type);
+        return clusterService.getAsync(namespace, name, type).map(cr -> write(cr, name));
+    }
+
+    private String write(final CustomResource cr, final String name) {
         if (cr == null) {
             throw new NotFoundException("Resource with name " + name + " not found.");
         }
@@ -184,14 +199,14 @@ public class DeploymentsResource {
     @Path("/{name}")
     @Operation(summary = "Stop/Remove",
             description = "Remove the resource identified by name.")
-    public boolean stop(
+    public Uni<Boolean> stop(
             final @Parameter(description = "Name of the resource to get.") @PathParam(KamelHelper.NAME)
             String name,
             final @Parameter(description = "Type of the resource to get", required = true) @NotNull @QueryParam("type")
             String type,
             final @Parameter(description = "Namespace of the cluster where the resource is running.")
             @QueryParam("namespace") String namespace) {
-        return clusterService.stop(name, namespace, type);
+        return clusterService.stopAsync(name, namespace, type);
     }
 
 
@@ -0,0 +1,96 @@
+package io.kaoto.backend.api.resource.v1;
+
+import io.kaoto.backend.api.metadata.catalog.IconStore;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🐱class IconResource
+ * 🐱relationship dependsOn IconStore
+ * <p>
+ * This endpoint will return the icons of the steps by their hash.
+ * <p>
+ * As the hash is the hash of the content, the icon behind it never changes and clients can keep it forever.
+ */
+@Path("/v1/icons")
+@ApplicationScoped
+public class IconResource {
+
+    private static final String DATA = "data:";
+    private static final String BASE64 = ";base64";
+
+    private IconStore iconStore;
+
+    @Inject
+    public void setIconStore(final IconStore iconStore) {
+        this.iconStore = iconStore;
+    }
+
+    /*
+     * 🐱method icon : Response
+     * 🐱param hash: String
+     *
+     * Returns the image of the icon with this hash.
+     */
+    @GET
+    @Path("/{hash}")
+    @Operation(summary = "Get icon",
+            description = "Returns the icon identified by the hash found on the steps.")
+    public Response icon(
+            final @Parameter(description = "Hash of the icon, as found on the iconHash of the step.")
+            @PathParam("hash") String hash,
+            final @Context Request request) {
+        final var icon = iconStore.get(hash);
+        if (icon == null) {
+            throw new NotFoundException("There is no icon with hash " + hash);
+        }
+
+        final var cacheControl = new CacheControl();
+        cacheControl.setMaxAge((int) TimeUnit.DAYS.toSeconds(365));
+        cacheControl.getCacheExtension().put("immutable", null);
+        final var etag = new EntityTag(hash);
+
+        var response = request.evaluatePreconditions(etag);
+        if (response == null) {
+            response = image(icon);
+        }
+        return response.tag(etag).cacheControl(cacheControl).build();
+    }
+
+    //Icons are data URIs most of the time: data:image/svg+xml;base64,...
+    private static Response.ResponseBuilder image(final String icon) {
+        final var comma = icon.indexOf(',');
+        if (!icon.startsWith(DATA) || comma < 0) {
+            return Response.ok(icon, MediaType.TEXT_PLAIN_TYPE.withCharset(StandardCharsets.UTF_8.name()));
+        }
+
+        var type = icon.substring(DATA.length(), comma);
+        final var data = icon.substring(comma + 1);
+        final byte[] content;
+        if (type.endsWith(BASE64)) {
+            type = type.substring(0, type.length() - BASE64.length());
+            content = Base64.getMimeDecoder().decode(data);
+        } else {
+            content = URLDecoder.decode(data.replace("+", "%2B"), StandardCharsets.UTF_8)
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+        return Response.ok(content, type.isBlank() ? MediaType.TEXT_PLAIN : type);
+    }
+}
@@ -14,6 +14,7 @@ import io.kaoto.backend.api.resource.v1.model.Integration;
 import io.kaoto.backend.api.service.deployment.DeploymentService;
 import io.kaoto.backend.api.service.dsl.DSLSpecification;
 import io.kaoto.backend.api.service.language.LanguageService;
+import io.kaoto.backend.api.service.step.parser.SourceSniffer;
 import io.kaoto.backend.model.step.Step;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
@@ -102,12 +103,14 @@ public class IntegrationsResource {
                     + "'Kamelet Binding'.")
             @QueryParam("dsl") String dsl) {
         Integration integration = new Integration();
+        //Read just enough to know which DSL it is, once for all of them
+        final var source = SourceSniffer.sniff(crd);
 
         boolean found = false;
         for (DSLSpecification stepParserService : dslSpecifications) {
             try {
-                if (stepParserService.identifier().equalsIgnoreCase(dsl) && stepParserService.appliesTo(crd)) {
-                    var parsed = stepParserService.getStepParserService().deepParse(crd);
+                if (stepParserService.identifier().equalsIgnoreCase(dsl) && stepParserService.appliesTo(source)) {
+                    var parsed = stepParserService.getStepParserService().deepParse(source);
                     integration.setSteps(parsed.getSteps());
                     integration.setMetadata(parsed.getMetadata());
                     integration.setParameters(parsed.getParameters());
@@ -123,8 +126,8 @@ public class IntegrationsResource {
         if (!found) {
             for (var stepParserService : dslSpecifications) {
                 try {
-                    if (stepParserService.appliesTo(crd)) {
-                        var parsed = stepParserService.getStepParserService().deepParse(crd);
+                    if (stepParserService.appliesTo(source)) {
+                        var parsed = stepParserService.getStepParserService().deepParse(source);
                         integration.setSteps(parsed.getSteps());
                         integration.setMetadata(parsed.getMetadata());
                         integration.setParameters(parsed.getParameters());
@@ -163,10 +166,8 @@ public class IntegrationsResource {
     public List<String> compatibleDSL(final @RequestBody List<Step> steps) {
         List<String> dsls = new ArrayList<>();
 
-        for (DSLSpecification parser : dslSpecifications) {
-            if (parser.appliesTo(steps)) {
-                dsls.add(parser.identifier());
-            }
+        for (DSLSpecification parser : deploymentService.compatible(steps)) {
+            dsls.add(parser.identifier());
         }
 
         if (dsls.isEmpty()) {
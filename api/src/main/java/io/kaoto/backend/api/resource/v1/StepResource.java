@@ -1,6 +1,8 @@
 package io.kaoto.backend.api.resource.v1;
 
 import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.kaoto.backend.api.service.deployment.DeploymentService;
 import io.kaoto.backend.api.service.dsl.DSLSpecification;
 import io.kaoto.backend.api.service.step.StepService;
@@ -32,6 +34,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 🐱class StepResource
@@ -61,6 +65,7 @@ public class StepResource {
     private StepService stepService;
     private DeploymentService deploymentService;
     private MeterRegistry registry;
+    private ObjectMapper objectMapper;
 
     @Inject
     public void setStepService(final StepService stepService) {
@@ -78,11 +83,17 @@ public class StepResource {
         this.registry = registry;
     }
 
+    @Inject
+    public void setObjectMapper(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
     /*
      * 🐱method allSteps : List[Step]
      * 🐱param type: String
      * 🐱param dsl: String
      * 🐱param kind: String
+     * 🐱param inlineIcons: boolean
      *
      * Returns all the steps. If parameters are included in the query, it
      * will filter only those steps compatible with the constraints.
@@ -90,12 +101,11 @@ public class StepResource {
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    @JsonView(Views.Summary.class)
     @Operation(summary = "Get all steps",
             description = "Returns all the available steps that can be added"
-                    + " to the integration.")
+                    + " to the integration. Icons are referenced by their hash unless inlineIcons is set.")
     @Compressed
-    public Collection<Step> all(
+    public Response all(
             final @Parameter(description = "Filter by Domain Specific Language (DSL). "
                     + "Examples: 'KameletBinding' 'KameletBinding,Kamelet'")
             @QueryParam("dsl") String dsl,
@@ -110,9 +120,23 @@ public class StepResource {
             final @Parameter(description = "Provides context: previous step, if exists.")
             @QueryParam("previousStep") String previousStep,
             final @Parameter(description = "Provides context: following step, if exists.")
-            @QueryParam("followingStep") String followingStep) {
+            @QueryParam("followingStep") String followingStep,
+            final @Parameter(description = "Include the icons in the steps instead of just their hash.")
+            @QueryParam("inlineIcons") boolean inlineIcons) throws JsonProcessingException {
+        final var result = all(dsl, type, kind, limit, start, previousStep, followingStep);
+        return Response.ok(objectMapper.writerWithView(inlineIcons ? Views.InlineIcons.class : Views.Summary.class)
+                        .writeValueAsBytes(result), MediaType.APPLICATION_JSON_TYPE)
+                .build();
+    }
+
+    /*
+     * 🐱method all : List[Step]
+     *
+     * The steps the endpoint returns, before they are serialized.
+     */
+    public Collection<Step> all(final String dsl, final String type, final String kind, final Long limit,
+                                final Long start, final String previousStep, final String followingStep) {
         final var allSteps = stepService.allSteps();
-        var steps = allSteps.stream().sorted(Comparator.comparing(Metadata::getId));
         Span span = Span.current();
         if (span != null) {
             span.setAttribute("steps.total", allSteps.size());
@@ -124,48 +148,47 @@ public class StepResource {
             registry.gauge(KamelHelper.STEPS, allSteps.size());
         }
 
-        if (start != null && start > 0) {
-            steps = steps.skip(start);
-        }
-
-        if (limit != null && limit > 0) {
-            steps = steps.limit(limit);
-        }
-
-        steps = steps.parallel();
-
         //DSL first because it is usually the parameter we will use
+        List<DSLSpecification> dslSpecifications = List.of();
+        Collection<String> kinds = null;
         if (dsl != null && !dsl.isEmpty()) {
-            final var dgsStream = deploymentService.getParsers().stream().parallel()
+            dslSpecifications = deploymentService.getParsers().stream()
                     .filter(s ->
                             Arrays.stream(dsl.split(",")).anyMatch(it -> it.equalsIgnoreCase(s.identifier())))
                     .toList();
 
             //First take all the kinds from the parameter list given
-            List<String> kinds =
-                    dgsStream.parallelStream().map(DSLSpecification::getKinds).flatMap(Collection::stream).toList();
-            //And now we can filter by the kinds
-            steps = steps.filter(step -> kinds.stream().anyMatch(s -> s.equalsIgnoreCase(step.getKind())));
-
-            //And give context based on previous and following step, depending on the DSL
-            for (var dgs : dgsStream) {
-                if (dgs.getDeploymentGeneratorService() != null) {
-                    steps = dgs.getDeploymentGeneratorService().filterCatalog(stepService.stepById(previousStep),
-                            stepService.stepById(followingStep), steps);
-                }
-            }
+            kinds = dslSpecifications.stream().map(DSLSpecification::getKinds).flatMap(Collection::stream).toList();
+        }
+
+        //kind is the less filtering parameter, so it narrows the DSL kinds
+        if (kind != null && !kind.isEmpty()) {
+            final var kindFilter = Arrays.asList(kind.split(","));
+            kinds = kinds == null ? kindFilter : kinds.stream()
+                    .filter(k -> kindFilter.stream().anyMatch(k::equalsIgnoreCase))
+                    .toList();
         }
 
         //This may remove one third of the options
-        if (type != null && !type.isEmpty()) {
-            steps = steps.filter(step -> Arrays.stream(type.split(","))
-                    .anyMatch(t -> t.equalsIgnoreCase(step.getType())));
+        final Collection<String> types = type != null && !type.isEmpty() ? Arrays.asList(type.split(",")) : null;
+
+        //Now we can go straight to the indexes instead of scanning the whole catalog
+        var candidates = stepService.stepsByKindAndType(kinds, types).stream();
+
+        //Paging applies to the whole catalog before filtering
+        if ((start != null && start > 0) || (limit != null && limit > 0)) {
+            final Set<String> page = page(allSteps, start, limit);
+            candidates = candidates.filter(step -> page.contains(step.getId()));
         }
 
-        //kind is the less filtering parameter
-        if (kind != null && !kind.isEmpty()) {
-            steps = steps.filter(step -> Arrays.stream(kind.split(","))
-                    .anyMatch(k -> k.equalsIgnoreCase(step.getKind())));
+        var steps = candidates.sorted(Comparator.comparing(Metadata::getId));
+
+        //And give context based on previous and following step, depending on the DSL
+        for (var dgs : dslSpecifications) {
+            if (dgs.getDeploymentGeneratorService() != null) {
+                steps = dgs.getDeploymentGeneratorService().filterCatalog(stepService.stepById(previousStep),
+                        stepService.stepById(followingStep), steps);
+            }
         }
 
         final var result = steps.toList();
@@ -175,6 +198,17 @@ public class StepResource {
         return result;
     }
 
+    private Set<String> page(final Collection<Step> allSteps, final Long start, final Long limit) {
+        var ids = allSteps.stream().map(Metadata::getId).sorted();
+        if (start != null && start > 0) {
+            ids = ids.skip(start);
+        }
+        if (limit != null && limit > 0) {
+            ids = ids.limit(limit);
+        }
+        return ids.collect(Collectors.toSet());
+    }
+
 
     /*
      * 🐱method stepById : Step
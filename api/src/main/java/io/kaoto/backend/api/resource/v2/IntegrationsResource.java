@@ -1,25 +1,47 @@
 package io.kaoto.backend.api.resource.v2;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.kaoto.backend.camel.KamelHelper;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
 import org.jboss.logging.Logger;
 import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
 
+import io.kaoto.backend.api.resource.model.BatchResult;
 import io.kaoto.backend.api.resource.model.FlowsWrapper;
 import io.kaoto.backend.api.resource.v1.model.Integration;
 import io.kaoto.backend.api.service.deployment.DeploymentService;
+import io.kaoto.backend.api.service.deployment.TranslationCache;
 import io.kaoto.backend.api.service.dsl.DSLSpecification;
+import io.kaoto.backend.api.service.step.parser.SourceSniffer;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.model.step.Step;
-import io.quarkus.cache.CacheResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
@@ -30,23 +52,53 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
 /**
  * 🐱class IntegrationsResource
  * 🐱relationship compositionOf DeploymentService, 0..1
+ * 🐱relationship compositionOf TranslationCache, 0..1
  * <p>
  * This endpoint will return the yaml needed to deploy
  * the related integration and the
  * endpoints to interact with deployments.
+ * <p>
+ * Many sources can be translated at once with the batch endpoints. They are
+ * translated concurrently and the results are streamed back, one per line,
+ * in the same order the sources were sent. A single big source can be
+ * streamed too, getting each of its flows as soon as it is read.
  */
 @Path("/v2/integrations")
 @ApplicationScoped
 public class IntegrationsResource {
 
+    public static final String NDJSON = "application/x-ndjson";
+    private static final String DOCUMENT_SEPARATOR = "---";
+
     private static final Logger LOG = Logger.getLogger(IntegrationsResource.class);
     private final SecureRandom random = new SecureRandom();
     private DeploymentService deploymentService;
+    private TranslationCache translationCache;
     private Instance<DSLSpecification> dslSpecifications;
+    private ManagedExecutor batchExecutor;
+    private ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "kaoto.integrations.batch.concurrency", defaultValue = "4")
+    int concurrency;
+
+    @ConfigProperty(name = "kaoto.integrations.batch.workers", defaultValue = "8")
+    int workers;
+
+    @PostConstruct
+    void init() {
+        //The batches are written from worker threads, they can't wait on their own pool
+        batchExecutor = ManagedExecutor.builder().maxAsync(Math.max(1, workers)).maxQueued(-1).build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        batchExecutor.shutdown();
+    }
 
     @Inject
     public void setDeploymentService(
@@ -54,11 +106,21 @@ public class IntegrationsResource {
         this.deploymentService = deploymentService;
     }
 
+    @Inject
+    public void setTranslationCache(final TranslationCache translationCache) {
+        this.translationCache = translationCache;
+    }
+
     @Inject
     public void setDslSpecifications(final Instance<DSLSpecification> dslSpecifications) {
         this.dslSpecifications = dslSpecifications;
     }
 
+    @Inject
+    public void setObjectMapper(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
     /*
      * 🐱method CRDs: Map
      * 🐱param dsl: String
@@ -70,12 +132,39 @@ public class IntegrationsResource {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces("text/yaml")
     @Path("/")
-    @CacheResult(cacheName = "api")
     @Operation(summary = "Get CRDs",
             description = "Returns the associated custom resource definitions. This is an idempotent operation.")
     public String crds(final @RequestBody FlowsWrapper request) {
+        return translationCache.crds(request, () -> crd(request));
+    }
+
+    /*
+     * 🐱method crdsStream: Stream
+     * 🐱param integration: List<Integration>
+     *
+     * Idempotent operation that given an array of integrations, writes the corresponding CRDs as each flow is
+     * translated.
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces("text/yaml")
+    @Path("/stream")
+    @Operation(summary = "Get CRDs of big integrations",
+            description = "Returns the associated custom resource definitions, written as each flow is translated,"
+                    + " so the whole yaml is never kept in memory. Nothing is cached. If no DSL can write the flows,"
+                    + " it fails before writing anything; if it fails once it started writing, the yaml is cut."
+                    + " This is an idempotent operation.")
+    public Response crdsStream(final @RequestBody FlowsWrapper request) {
         ensureUniqueNames(request);
-        return deploymentService.crds(request.flows(), request.metadata());
+        //Choose the DSL before writing anything, so we can still answer with an error
+        final var crds = deploymentService.crdsWriter(request.flows(), request.metadata());
+        if (crds == null) {
+            throw new IllegalArgumentException("There is no DSL that can write these flows.");
+        }
+        return Response.ok((StreamingOutput) output -> {
+            crds.write(output);
+            output.flush();
+        }).type("text/yaml").build();
     }
 
     /*
@@ -90,7 +179,6 @@ public class IntegrationsResource {
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes("text/yaml")
     @Path("/")
-    @CacheResult(cacheName = "api")
     @Operation(summary = "Get Integration Object",
             description = "Given the associated custom resource definition, returns the JSON object."
                     + " This is an idempotent operation.")
@@ -98,16 +186,132 @@ public class IntegrationsResource {
             final @RequestBody String crd,
             final @Parameter(description = "DSL to use. For example: 'Kamelet Binding'.")
             @QueryParam("dsl") String dsl) {
-        List<Integration> integrations = new ArrayList<>();
-        Map<String, Object> metadata = new LinkedHashMap<>();
-        FlowsWrapper answer = new FlowsWrapper(integrations, metadata, Map.of());
+        final var answer = translationCache.integration(crd, dsl, () -> parse(crd, dsl));
+        return answer != null ? answer : new FlowsWrapper(new ArrayList<>(), new LinkedHashMap<>(), Map.of());
+    }
+
+    /*
+     * 🐱method crdsBatch: Stream
+     * 🐱param flows: Stream
+     *
+     * Idempotent operation that given many integrations, one json object per line, returns the corresponding CRDs,
+     * one json object per line.
+     */
+    @POST
+    @Consumes(NDJSON)
+    @Produces(NDJSON)
+    @Path("/batch")
+    @Operation(summary = "Get CRDs of many integrations",
+            description = "Returns the associated custom resource definitions of each one of the integrations sent,"
+                    + " one per line and in the same order, with the error instead if it failed."
+                    + " This is an idempotent operation.")
+    public Response crdsBatch(final @RequestBody InputStream flows) {
+        final var reader = reader(flows);
+        return Response.ok(batch(documents(() -> nonBlankLine(reader)), (index, json) -> {
+            final var request = read(json);
+            final var crd = translationCache.crds(request, () -> crd(request));
+            if (crd == null) {
+                return BatchResult.error(index, "There is no DSL that can write these flows.");
+            }
+            return BatchResult.crd(index, crd);
+        })).type(NDJSON).build();
+    }
+
+    /*
+     * 🐱method integrationsBatch: Stream
+     * 🐱param dsl: String
+     * 🐱param crds: Stream
+     *
+     * Idempotent operation that given many CRDs, as a multi-document yaml, returns the JSON representation of each,
+     * one per line.
+     */
+    @POST
+    @Consumes("text/yaml")
+    @Produces(NDJSON)
+    @Path("/batch")
+    @Operation(summary = "Get Integration Objects of many CRDs",
+            description = "Given many custom resource definitions, as yaml documents separated by '---', returns"
+                    + " the JSON object of each one of them, one per line and in the same order, with the error"
+                    + " instead if it failed. This is an idempotent operation.")
+    public Response integrationsBatch(
+            final @RequestBody InputStream crds,
+            final @Parameter(description = "DSL to use. For example: 'Kamelet Binding'.")
+            @QueryParam("dsl") String dsl) {
+        final var reader = reader(crds);
+        return Response.ok(batch(documents(() -> yamlDocument(reader)), (index, crd) -> {
+            final var answer = translationCache.integration(crd, dsl, () -> parse(crd, dsl));
+            if (answer == null) {
+                return BatchResult.error(index, "There is no DSL that can read this source.");
+            }
+            return BatchResult.flows(index, answer);
+        })).type(NDJSON).build();
+    }
+
+    /*
+     * 🐱method integrationsStream: Stream
+     * 🐱param dsl: String
+     * 🐱param crd: Stream
+     *
+     * Idempotent operation that given a big source, returns the JSON representation of each one of its flows, one
+     * per line, as soon as each one is read.
+     */
+    @POST
+    @Consumes("text/yaml")
+    @Produces(NDJSON)
+    @Path("/stream")
+    @Operation(summary = "Get Integration Objects of a big source",
+            description = "Given a source, that may have many yaml documents, returns the JSON object of each one of"
+                    + " its flows or metadata, one per line and in the same order they are on the source: unlike"
+                    + " 'POST /', configurations and beans are neither grouped nor moved first or last."
+                    + " The source is read as the flows are written, so it is never kept whole in memory."
+                    + " If it fails, the error is the last line. This is an idempotent operation.")
+    public Response integrationsStream(
+            final @RequestBody InputStream crd,
+            final @Parameter(description = "DSL to use. For example: 'Camel Route'.", required = true)
+            @QueryParam("dsl") String dsl) {
+        final var dslSpecification = dslSpecifications.stream()
+                .filter(d -> d.identifier().equalsIgnoreCase(dsl))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("There is no DSL called " + dsl));
+
+        return Response.ok((StreamingOutput) output -> {
+            final var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            final Set<String> usedIds = new HashSet<>();
+            int index = 0;
+            try {
+                final Iterator<StepParserService.ParseResult<Step>> flows =
+                        dslSpecification.getStepParserService().getParsedFlows(crd);
+                while (flows.hasNext()) {
+                    final var answer = new FlowsWrapper(new ArrayList<>(), new LinkedHashMap<>(), Map.of());
+                    decorateIntegration(dslSpecification.identifier(), answer, List.of(flows.next()));
+                    ensureUniqueNames(answer, usedIds);
+                    write(writer, BatchResult.flows(index++, answer));
+                }
+            } catch (IOException | RuntimeException e) {
+                LOG.debug("Couldn't read the source after " + index + " flows", e);
+                write(writer, BatchResult.error(index, message(e)));
+            }
+            writer.flush();
+        }).type(NDJSON).build();
+    }
+
+    private String crd(final FlowsWrapper request) {
+        ensureUniqueNames(request);
+        return deploymentService.crds(request.flows(), request.metadata());
+    }
+
+    //The flows of the source, or null if no DSL can read it
+    private FlowsWrapper parse(final String crd, final String dsl) {
+        FlowsWrapper answer = new FlowsWrapper(new ArrayList<>(), new LinkedHashMap<>(), Map.of());
+        //Read just enough to know which DSL it is, once for all of them
+        final var source = SourceSniffer.sniff(crd);
 
         boolean found = false;
         if (dsl != null) {
             for (DSLSpecification dslSpecification : dslSpecifications) {
                 try {
-                    if (dslSpecification.identifier().equalsIgnoreCase(dsl) && dslSpecification.appliesTo(crd)) {
-                        var parsed = dslSpecification.getStepParserService().getParsedFlows(crd);
+                    if (dslSpecification.identifier().equalsIgnoreCase(dsl) && dslSpecification.appliesTo(source)) {
+                        var parsed = dslSpecification.getStepParserService().getParsedFlows(source);
                         decorateIntegration(dsl, answer, parsed);
                         found = true;
                         break;
@@ -121,11 +325,12 @@ public class IntegrationsResource {
         if (!found) {
             for (var dslSpecification : dslSpecifications) {
                 try {
-                    if (dslSpecification.appliesTo(crd)) {
-                        var parsed = dslSpecification.getStepParserService().getParsedFlows(crd);
+                    if (dslSpecification.appliesTo(source)) {
+                        var parsed = dslSpecification.getStepParserService().getParsedFlows(source);
                         decorateIntegration(dslSpecification.identifier(), answer, parsed);
                         LOG.warn("Gurl, the DSL you gave me is so wrong. This is a " + dslSpecification.identifier()
                                 + " not a " + dsl);
+                        found = true;
                         break;
                     }
                 } catch (Exception e) {
@@ -136,11 +341,144 @@ public class IntegrationsResource {
 
         ensureUniqueNames(answer);
 
-        return answer;
+        return found ? answer : null;
+    }
+
+    /*
+     * Translates the documents on the batch executor, shared by all batches, with no more than concurrency of them
+     * at the same time, and writes the results in the same order the documents came.
+     */
+    private StreamingOutput batch(final Iterator<String> documents,
+                                  final BiFunction<Integer, String, BatchResult> translate) {
+        final var window = Math.max(1, concurrency);
+        return output -> {
+            final var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            final var running = new ArrayDeque<CompletableFuture<BatchResult>>(window);
+            int index = 0;
+            BatchResult failure = null;
+            try {
+                while (documents.hasNext()) {
+                    final int i = index++;
+                    final var document = documents.next();
+                    running.add(CompletableFuture.supplyAsync(() -> translate.apply(i, document), batchExecutor)
+                            .exceptionally(e -> {
+                                LOG.debug("Couldn't translate source " + i, e);
+                                return BatchResult.error(i, message(e));
+                            }));
+                    if (running.size() >= window) {
+                        write(writer, running.poll().join());
+                    }
+                }
+            } catch (UncheckedIOException e) {
+                //The request was cut, whatever came before it is still answered
+                LOG.debug("Couldn't read the request after " + index + " sources", e);
+                failure = BatchResult.error(index, message(e));
+            }
+            while (!running.isEmpty()) {
+                write(writer, running.poll().join());
+            }
+            if (failure != null) {
+                write(writer, failure);
+            }
+            writer.flush();
+        };
+    }
+
+    private static String message(final Throwable e) {
+        final var cause = e.getCause() != null ? e.getCause() : e;
+        return cause.getMessage() != null ? cause.getMessage() : cause.toString();
+    }
+
+    private void write(final BufferedWriter writer, final BatchResult result) throws IOException {
+        writer.write(objectMapper.writeValueAsString(result));
+        writer.newLine();
+        //Let the client have each result as soon as it is ready
+        writer.flush();
+    }
+
+    private FlowsWrapper read(final String json) {
+        try {
+            return objectMapper.readValue(json, FlowsWrapper.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("This is not a valid list of flows: " + e.getMessage(), e);
+        }
+    }
+
+    private static BufferedReader reader(final InputStream input) {
+        return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    private static String nonBlankLine(final BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        while (line != null && line.isBlank()) {
+            line = reader.readLine();
+        }
+        return line;
+    }
+
+    private static String yamlDocument(final BufferedReader reader) throws IOException {
+        final var document = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!isSeparator(line)) {
+                document.append(line).append('\n');
+            } else if (!document.toString().isBlank()) {
+                return document.toString();
+            } else {
+                //Empty documents between separators are skipped
+                document.setLength(0);
+            }
+        }
+        return document.toString().isBlank() ? null : document.toString();
+    }
+
+    private static boolean isSeparator(final String line) {
+        return line.startsWith(DOCUMENT_SEPARATOR)
+                && (line.length() == DOCUMENT_SEPARATOR.length()
+                || Character.isWhitespace(line.charAt(DOCUMENT_SEPARATOR.length())));
+    }
+
+    /*
+     * Documents are read from the request only when the previous ones are already being translated.
+     */
+    private static Iterator<String> documents(final DocumentReader reader) {
+        return new Iterator<>() {
+            private String next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = reader.next();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final var document = next;
+                next = null;
+                return document;
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface DocumentReader {
+        String next() throws IOException;
     }
 
     private void ensureUniqueNames(FlowsWrapper answer) {
-        List<String> usedIds = new ArrayList<>();
+        ensureUniqueNames(answer, new HashSet<>());
+    }
+
+    private void ensureUniqueNames(FlowsWrapper answer, Set<String> usedIds) {
         for (var flow : answer.flows()) {
             //Make sure we have a metadata set
             if (flow.getMetadata() == null) {
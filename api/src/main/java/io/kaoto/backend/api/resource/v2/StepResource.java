@@ -0,0 +1,190 @@
+package io.kaoto.backend.api.resource.v2;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.kaoto.backend.api.service.deployment.DeploymentService;
+import io.kaoto.backend.api.service.dsl.DSLSpecification;
+import io.kaoto.backend.api.service.step.PageCursor;
+import io.kaoto.backend.api.service.step.StepService;
+import io.kaoto.backend.model.jsonviews.Views;
+import io.kaoto.backend.model.step.Step;
+import io.opentelemetry.api.trace.Span;
+import io.quarkus.vertx.http.Compressed;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * 🐱class StepResource
+ * 🐱relationship dependsOn StepService
+ * <p>
+ * This endpoint will return steps based on the parameters, one page at a time.
+ * <p>
+ * Steps are always sorted by id. Each page says where the next one starts, so the client can ask for it with the
+ * after parameter. Steps are filtered before they are paged, and they are written to the response as they are read
+ * from the catalog instead of building the whole response in memory.
+ */
+@Path("/v2/steps")
+@ApplicationScoped
+public class StepResource {
+
+    static final String STEPS = "steps";
+    static final String NEXT = "next";
+
+    private StepService stepService;
+    private DeploymentService deploymentService;
+    private ObjectMapper objectMapper;
+
+    @Inject
+    public void setStepService(final StepService stepService) {
+        this.stepService = stepService;
+    }
+
+    @Inject
+    public void setDeploymentService(final DeploymentService deploymentService) {
+        this.deploymentService = deploymentService;
+    }
+
+    @Inject
+    public void setObjectMapper(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /*
+     * 🐱method all : Page
+     * 🐱param dsl: String
+     * 🐱param type: String
+     * 🐱param kind: String
+     * 🐱param limit: Integer
+     * 🐱param after: String
+     * 🐱param inlineIcons: boolean
+     *
+     * Returns a page of the steps compatible with the constraints, as {"steps": [...], "next": "cursor"}. If there
+     * are no more steps, next is null.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get steps",
+            description = "Returns a page of the available steps that can be added to the integration, sorted by id."
+                    + " The next page starts after the cursor returned as next.")
+    @Compressed
+    public Response all(
+            final @Parameter(description = "Filter by Domain Specific Language (DSL). "
+                    + "Examples: 'KameletBinding' 'KameletBinding,Kamelet'")
+            @QueryParam("dsl") String dsl,
+            final @Parameter(description = "Filter by step type. Example: 'START' 'MIDDLE,END")
+            @QueryParam("type") String type,
+            final @Parameter(description = "Filter by kind of step. Examples: 'Kamelet' 'Kamelet,KameletBinding'")
+            @QueryParam("kind") String kind,
+            final @Parameter(description = "Maximum number of elements to return. All of them if empty.")
+            @QueryParam("limit") Integer limit,
+            final @Parameter(description = "Start returning after this cursor, as returned on next. A step id"
+                    + " is also accepted.")
+            @QueryParam("after") String after,
+            final @Parameter(description = "Provides context: previous step, if exists.")
+            @QueryParam("previousStep") String previousStep,
+            final @Parameter(description = "Provides context: following step, if exists.")
+            @QueryParam("followingStep") String followingStep,
+            final @Parameter(description = "Include the icons in the steps instead of just their hash.")
+            @QueryParam("inlineIcons") boolean inlineIcons) {
+        Span span = Span.current();
+        if (span != null) {
+            span.setAttribute("steps.dsl", dsl);
+            span.setAttribute("steps.type", type);
+            span.setAttribute("steps.kind", kind);
+            span.setAttribute("steps.limit", limit != null ? limit.toString() : "null");
+            span.setAttribute("steps.after", after);
+        }
+
+        List<DSLSpecification> dslSpecifications = List.of();
+        Collection<String> kinds = null;
+        if (dsl != null && !dsl.isEmpty()) {
+            dslSpecifications = deploymentService.getParsers().stream()
+                    .filter(s ->
+                            Arrays.stream(dsl.split(",")).anyMatch(it -> it.equalsIgnoreCase(s.identifier())))
+                    .toList();
+            kinds = dslSpecifications.stream().map(DSLSpecification::getKinds).flatMap(Collection::stream).toList();
+        }
+
+        if (kind != null && !kind.isEmpty()) {
+            final var kindFilter = Arrays.asList(kind.split(","));
+            kinds = kinds == null ? kindFilter : kinds.stream()
+                    .filter(k -> kindFilter.stream().anyMatch(k::equalsIgnoreCase))
+                    .toList();
+        }
+
+        final Collection<String> types = type != null && !type.isEmpty() ? Arrays.asList(type.split(",")) : null;
+
+        //Everything is lazy, nothing is read from the catalog until the response is written
+        final var cursor = PageCursor.of(after);
+        var steps = stepService.sortedSteps(kinds, types, cursor);
+        for (var dgs : dslSpecifications) {
+            if (dgs.getDeploymentGeneratorService() != null) {
+                steps = dgs.getDeploymentGeneratorService().filterCatalog(stepService.stepById(previousStep),
+                        stepService.stepById(followingStep), steps);
+            }
+        }
+
+        if (cursor != null) {
+            steps = cursor.skipReturned(steps);
+        }
+
+        final var view = inlineIcons ? Views.InlineIcons.class : Views.Summary.class;
+        return Response.ok(page(steps, cursor, limit != null && limit > 0 ? limit : Integer.MAX_VALUE, view))
+                .type(MediaType.APPLICATION_JSON_TYPE)
+                .build();
+    }
+
+    private StreamingOutput page(final Stream<Step> steps, final PageCursor after, final int limit,
+                                 final Class<?> view) {
+        final var writer = objectMapper.writerWithView(view)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return output -> {
+            try (var generator = objectMapper.getFactory().createGenerator(output); steps) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart(STEPS);
+
+                final var iterator = steps.iterator();
+                //Steps with the same id as the last one may have been returned on the previous pages too
+                var last = after;
+                int written = 0;
+                while (written < limit && iterator.hasNext()) {
+                    final var step = iterator.next();
+                    writer.writeValue(generator, step);
+                    last = last != null && Objects.equals(last.id(), step.getId())
+                            ? new PageCursor(step.getId(), last.skip() + 1)
+                            : new PageCursor(step.getId(), 1);
+                    written++;
+                }
+
+                generator.writeEndArray();
+                //Only if there is something left
+                generator.writeStringField(NEXT, iterator.hasNext() && last != null ? last.token() : null);
+                generator.writeEndObject();
+            }
+        };
+    }
+
+    @ServerExceptionMapper
+    public Response mapException(final Exception x) {
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity("Error returning steps: " + x.getMessage())
+                .type(MediaType.TEXT_PLAIN_TYPE)
+                .build();
+    }
+}
@@ -1,20 +1,30 @@
 package io.kaoto.backend.api.service.deployment;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.StreamSupport;
 
 import io.kaoto.backend.camel.KamelHelper;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.jboss.logging.Logger;
 
 import io.kaoto.backend.api.resource.v1.model.Integration;
+import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
+import io.kaoto.backend.api.service.dsl.DSLCompatibility;
 import io.kaoto.backend.api.service.dsl.DSLSpecification;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.model.step.Step;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
@@ -26,6 +36,11 @@ import jakarta.inject.Inject;
  * 🐱section
  * Service to interact with the cluster. This is the utility class the
  * resource relies on to perform the operations.
+ *
+ * The DSLs compatible with some steps are all found in one go, and when
+ * there is more than one, their CRDs are generated at the same time, on an
+ * executor of their own: callers are usually worker threads already, and
+ * waiting on their own pool could starve it.
  */
 @ApplicationScoped
 public class DeploymentService {
@@ -35,6 +50,32 @@ public class DeploymentService {
     @Inject
     private Instance<DSLSpecification> parsers;
 
+    @ConfigProperty(name = "kaoto.deployment.generators.workers", defaultValue = "4")
+    int workers;
+
+    private ManagedExecutor generators;
+    private volatile DSLCompatibility compatibility;
+
+    @PostConstruct
+    void init() {
+        generators = ManagedExecutor.builder().maxAsync(Math.max(1, workers)).maxQueued(-1).build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        generators.shutdown();
+    }
+
+    /*
+     * 🐱method compatible: List[DSLSpecification]
+     * 🐱param steps: List[Step]
+     *
+     * The DSLs that can be used for all these steps.
+     */
+    public List<DSLSpecification> compatible(final List<Step> steps) {
+        return getCompatibility().compatible(steps);
+    }
+
     /*
      * 🐱method integration: Map
      * 🐱param name: String
@@ -53,23 +94,47 @@ public class DeploymentService {
             metadata.put(KamelHelper.NAME, name);
         }
 
-        for (DSLSpecification parser : getParsers()) {
-            try {
-                if (parser.appliesTo(steps) && parser.getDeploymentGeneratorService() != null) {
-                    Map<String, String> strings = new HashMap<>();
-                    strings.put("dsl", parser.identifier());
-                    strings.put("crd", parser.getDeploymentGeneratorService().parse(steps, metadata,
-                            Collections.emptyList()));
-                    res.add(strings);
-                }
-            } catch (Exception e) {
-                LOG.warn("Parser " + parser.getClass() + "threw an unexpected error. ", e);
+        final var compatible = compatible(steps).stream()
+                .filter(parser -> parser.getDeploymentGeneratorService() != null)
+                .toList();
+        //The slowest one decides how long it takes, not all of them together
+        final var crds = new ArrayList<CompletableFuture<Map<String, String>>>();
+        for (int i = 0; i < compatible.size(); i++) {
+            final var parser = compatible.get(i);
+            //Some generators change the steps they are given, so each one gets its own copy
+            final var copy = steps.stream().map(s -> s != null ? s.clone() : null).toList();
+            if (i < compatible.size() - 1) {
+                crds.add(CompletableFuture.supplyAsync(() -> generate(parser, copy, metadata), generators));
+            } else {
+                crds.add(CompletableFuture.completedFuture(generate(parser, copy, metadata)));
+            }
+        }
+
+        for (var crd : crds) {
+            if (crd.join() != null) {
+                res.add(crd.join());
             }
         }
 
         return res;
     }
 
+    //Null if the generator fails
+    private static Map<String, String> generate(final DSLSpecification parser, final List<Step> steps,
+                                                final Map<String, Object> metadata) {
+        try {
+            Map<String, String> strings = new HashMap<>();
+            strings.put("dsl", parser.identifier());
+            //Each generator gets its own metadata too
+            strings.put("crd", parser.getDeploymentGeneratorService().parse(steps, new HashMap<>(metadata),
+                    Collections.emptyList()));
+            return strings;
+        } catch (Exception e) {
+            LOG.warn("Parser " + parser.getClass() + "threw an unexpected error. ", e);
+            return null;
+        }
+    }
+
     /*
      * 🐱method crd: String
      * 🐱param i: Integration
@@ -79,12 +144,12 @@ public class DeploymentService {
      */
     @WithSpan
     public String crd(final Integration i, final String dsl) {
+        final var compatible = compatible(i.getSteps());
 
-        for (DSLSpecification parser : getParsers()) {
+        for (DSLSpecification parser : compatible) {
             try {
                 if (parser.getDeploymentGeneratorService() != null
-                        && parser.identifier().equalsIgnoreCase(dsl)
-                        && parser.appliesTo(i.getSteps())) {
+                        && parser.identifier().equalsIgnoreCase(dsl)) {
                     return parser.getDeploymentGeneratorService()
                             .parse(i.getSteps(), i.getMetadata(), i.getParameters());
                 }
@@ -93,10 +158,9 @@ public class DeploymentService {
             }
         }
 
-        for (DSLSpecification parser : getParsers()) {
+        for (DSLSpecification parser : compatible) {
             try {
-                if (parser.appliesTo(i.getSteps())
-                        && parser.getDeploymentGeneratorService() != null) {
+                if (parser.getDeploymentGeneratorService() != null) {
                     return parser.getDeploymentGeneratorService()
                             .parse(i.getSteps(), i.getMetadata(), i.getParameters());
                 }
@@ -119,27 +183,7 @@ public class DeploymentService {
     @WithSpan
     public String crds(final List<Integration> integrationList, final Map<String, Object> metadata) {
         List<StepParserService.ParseResult<Step>> integrations = new ArrayList<>();
-        String dsl = null;
-
-        for (Integration integration : integrationList) {
-            var parseResult = new StepParserService.ParseResult<Step>();
-            parseResult.setMetadata(integration.getMetadata());
-            parseResult.setSteps(integration.getSteps());
-            parseResult.setParameters(integration.getParameters());
-            integrations.add(parseResult);
-            if (integration.getDsl() != null) {
-                if (dsl != null && !integration.getDsl().equalsIgnoreCase(dsl)) {
-                    LOG.error("We were sent a mix of DSL in the same list of flows!");
-                }
-                dsl = integration.getDsl();
-            }
-        }
-
-        if (metadata != null && !metadata.isEmpty()) {
-            var parseResult = new StepParserService.ParseResult<Step>();
-            parseResult.setMetadata(metadata);
-            integrations.add(parseResult);
-        }
+        String dsl = flows(integrationList, metadata, integrations);
 
         if (dsl != null) {
             for (DSLSpecification parser : getParsers()) {
@@ -169,11 +213,103 @@ public class DeploymentService {
         return null;
     }
 
+    /*
+     * 🐱method crdsWriter: CrdsWriter
+     * 🐱param integrationList: List<Integration>
+     * 🐱param metadata: Map
+     *
+     * Same as crds, but choosing the generator first and writing the yaml
+     * later on an output, as each flow is translated. Once the generator
+     * starts writing there is no going back to try another one, so any
+     * error is thrown. Null if there is no generator for these flows.
+     */
+    @WithSpan
+    public CrdsWriter crdsWriter(final List<Integration> integrationList, final Map<String, Object> metadata) {
+        List<StepParserService.ParseResult<Step>> integrations = new ArrayList<>();
+        String dsl = flows(integrationList, metadata, integrations);
+
+        DeploymentGeneratorService generator = null;
+        for (DSLSpecification parser : getParsers()) {
+            if (dsl != null && parser.identifier().equalsIgnoreCase(dsl)) {
+                generator = parser.getDeploymentGeneratorService();
+                break;
+            }
+        }
+
+        if (generator == null) {
+            for (DSLSpecification parser : getParsers()) {
+                try {
+                    if (parser.appliesToFlows(integrations) && parser.getDeploymentGeneratorService() != null) {
+                        generator = parser.getDeploymentGeneratorService();
+                        break;
+                    }
+                } catch (Exception e) {
+                    LOG.warn("Parser " + parser.getClass() + "threw an unexpected error. ", e);
+                }
+            }
+        }
+
+        if (generator == null) {
+            return null;
+        }
+        final var chosen = generator;
+        return output -> chosen.write(integrations, output);
+    }
+
+    //Adds the flows of the integrations to the list, and returns the DSL they say they are written in
+    private static String flows(final List<Integration> integrationList, final Map<String, Object> metadata,
+                                final List<StepParserService.ParseResult<Step>> integrations) {
+        String dsl = null;
+
+        for (Integration integration : integrationList) {
+            var parseResult = new StepParserService.ParseResult<Step>();
+            parseResult.setMetadata(integration.getMetadata());
+            parseResult.setSteps(integration.getSteps());
+            parseResult.setParameters(integration.getParameters());
+            integrations.add(parseResult);
+            if (integration.getDsl() != null) {
+                if (dsl != null && !integration.getDsl().equalsIgnoreCase(dsl)) {
+                    LOG.error("We were sent a mix of DSL in the same list of flows!");
+                }
+                dsl = integration.getDsl();
+            }
+        }
+
+        if (metadata != null && !metadata.isEmpty()) {
+            var parseResult = new StepParserService.ParseResult<Step>();
+            parseResult.setMetadata(metadata);
+            integrations.add(parseResult);
+        }
+
+        return dsl;
+    }
+
     public Instance<DSLSpecification> getParsers() {
         return parsers;
     }
 
     public void setParsers(final Instance<DSLSpecification> parsers) {
         this.parsers = parsers;
+        this.compatibility = null;
+    }
+
+    private DSLCompatibility getCompatibility() {
+        //The DSLs available don't change once started
+        var res = compatibility;
+        if (res == null) {
+            res = new DSLCompatibility(StreamSupport.stream(getParsers().spliterator(), false).toList());
+            compatibility = res;
+        }
+        return res;
+    }
+
+    /*
+     * 🐱class CrdsWriter
+     *
+     * Writes the yaml of the flows, once the generator is chosen.
+     */
+    @FunctionalInterface
+    public interface CrdsWriter {
+        void write(OutputStream output) throws IOException;
     }
 }
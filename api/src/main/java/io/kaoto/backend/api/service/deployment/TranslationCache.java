@@ -0,0 +1,171 @@
+package io.kaoto.backend.api.service.deployment;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.api.resource.model.FlowsWrapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.quarkus.runtime.configuration.MemorySize;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * 🐱class TranslationCache
+ * 🐱relationship dependsOn StepCatalog
+ *
+ * Translations between flows and source code already done.
+ *
+ * Translations are identified by a 128 bit hash of their input, written
+ * always the same way, and by the generation of the step catalog they were
+ * done with. The inputs themselves are not kept, and when the catalog is
+ * refreshed the translations done with the previous one are not found
+ * anymore and end up evicted.
+ *
+ * The cache is bounded by the size of what it keeps, not by the number of
+ * translations, as a big integration weighs much more than a small one.
+ */
+@ApplicationScoped
+public class TranslationCache {
+
+    public static final String NAME = "kaoto.translations";
+    private static final String CRDS = "crds";
+    private static final String INTEGRATION = "integration";
+    //What a key and an entry cost on top of what they keep
+    private static final int OVERHEAD = 64;
+
+    @ConfigProperty(name = "kaoto.translation.cache.max-size", defaultValue = "64M")
+    MemorySize maxSize;
+
+    private StepCatalog catalog;
+    private MeterRegistry registry;
+    private ObjectMapper canonicalMapper;
+    private Cache<Key, Entry> cache;
+
+    @Inject
+    public void setCatalog(final StepCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @Inject
+    public void setRegistry(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Inject
+    public void setObjectMapper(final ObjectMapper objectMapper) {
+        //Same json no matter the order of the properties, but the entries of the maps keep their order
+        //because the source code generated keeps it too
+        if (objectMapper instanceof JsonMapper jsonMapper) {
+            this.canonicalMapper = jsonMapper.rebuild()
+                    .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                    .disable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, SerializationFeature.INDENT_OUTPUT)
+                    .build();
+        } else {
+            //Plain mappers, like the one Quarkus produces, can't be rebuilt: reconfigure a copy instead
+            final var copy = objectMapper.copy();
+            this.canonicalMapper = copy.setConfig(copy.getSerializationConfig()
+                    .with(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                    .without(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, SerializationFeature.INDENT_OUTPUT));
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.asLongValue())
+                .weigher((Key key, Entry entry) -> entry.weight())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, NAME);
+    }
+
+    /*
+     * 🐱method crds: String
+     * 🐱param request: FlowsWrapper
+     * 🐱param translation: Supplier
+     *
+     * The source code of these flows, translated only if it wasn't already.
+     */
+    public String crds(final FlowsWrapper request, final Supplier<String> translation) {
+        final var input = canonical(request);
+        return get(key(CRDS, null, input), translation, String::length);
+    }
+
+    /*
+     * 🐱method integration: FlowsWrapper
+     * 🐱param crd: String
+     * 🐱param dsl: String
+     * 🐱param translation: Supplier
+     *
+     * The flows of this source code, translated only if it wasn't already.
+     */
+    public FlowsWrapper integration(final String crd, final String dsl,
+                                    final Supplier<FlowsWrapper> translation) {
+        final var input = canonical(crd);
+        //The flows weigh about the same as their source code, no need to write them to know
+        return get(key(INTEGRATION, dsl, input), translation, flows -> input.length);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(final Key key, final Supplier<T> translation, final ToIntFunction<T> weight) {
+        //Nothing is kept if the translation fails or there is nothing to translate to
+        final var entry = cache.get(key, k -> {
+            final var value = translation.get();
+            return value != null
+                    ? new Entry(value, OVERHEAD + weight.applyAsInt(value))
+                    : null;
+        });
+        return entry != null ? (T) entry.value() : null;
+    }
+
+    private Key key(final String operation, final String dsl, final byte[] input) {
+        final var hash = ByteBuffer.wrap(digest().digest(input));
+        return new Key(operation, dsl != null ? dsl.toLowerCase(Locale.ROOT) : null,
+                catalog.getGeneration(), hash.getLong(), hash.getLong());
+    }
+
+    private static byte[] canonical(final String crd) {
+        //Line endings and surrounding blanks don't change what the source says
+        return (crd != null ? crd.replace("\r\n", "\n").strip() : "").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] canonical(final FlowsWrapper flows) {
+        try {
+            return canonicalMapper.writeValueAsBytes(flows);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("These flows can't be written: " + e.getMessage(), e);
+        }
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    record Key(String operation, String dsl, long generation, long high, long low) {
+    }
+
+    record Entry(Object value, int weight) {
+    }
+}
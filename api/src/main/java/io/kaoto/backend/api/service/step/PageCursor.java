@@ -0,0 +1,77 @@
+package io.kaoto.backend.api.service.step;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import io.kaoto.backend.model.Metadata;
+
+/**
+ * 🐱miniclass PageCursor (StepService)
+ *
+ * 🐱section
+ * Where a page of steps ended: the id of the last step and how many steps
+ * with that same id were already returned. Steps of different catalogs or
+ * kinds may share an id, so the id alone is not enough to know where the
+ * next page starts.
+ *
+ * It travels as an opaque token. Anything that is not a token is taken as
+ * a plain id, meaning every step with that id was already returned.
+ */
+public record PageCursor(String id, int skip) {
+
+    private static final String PREFIX = "~";
+    private static final char SEPARATOR = ':';
+
+    /*
+     * 🐱method of: PageCursor
+     * 🐱param token: String
+     *
+     * The cursor written on the token, null if there is none.
+     */
+    public static PageCursor of(final String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        if (token.startsWith(PREFIX)) {
+            try {
+                final var decoded = new String(Base64.getUrlDecoder().decode(token.substring(PREFIX.length())),
+                        StandardCharsets.UTF_8);
+                final var separator = decoded.indexOf(SEPARATOR);
+                final var skip = Integer.parseInt(separator < 0 ? decoded : decoded.substring(0, separator));
+                if (skip >= 0) {
+                    return new PageCursor(separator < 0 ? null : decoded.substring(separator + 1), skip);
+                }
+            } catch (IllegalArgumentException e) {
+                //Not one of ours, so it must be an id
+            }
+        }
+        return new PageCursor(token, Integer.MAX_VALUE);
+    }
+
+    /*
+     * 🐱method skipReturned: Stream[Metadata]
+     * 🐱param elements: Stream[Metadata]
+     *
+     * The elements sorted by id that come after this cursor, given the ones
+     * starting at its id.
+     */
+    public <T extends Metadata> Stream<T> skipReturned(final Stream<T> elements) {
+        final var skipped = new AtomicInteger();
+        return elements.dropWhile(element -> Objects.equals(element.getId(), id)
+                && skipped.getAndIncrement() < skip);
+    }
+
+    /*
+     * 🐱method token: String
+     *
+     * The cursor as it is sent to the client.
+     */
+    public String token() {
+        final var decoded = id == null ? String.valueOf(skip) : skip + String.valueOf(SEPARATOR) + id;
+        return PREFIX + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(decoded.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -9,6 +9,8 @@ import io.opentelemetry.instrumentation.annotations.WithSpan;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.Collection;
+import java.util.stream.Stream;
+
 /**
  *
  * 🐱miniclass StepService (StepResource)
@@ -53,6 +55,40 @@ public class StepService {
         return catalog.getReadOnlyCatalog().searchByName(name);
     }
 
+    /*
+     * 🐱method stepsByKindAndType : List[Step]
+     * 🐱param kinds: List[String]
+     * 🐱param types: List[String]
+     *
+     *  Returns all the steps with any of the kinds and any of the types.
+     *  A null collection means no filtering on that dimension.
+     *
+     */
+    @WithSpan
+    public Collection<Step> stepsByKindAndType(final Collection<String> kinds, final Collection<String> types) {
+        return catalog.getReadOnlyCatalog().searchByKindAndType(kinds, types);
+    }
+
+    /*
+     * 🐱method sortedSteps : Stream[Step]
+     * 🐱param kinds: List[String]
+     * 🐱param types: List[String]
+     * 🐱param after: PageCursor
+     *
+     *  Same steps as stepsByKindAndType, sorted by id, starting with the
+     *  steps that share the id of the cursor given: it is up to the caller
+     *  to skip the ones already returned, once the steps are filtered.
+     *  Steps are read from the catalog as the stream is consumed.
+     *
+     */
+    public Stream<Step> sortedSteps(final Collection<String> kinds, final Collection<String> types,
+                                    final PageCursor after) {
+        if (after == null) {
+            return catalog.getReadOnlyCatalog().streamByKindAndType(kinds, types, null);
+        }
+        return catalog.getReadOnlyCatalog().streamByKindAndType(kinds, types, after.id(), true);
+    }
+
     /*
      * 🐱method allSteps : List[Step]
      *
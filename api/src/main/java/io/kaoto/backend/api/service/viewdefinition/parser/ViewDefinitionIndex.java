@@ -0,0 +1,310 @@
+package io.kaoto.backend.api.service.viewdefinition.parser;
+
+import io.kaoto.backend.metadata.MetadataCatalog;
+import io.kaoto.backend.model.step.Branch;
+import io.kaoto.backend.model.step.Step;
+import io.kaoto.backend.model.view.ConstraintOperation;
+import io.kaoto.backend.model.view.ViewDefinition;
+import io.kaoto.backend.model.view.ViewDefinitionConstraint;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 🐱miniclass ViewDefinitionIndex (GenericViewDefinitionParserService)
+ *
+ * 🐱section
+ * The view definitions of one generation of the catalog, with their
+ * constraints ready to be checked.
+ *
+ * Each view is indexed by the identifiers, names or types its constraints
+ * require, so only the views that can apply to a flow are checked. What
+ * the constraints look at in the flow (size, identifiers, names, types and
+ * kinds) is collected walking the flow once, and every constraint is then a
+ * lookup on that.
+ */
+final class ViewDefinitionIndex {
+
+    private static final Logger LOG = Logger.getLogger(ViewDefinitionIndex.class);
+
+    private final List<Compiled> views = new ArrayList<>();
+    //Views that have to be checked always, whatever the flow contains
+    private final BitSet always = new BitSet();
+    private final Map<ConstraintOperation, Map<String, BitSet>> anchors = new EnumMap<>(ConstraintOperation.class);
+
+    ViewDefinitionIndex(final MetadataCatalog<ViewDefinition> catalog) {
+        this(catalog.getAll());
+    }
+
+    ViewDefinitionIndex(final Collection<ViewDefinition> definitions) {
+        for (var definition : definitions) {
+            final var view = Compiled.of(definition);
+            final var position = views.size();
+            views.add(view);
+            final var required = view.anchors();
+            if (required == null) {
+                always.set(position);
+            }
+            for (var check : required != null ? required : List.<Check>of()) {
+                anchors.computeIfAbsent(check.operation(), o -> new HashMap<>())
+                        .computeIfAbsent(check.key(), k -> new BitSet())
+                        .set(position);
+            }
+        }
+    }
+
+    /*
+     * 🐱method parse: List[ViewDefinition]
+     * 🐱param steps: List[Step]
+     *
+     * The views that apply to this flow, in the order of the catalog. Step
+     * views are offered once for each step they apply to.
+     */
+    List<ViewDefinition> parse(final List<Step> steps) {
+        final var flow = Facts.of(steps);
+        final var candidates = (BitSet) always.clone();
+        if (flow != null) {
+            candidates(candidates, ConstraintOperation.CONTAINS_STEP_IDENTIFIER, flow.ids());
+            candidates(candidates, ConstraintOperation.CONTAINS_STEP_NAME, flow.names());
+            candidates(candidates, ConstraintOperation.CONTAINS_STEP_TYPE, flow.types());
+        }
+
+        final List<ViewDefinition> res = new ArrayList<>();
+        List<Step> all = null;
+        List<Facts> perStep = null;
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            final var view = views.get(i);
+            if (!view.appliesTo(flow)) {
+                continue;
+            }
+            if (view.generic()) {
+                res.add(new ViewDefinition(view.definition()));
+            } else if (view.step()) {
+                if (all == null) {
+                    all = flatten(steps, new ArrayList<>());
+                    perStep = all.stream().map(Facts::of).toList();
+                }
+                res.addAll(perStep(view, all, perStep));
+            }
+        }
+        return res;
+    }
+
+    private void candidates(final BitSet candidates, final ConstraintOperation operation, final Set<String> keys) {
+        final var byKey = anchors.get(operation);
+        if (byKey == null) {
+            return;
+        }
+        for (var key : keys) {
+            final var anchored = byKey.get(key);
+            if (anchored != null) {
+                candidates.or(anchored);
+            }
+        }
+    }
+
+    /*
+     * 🐱method perStep: List[ViewDefinition]
+     * 🐱param view: Compiled
+     * 🐱param steps: List[Step]
+     * 🐱param facts: List[Facts]
+     *
+     * A copy of the view for each of the steps it applies to.
+     */
+    static List<ViewDefinition> perStep(final Compiled view, final List<Step> steps, final List<Facts> facts) {
+        final List<ViewDefinition> res = new ArrayList<>();
+        for (int i = 0; i < steps.size(); i++) {
+            if (view.appliesTo(facts.get(i))) {
+                final var v = new ViewDefinition(view.definition());
+                v.setStep(steps.get(i).getUUID());
+                res.add(v);
+            }
+        }
+        return res;
+    }
+
+    //Each step followed by the steps on its branches, as they are shown
+    static List<Step> flatten(final List<Step> steps, final List<Step> res) {
+        if (steps == null) {
+            return res;
+        }
+        for (var step : steps) {
+            if (step == null) {
+                continue;
+            }
+            res.add(step);
+            if (step.getBranches() != null) {
+                for (Branch b : step.getBranches()) {
+                    flatten(b.getSteps(), res);
+                }
+            }
+        }
+        return res;
+    }
+
+    /*
+     * Folds the case the same way equalsIgnoreCase compares, so two strings
+     * are equal ignoring the case when their folded forms are equal.
+     */
+    static String fold(final String value) {
+        if (value == null) {
+            return null;
+        }
+        final var chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    /*
+     * What the constraints can ask about a list of steps.
+     */
+    record Facts(int size, Set<String> ids, Set<String> names, Set<String> types) {
+
+        //Looking into the branches too. Null when there is no list, nothing can be said about it
+        static Facts of(final List<Step> steps) {
+            if (steps == null) {
+                return null;
+            }
+            final var facts = new Facts(steps.size(), new HashSet<>(), new HashSet<>(), new HashSet<>());
+            for (var step : flatten(steps, new ArrayList<>())) {
+                facts.add(step);
+            }
+            return facts;
+        }
+
+        static Facts of(final Step step) {
+            final var facts = new Facts(1, new HashSet<>(1), new HashSet<>(1), new HashSet<>(2));
+            facts.add(step);
+            return facts;
+        }
+
+        private void add(final Step step) {
+            if (step == null) {
+                return;
+            }
+            addFolded(ids, step.getId());
+            addFolded(names, step.getName());
+            addFolded(types, step.getType());
+            addFolded(types, step.getKind());
+        }
+
+        private static void addFolded(final Set<String> set, final String value) {
+            if (value != null) {
+                set.add(fold(value));
+            }
+        }
+    }
+
+    /*
+     * A constraint ready to be checked.
+     */
+    record Check(ConstraintOperation operation, String key, Integer number) {
+
+        static Check of(final ViewDefinitionConstraint c) {
+            final var operation = c.getOperation();
+            Integer number = null;
+            if (operation != null && operation.name().startsWith("SIZE_")) {
+                try {
+                    number = Integer.valueOf(c.getParameter());
+                } catch (NumberFormatException e) {
+                    LOG.warn("The constraint " + operation + " needs a number, not " + c.getParameter());
+                }
+            }
+            return new Check(operation, fold(c.getParameter()), number);
+        }
+
+        boolean contains() {
+            return operation == ConstraintOperation.CONTAINS_STEP_IDENTIFIER
+                    || operation == ConstraintOperation.CONTAINS_STEP_NAME
+                    || operation == ConstraintOperation.CONTAINS_STEP_TYPE;
+        }
+
+        boolean passes(final Facts facts) {
+            if (facts == null || operation == null) {
+                //Unsupported operation or typo
+                return false;
+            }
+            return switch (operation) {
+                case SIZE_EQUALS -> number != null && facts.size() == number;
+                case SIZE_GREATER_THAN -> number != null && facts.size() > number;
+                case SIZE_SMALLER_THAN -> number != null && facts.size() < number;
+                case CONTAINS_STEP_IDENTIFIER -> facts.ids().contains(key);
+                case CONTAINS_STEP_NAME -> facts.names().contains(key);
+                case CONTAINS_STEP_TYPE -> facts.types().contains(key);
+            };
+        }
+    }
+
+    /*
+     * A view definition with its constraints ready to be checked.
+     */
+    record Compiled(ViewDefinition definition, boolean generic, boolean step, List<Check> mandatory,
+                    List<Check> optional) {
+
+        static Compiled of(final ViewDefinition definition) {
+            final List<Check> mandatory = new ArrayList<>();
+            final List<Check> optional = new ArrayList<>();
+            if (definition.getConstraints() != null) {
+                for (var c : definition.getConstraints()) {
+                    (c.isMandatory() ? mandatory : optional).add(Check.of(c));
+                }
+            }
+            final var type = definition.getType();
+            return new Compiled(definition, "generic".equalsIgnoreCase(type), "step".equalsIgnoreCase(type),
+                    mandatory, optional);
+        }
+
+        boolean appliesTo(final Facts facts) {
+            for (var check : mandatory) {
+                if (!check.passes(facts)) {
+                    return false;
+                }
+            }
+            if (optional.isEmpty()) {
+                return true;
+            }
+            //We just need one
+            for (var check : optional) {
+                if (check.passes(facts)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /*
+         * The constraints of which at least one has to be found on the flow
+         * for this view to apply. Null if the view has to be checked anyway.
+         */
+        List<Check> anchors() {
+            for (var check : mandatory) {
+                if (check.contains()) {
+                    return List.of(check);
+                }
+            }
+            if (!mandatory.isEmpty() || optional.isEmpty()) {
+                return null;
+            }
+            final List<Check> res = new ArrayList<>();
+            for (var check : optional) {
+                if (check.contains()) {
+                    res.add(check);
+                } else if (check.operation() != null) {
+                    //This one may pass without anything in the flow
+                    return null;
+                }
+            }
+            return res;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.kaoto.backend.api.resource.v1;
+
+import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.model.step.Step;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+class IconResourceTest {
+
+    private StepCatalog catalog;
+
+    @Inject
+    public void setStepCatalog(final StepCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @BeforeEach
+    void waitForWarmUpCatalog() {
+        catalog.waitForWarmUp().join();
+    }
+
+    @Test
+    void stepsReferenceIcons() {
+        Step[] steps = given()
+                .when()
+                .get("/v1/steps")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract().body().as(Step[].class);
+
+        assertThat(steps).isNotEmpty().allMatch(step -> step.getIcon() == null);
+        final var hashes = Arrays.stream(steps).map(Step::getIconHash).filter(Objects::nonNull).distinct().toList();
+        assertThat(hashes).isNotEmpty().hasSizeLessThan(steps.length);
+
+        Step[] inline = given()
+                .when()
+                .queryParam("inlineIcons", true)
+                .get("/v1/steps")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract().body().as(Step[].class);
+        assertThat(inline).anyMatch(step -> step.getIcon() != null && step.getIconHash() != null);
+
+        final var hash = hashes.get(0);
+        given()
+                .when()
+                .get("/v1/icons/{hash}", hash)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .header("ETag", Matchers.containsString(hash))
+                .header("Cache-Control", Matchers.containsString("immutable"));
+
+        given()
+                .when()
+                .header("If-None-Match", "\"" + hash + "\"")
+                .get("/v1/icons/{hash}", hash)
+                .then()
+                .statusCode(Response.Status.NOT_MODIFIED.getStatusCode());
+    }
+
+    @Test
+    void unknownIcon() {
+        given()
+                .when()
+                .get("/v1/icons/{hash}", "not-a-hash")
+                .then()
+                .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+    }
+}
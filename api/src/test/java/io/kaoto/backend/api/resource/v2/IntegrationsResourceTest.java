@@ -7,6 +7,7 @@ import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
 import io.quarkus.test.common.http.TestHTTPEndpoint;
 import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.path.json.JsonPath;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.assertj.core.api.InstanceOfAssertFactories;
@@ -597,6 +598,124 @@ class IntegrationsResourceTest {
         }
     }
 
+    @Test
+    void integrationsBatch() throws Exception {
+        String route = loadFileFromResources("../../resource/amq-amq.yaml");
+        String binding = loadFileFromResources("../../resource/kamelet-binding.yaml");
+
+        var lines = given()
+                .when()
+                .contentType("text/yaml")
+                .body(route + "\n---\n" + binding + "\n---\nfoo: bar\n---\n" + route)
+                .post("/batch")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .contentType(IntegrationsResource.NDJSON)
+                .extract().body().asString().lines()
+                .map(JsonPath::from)
+                .toList();
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines).extracting(line -> line.getInt("index")).containsExactly(0, 1, 2, 3);
+        assertThat(lines.get(0).getString("flows.flows[0].dsl")).isEqualTo("Camel Route");
+        assertThat(lines.get(1).getString("flows.flows[0].dsl")).isEqualTo("KameletBinding");
+        assertThat(lines.get(2).getString("error")).isNotBlank();
+        assertThat(lines.get(2).getString("flows")).isNull();
+        assertThat(lines.get(3).getList("flows.flows[0].steps")).hasSize(2);
+    }
+
+    @Test
+    void integrationsStream() throws Exception {
+        String route = loadFileFromResources("../../resource/amq-amq.yaml");
+
+        var lines = given()
+                .when()
+                .contentType("text/yaml")
+                .queryParam("dsl", "Camel Route")
+                .body(route + "\n---\n" + route + "\n---\nfoo: bar\n")
+                .post("/stream")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .contentType(IntegrationsResource.NDJSON)
+                .extract().body().asString().lines()
+                .map(JsonPath::from)
+                .toList();
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines).extracting(line -> line.getInt("index")).containsExactly(0, 1, 2);
+        assertThat(lines.get(0).getString("flows.flows[0].dsl")).isEqualTo("Camel Route");
+        assertThat(lines.get(1).getList("flows.flows[0].steps")).hasSize(2);
+        assertThat(lines.get(0).getString("flows.flows[0].metadata.name"))
+                .isNotEqualTo(lines.get(1).getString("flows.flows[0].metadata.name"));
+        //The source was not a route after the second document
+        assertThat(lines.get(2).getString("error")).isNotBlank();
+
+        given()
+                .when()
+                .contentType("text/yaml")
+                .body(route)
+                .post("/stream")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+    }
+
+    @Test
+    void crdsBatch() throws Exception {
+        String json = loadFileFromResources("../../resource/amq-amq-multi.json")
+                .replaceAll("\\s*\\n\\s*", "");
+
+        var lines = given()
+                .when()
+                .contentType(IntegrationsResource.NDJSON)
+                .body(json + "\n\n" + "{\"flows\": [" + "\n" + json)
+                .post("/batch")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract().body().asString().lines()
+                .map(JsonPath::from)
+                .toList();
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0).getString("crd")).contains("activemq");
+        assertThat(lines.get(1).getString("error")).isNotBlank();
+        assertThat(lines.get(2).getInt("index")).isEqualTo(2);
+        assertThat(lines.get(2).getString("crd")).contains("activemq");
+    }
+
+    @Test
+    void crdsStream() throws Exception {
+        String json = loadFileFromResources("../../resource/amq-amq-multi.json");
+
+        var crds = given()
+                .when()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json)
+                .post("/")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract().body().asString();
+
+        var streamed = given()
+                .when()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json)
+                .post("/stream")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .contentType("text/yaml")
+                .extract().body().asString();
+
+        assertThat(streamed).contains("activemq").isEqualTo(crds);
+
+        given()
+                .when()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"flows\": [], \"metadata\": {}}")
+                .post("/stream")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+    }
+
     private String loadFileFromResources(String path) throws IOException {
         return new String(Objects.requireNonNull(this.getClass().getResourceAsStream(path), "File must exist")
                 .readAllBytes(), StandardCharsets.UTF_8);
@@ -0,0 +1,82 @@
+package io.kaoto.backend.api.resource.v2;
+
+import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.path.json.JsonPath;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+@TestHTTPEndpoint(StepResource.class)
+class StepResourceTest {
+
+    private StepCatalog catalog;
+
+    @Inject
+    public void setStepCatalog(final StepCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @BeforeEach
+    void waitForWarmUpCatalog() {
+        catalog.waitForWarmUp().join();
+    }
+
+    @Test
+    void allSteps() {
+        final var page = page(null, null, null, null);
+        assertThat(page.getList(StepResource.STEPS))
+                .hasSize(catalog.getReadOnlyCatalog().getAll().size());
+        assertThat(page.getString(StepResource.NEXT)).isNull();
+    }
+
+    @Test
+    void pagesCoverTheFilteredSteps() {
+        final var all = page("Kamelet", "START", null, null).getList(StepResource.STEPS + ".id", String.class);
+        assertThat(all).isNotEmpty().isSorted();
+
+        List<String> paged = new ArrayList<>();
+        String next = null;
+        do {
+            final var page = page("Kamelet", "START", 50, next);
+            final var ids = page.getList(StepResource.STEPS + ".id", String.class);
+            assertThat(ids).hasSizeLessThanOrEqualTo(50);
+            paged.addAll(ids);
+            next = page.getString(StepResource.NEXT);
+        } while (next != null);
+
+        assertThat(paged).isEqualTo(all);
+        assertThat(page("Kamelet", "START", 50, null).getList(StepResource.STEPS + ".kind", String.class))
+                .containsOnly("Kamelet");
+    }
+
+    private JsonPath page(final String kind, final String type, final Integer limit, final String after) {
+        var request = given();
+        if (kind != null) {
+            request = request.queryParam("kind", kind);
+        }
+        if (limit != null) {
+            request = request.queryParam("limit", limit);
+        }
+        if (type != null) {
+            request = request.queryParam("type", type);
+        }
+        if (after != null) {
+            request = request.queryParam("after", after);
+        }
+        return request.when()
+                .get()
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract().jsonPath();
+    }
+}
@@ -0,0 +1,107 @@
+package io.kaoto.backend.api.service.deployment;
+
+import io.kaoto.backend.api.resource.model.FlowsWrapper;
+import io.kaoto.backend.api.resource.v1.model.Integration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+class TranslationCacheTest {
+
+    private TranslationCache cache;
+    private MeterRegistry registry;
+
+    @Inject
+    public void setTranslationCache(final TranslationCache cache) {
+        this.cache = cache;
+    }
+
+    @Inject
+    public void setRegistry(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Test
+    void translatesOnlyOnce() {
+        final var crd = "- from:\n    uri: timer:" + UUID.randomUUID() + "\n";
+        final var translations = new AtomicInteger();
+        final var flows = new FlowsWrapper(new ArrayList<>(), new LinkedHashMap<>(), Map.of());
+
+        assertThat(cache.integration(crd, "Camel Route", () -> {
+            translations.incrementAndGet();
+            return flows;
+        })).isSameAs(flows);
+        //Same source, written in a different way
+        assertThat(cache.integration(crd.replace("\n", "\r\n") + "\n\n", "camel route", () -> {
+            translations.incrementAndGet();
+            return null;
+        })).isSameAs(flows);
+        assertThat(translations).hasValue(1);
+
+        //Different DSL, different translation
+        assertThat(cache.integration(crd, "Integration", () -> {
+            translations.incrementAndGet();
+            return null;
+        })).isNull();
+        assertThat(translations).hasValue(2);
+
+        assertThat(registry.find("cache.gets").tag("cache", TranslationCache.NAME).tag("result", "hit")
+                .functionCounter().count()).isPositive();
+    }
+
+    @Test
+    void mapsInOtherOrderAreOtherFlows() {
+        final var name = UUID.randomUUID().toString();
+        final var translations = new AtomicInteger();
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("name", name);
+        metadata.put("description", "flows");
+        Map<String, Object> reversed = new LinkedHashMap<>();
+        reversed.put("description", "flows");
+        reversed.put("name", name);
+
+        assertThat(cache.crds(new FlowsWrapper(List.of(new Integration()), metadata, Map.of()), () -> {
+            translations.incrementAndGet();
+            return "crd of " + name;
+        })).isEqualTo("crd of " + name);
+        assertThat(cache.crds(new FlowsWrapper(List.of(new Integration()), new LinkedHashMap<>(metadata),
+                Map.of()), () -> {
+            translations.incrementAndGet();
+            return "not cached";
+        })).isEqualTo("crd of " + name);
+        assertThat(translations).hasValue(1);
+
+        //The source code keeps the order of the maps, so it is not the same translation
+        assertThat(cache.crds(new FlowsWrapper(List.of(new Integration()), reversed, Map.of()), () -> {
+            translations.incrementAndGet();
+            return "crd of reversed " + name;
+        })).isEqualTo("crd of reversed " + name);
+        assertThat(translations).hasValue(2);
+    }
+
+    @Test
+    void failuresAreNotKept() {
+        final var crd = "- from:\n    uri: timer:" + UUID.randomUUID() + "\n";
+        try {
+            cache.integration(crd, null, () -> {
+                throw new IllegalStateException("Broken");
+            });
+        } catch (IllegalStateException e) {
+            //Expected
+        }
+        final var flows = new FlowsWrapper(new ArrayList<>(), new LinkedHashMap<>(), Map.of());
+        assertThat(cache.integration(crd, null, () -> flows)).isSameAs(flows);
+    }
+}
@@ -336,6 +336,43 @@ class GenericViewDefinitionParserServiceTest {
         Assertions.assertTrue(viewDefinitionParserService.appliesToStep(choiceSetBody, viewSetBody));
     }
 
+    @Test
+    void appliesToMandatoryAndOptional() {
+        List<Step> steps = new ArrayList<>();
+        Step log = new Step();
+        log.setName("Log");
+        log.setId("log-1");
+        log.setKind("EIP");
+        steps.add(log);
+
+        ViewDefinition view = getMockView(ConstraintOperation.CONTAINS_STEP_NAME, "LOG");
+        view.getConstraints().get(0).setMandatory(true);
+        Assertions.assertTrue(viewDefinitionParserService.appliesTo(steps, view));
+
+        //One optional is enough, but there has to be one
+        ViewDefinitionConstraint optional = new ViewDefinitionConstraint();
+        optional.setOperation(ConstraintOperation.CONTAINS_STEP_TYPE);
+        optional.setParameter("kamelet");
+        view.getConstraints().add(optional);
+        Assertions.assertFalse(viewDefinitionParserService.appliesTo(steps, view));
+
+        optional = new ViewDefinitionConstraint();
+        optional.setOperation(ConstraintOperation.CONTAINS_STEP_TYPE);
+        optional.setParameter("eip");
+        view.getConstraints().add(optional);
+        Assertions.assertTrue(viewDefinitionParserService.appliesTo(steps, view));
+
+        //Not a number, never passes
+        ViewDefinitionConstraint size = new ViewDefinitionConstraint();
+        size.setMandatory(true);
+        size.setOperation(ConstraintOperation.SIZE_EQUALS);
+        size.setParameter("one");
+        view.getConstraints().add(size);
+        Assertions.assertFalse(viewDefinitionParserService.appliesTo(steps, view));
+        Assertions.assertFalse(
+                viewDefinitionParserService.appliesTo(null, getMockView(ConstraintOperation.SIZE_EQUALS, "0")));
+    }
+
     private ViewDefinition getMockView(ConstraintOperation operation, String name) {
         ViewDefinition view = new ViewDefinition();
         view.setConstraints(new ArrayList<>());
@@ -0,0 +1,41 @@
+package io.kaoto.backend.api.service.step;
+
+import io.kaoto.backend.model.step.Step;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageCursorTest {
+
+    @Test
+    void roundTrip() {
+        final var cursor = new PageCursor("sftp:~/weird id", 2);
+        assertThat(PageCursor.of(cursor.token())).isEqualTo(cursor);
+        assertThat(PageCursor.of(new PageCursor(null, 3).token())).isEqualTo(new PageCursor(null, 3));
+        assertThat(PageCursor.of(null)).isNull();
+        assertThat(PageCursor.of("")).isNull();
+    }
+
+    @Test
+    void plainIds() {
+        assertThat(PageCursor.of("timer-source")).isEqualTo(new PageCursor("timer-source", Integer.MAX_VALUE));
+        assertThat(PageCursor.of("~not a token")).isEqualTo(new PageCursor("~not a token", Integer.MAX_VALUE));
+    }
+
+    @Test
+    void skipReturned() {
+        final var steps = Stream.of(step("a"), step("a"), step("a"), step("b"));
+        assertThat(new PageCursor("a", 2).skipReturned(steps).map(Step::getId)).containsExactly("a", "b");
+        assertThat(PageCursor.of("a").skipReturned(Stream.of(step("a"), step("b"))).map(Step::getId))
+                .containsExactly("b");
+        assertThat(new PageCursor(null, 1).skipReturned(Stream.of(step(null), step(null), step("a")))
+                .map(Step::getId)).containsExactly(null, "a");
+    }
+
+    private static Step step(final String id) {
+        return new Step(id, id, "icon", new ArrayList<>());
+    }
+}
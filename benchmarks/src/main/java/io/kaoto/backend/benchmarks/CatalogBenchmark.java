@@ -0,0 +1,108 @@
+package io.kaoto.backend.benchmarks;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.metadata.MetadataCatalog;
+import io.kaoto.backend.model.step.Step;
+
+/**
+ * 🐱class CatalogBenchmark
+ *
+ * Warming up the step catalog from the bundled catalogs and the reads the
+ * steps endpoints do on it once it is warm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogBenchmark {
+
+    //Same filters the frontend uses when it asks for the steps of a KameletBinding
+    private final Collection<String> kinds = List.of("Kamelet", "Knative");
+    private final Collection<String> types = List.of("MIDDLE");
+
+    private Services services;
+    private MetadataCatalog<Step> catalog;
+
+    @Setup
+    public void setUp() {
+        services = Services.start();
+        catalog = services.getCatalog().getReadOnlyCatalog();
+    }
+
+    /*
+     * 🐱method warmUp: StepCatalog
+     *
+     * Parsing all the bundled catalogs into a new step catalog.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public StepCatalog warmUp() {
+        final var stepCatalog = Services.newCatalog();
+        stepCatalog.warmUpCatalog();
+        stepCatalog.waitForWarmUp().join();
+        return stepCatalog;
+    }
+
+    @Benchmark
+    public Collection<Step> searchByName(final Query query) {
+        return catalog.searchByName(query.name);
+    }
+
+    @Benchmark
+    public Collection<Step> getAll() {
+        return catalog.getAll();
+    }
+
+    /*
+     * 🐱method filterAll: List[Step]
+     *
+     * What /v1/steps does: all the steps of a kind and type, filtered by the DSL.
+     */
+    @Benchmark
+    public List<Step> filterAll() {
+        return services.getGenerator(Services.KAMELET_BINDING)
+                .filterCatalog(null, null, catalog.searchByKindAndType(kinds, types).stream())
+                .toList();
+    }
+
+    /*
+     * 🐱method filterPage: List[Step]
+     *
+     * What /v2/steps does: the first page of the same steps, sorted by id.
+     */
+    @Benchmark
+    public List<Step> filterPage() {
+        return services.getGenerator(Services.KAMELET_BINDING)
+                .filterCatalog(null, null, catalog.streamByKindAndType(kinds, types, null))
+                .limit(50)
+                .toList();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Query {
+
+        @Param({"log", "kafka", "not-in-the-catalog"})
+        private String name;
+    }
+}
@@ -0,0 +1,75 @@
+package io.kaoto.backend.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
+import io.kaoto.backend.api.service.step.parser.StepParserService;
+import io.kaoto.backend.model.step.Step;
+
+/**
+ * 🐱class DslBenchmark
+ *
+ * Going from source code to steps and from steps to source code on each
+ * DSL, for flows of different sizes.
+ *
+ * Every invocation of yamlToSteps parses a slightly different source (a
+ * comment with the number of the invocation on top) so nothing cached from
+ * a previous invocation is measured. Building that source is part of the
+ * measure, but it is negligible next to the parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DslBenchmark {
+
+    @Param({Services.KAMELET_BINDING, Services.KAMELET, Services.INTEGRATION, Services.CAMEL_ROUTE})
+    private String dsl;
+
+    @Param({"10", "100", "1000"})
+    private int steps;
+
+    private StepParserService<Step> parser;
+    private DeploymentGeneratorService generator;
+    private String source;
+    private long invocation;
+    private List<StepParserService.ParseResult<Step>> flows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final var services = Services.start();
+        parser = services.getParser(dsl);
+        generator = services.getGenerator(dsl);
+        source = SyntheticFlows.of(dsl, steps);
+        if (!parser.appliesTo("# invocation\n" + source)) {
+            throw new IllegalStateException("The synthetic " + dsl + " is not recognized by its parser.");
+        }
+        flows = parser.getParsedFlows(source);
+    }
+
+    @Benchmark
+    public List<StepParserService.ParseResult<Step>> yamlToSteps() {
+        return parser.getParsedFlows("# invocation " + invocation++ + "\n" + source);
+    }
+
+    @Benchmark
+    public String stepsToYaml() {
+        return generator.parse(flows);
+    }
+}
@@ -0,0 +1,131 @@
+package io.kaoto.backend.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+
+import io.kaoto.backend.api.metadata.catalog.IconStore;
+import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.api.metadata.catalog.StepCatalogParser;
+import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
+import io.kaoto.backend.api.service.step.parser.StepParserService;
+import io.kaoto.backend.camel.metadata.parser.step.camelroute.CamelRestDSLParseCatalog;
+import io.kaoto.backend.camel.metadata.parser.step.camelroute.CamelRouteParseCatalog;
+import io.kaoto.backend.camel.metadata.parser.step.kamelet.KameletParseCatalog;
+import io.kaoto.backend.camel.service.deployment.generator.camelroute.CamelRouteDeploymentGeneratorService;
+import io.kaoto.backend.camel.service.deployment.generator.camelroute.IntegrationDeploymentGeneratorService;
+import io.kaoto.backend.camel.service.deployment.generator.kamelet.KameletBindingDeploymentGeneratorService;
+import io.kaoto.backend.camel.service.deployment.generator.kamelet.KameletDeploymentGeneratorService;
+import io.kaoto.backend.camel.service.step.parser.camelroute.CamelRouteStepParserService;
+import io.kaoto.backend.camel.service.step.parser.camelroute.IntegrationStepParserService;
+import io.kaoto.backend.camel.service.step.parser.kamelet.KameletBindingStepParserService;
+import io.kaoto.backend.camel.service.step.parser.kamelet.KameletStepParserService;
+import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.model.step.Step;
+
+/**
+ * 🐱class Services
+ *
+ * The beans the benchmarks measure, wired by hand the same way the
+ * application wires them, without starting the application.
+ *
+ * The catalog is warmed up from the same bundled catalogs the application
+ * uses in production, with no cluster and no network.
+ */
+public final class Services {
+
+    //Bundled catalogs and the kind of steps expected from them, as in the production configuration
+    private static final Map<String, String> JARS = Map.of(
+            "resource://camel-kamelets-3.21.0.jar", "Kamelet",
+            "resource://camel-component-metadata.zip", "",
+            "resource://camel-connectors-3.21.0.zip", "Camel-Connector");
+
+    public static final String KAMELET_BINDING = "KameletBinding";
+    public static final String KAMELET = "Kamelet";
+    public static final String INTEGRATION = "Integration";
+    public static final String CAMEL_ROUTE = "Camel Route";
+
+    private final StepCatalog catalog;
+    private final Map<String, StepParserService<Step>> parsers;
+    private final Map<String, DeploymentGeneratorService> generators;
+
+    private Services(final StepCatalog catalog) {
+        this.catalog = catalog;
+
+        final var ksps = new KameletStepParserService();
+        ksps.setCatalog(catalog);
+        final var kbsps = new KameletBindingStepParserService();
+        kbsps.setCatalog(catalog);
+        final var crsps = new CamelRouteStepParserService();
+        crsps.setKsps(ksps);
+        final var isps = new IntegrationStepParserService();
+        isps.setKsps(ksps);
+
+        final var kdgs = new KameletDeploymentGeneratorService();
+        kdgs.setStepParserService(ksps, catalog);
+        final var kbdgs = new KameletBindingDeploymentGeneratorService();
+        kbdgs.setStepParserService(kbsps);
+        final var crdgs = new CamelRouteDeploymentGeneratorService();
+        crdgs.setCatalog(catalog);
+        final var idgs = new IntegrationDeploymentGeneratorService();
+        idgs.setStepParserService(isps, kdgs, catalog);
+
+        this.parsers = Map.of(KAMELET_BINDING, kbsps, KAMELET, ksps, INTEGRATION, isps, CAMEL_ROUTE, crsps);
+        this.generators = Map.of(KAMELET_BINDING, kbdgs, KAMELET, kdgs, INTEGRATION, idgs, CAMEL_ROUTE, crdgs);
+    }
+
+    /*
+     * 🐱method start: Services
+     *
+     * Warms up a new catalog and wires the services on top of it.
+     */
+    public static Services start() {
+        final var catalog = newCatalog();
+        catalog.warmUpCatalog();
+        catalog.waitForWarmUp().join();
+        return new Services(catalog);
+    }
+
+    /*
+     * 🐱method newCatalog: StepCatalog
+     *
+     * A catalog ready to be warmed up from the bundled catalogs.
+     */
+    public static StepCatalog newCatalog() {
+        final var catalog = new BundledStepCatalog();
+        catalog.setIconStore(new IconStore());
+        return catalog;
+    }
+
+    public StepCatalog getCatalog() {
+        return catalog;
+    }
+
+    public StepParserService<Step> getParser(final String dsl) {
+        return parsers.get(dsl);
+    }
+
+    public DeploymentGeneratorService getGenerator(final String dsl) {
+        return generators.get(dsl);
+    }
+
+    /*
+     * 🐱class BundledStepCatalog
+     *
+     * Step catalog that only reads the bundled catalogs, instead of whatever
+     * the configuration says.
+     */
+    private static final class BundledStepCatalog extends StepCatalog {
+
+        private final List<StepCatalogParser> stepCatalogParsers = List.of(
+                new KameletParseCatalog(), new CamelRouteParseCatalog(), new CamelRestDSLParseCatalog());
+
+        @Override
+        protected List<ParseCatalog<Step>> loadParsers() {
+            return JARS.entrySet().stream()
+                    .flatMap(jar -> stepCatalogParsers.stream()
+                            .filter(parser -> parser.generatesKind(jar.getValue()))
+                            .map(parser -> parser.getParser(jar.getKey())))
+                    .toList();
+        }
+    }
+}
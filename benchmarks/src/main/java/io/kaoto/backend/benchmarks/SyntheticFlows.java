@@ -0,0 +1,129 @@
+package io.kaoto.backend.benchmarks;
+
+/**
+ * 🐱class SyntheticFlows
+ *
+ * Sources of each DSL with as many steps in the middle as requested, built
+ * from steps found in the bundled catalogs, so the cost of parsing and
+ * generating can be compared between small and big flows.
+ */
+public final class SyntheticFlows {
+
+    private SyntheticFlows() {
+        //Only static methods
+    }
+
+    /*
+     * 🐱method of: String
+     * 🐱param dsl: String
+     * 🐱param steps: int
+     *
+     * A valid source of the DSL with this number of steps between the first
+     * and the last one.
+     */
+    public static String of(final String dsl, final int steps) {
+        return switch (dsl) {
+            case Services.KAMELET_BINDING -> kameletBinding(steps);
+            case Services.KAMELET -> kamelet(steps);
+            case Services.INTEGRATION -> integration(steps);
+            case Services.CAMEL_ROUTE -> camelRoute(steps);
+            default -> throw new IllegalArgumentException("Unknown DSL " + dsl);
+        };
+    }
+
+    private static String kameletBinding(final int steps) {
+        final var sb = new StringBuilder("""
+                apiVersion: camel.apache.org/v1alpha1
+                kind: KameletBinding
+                metadata:
+                  name: synthetic-binding
+                spec:
+                  source:
+                    properties:
+                      message: Hello
+                    ref:
+                      apiVersion: camel.apache.org/v1alpha1
+                      kind: Kamelet
+                      name: timer-source
+                  steps:
+                """);
+        for (int i = 0; i < steps; i++) {
+            sb.append("""
+                      - properties:
+                          name: header-%d
+                          value: value-%d
+                        ref:
+                          apiVersion: camel.apache.org/v1alpha1
+                          kind: Kamelet
+                          name: insert-header-action
+                    """.formatted(i, i));
+        }
+        sb.append("""
+                  sink:
+                    ref:
+                      apiVersion: camel.apache.org/v1alpha1
+                      kind: Kamelet
+                      name: log-sink
+                """);
+        return sb.toString();
+    }
+
+    private static String kamelet(final int steps) {
+        return """
+                apiVersion: camel.apache.org/v1alpha1
+                kind: Kamelet
+                metadata:
+                  name: synthetic-source
+                  labels:
+                    camel.apache.org/kamelet.type: source
+                spec:
+                  definition:
+                    title: Synthetic
+                    description: Synthetic kamelet
+                  template:
+                    from:
+                      uri: timer:synthetic
+                      parameters:
+                        period: 1000
+                      steps:
+                """ + steps(steps, "      ");
+    }
+
+    private static String integration(final int steps) {
+        return """
+                apiVersion: camel.apache.org/v1
+                kind: Integration
+                metadata:
+                  name: synthetic-integration
+                spec:
+                  flows:
+                  - from:
+                      uri: timer:synthetic
+                      parameters:
+                        period: 1000
+                      steps:
+                """ + steps(steps, "    ");
+    }
+
+    private static String camelRoute(final int steps) {
+        return """
+                - from:
+                    uri: timer:synthetic
+                    parameters:
+                      period: 1000
+                    steps:
+                """ + steps(steps, "  ");
+    }
+
+    private static String steps(final int steps, final String indent) {
+        final var sb = new StringBuilder();
+        for (int i = 0; i < steps; i++) {
+            sb.append(indent).append("  - set-header:\n")
+                    .append(indent).append("      name: header-").append(i).append('\n')
+                    .append(indent).append("      constant: value-").append(i).append('\n');
+        }
+        sb.append(indent).append("  - to:\n")
+                .append(indent).append("      uri: log:synthetic\n");
+        return sb.toString();
+    }
+}
@@ -5,7 +5,9 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
 import org.apache.camel.v1alpha1.KameletBindingSpec;
@@ -16,6 +18,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 
+import io.kaoto.backend.api.service.step.parser.SourceSniffer;
 import io.kaoto.backend.camel.model.deployment.kamelet.serializer.KameletBindingSpecSerializer;
 
 public final class KamelHelper {
@@ -39,6 +42,10 @@ public final class KamelHelper {
             .registerModule(new SimpleModule()
                     .addSerializer(KameletBindingSpec.class, new KameletBindingSpecSerializer()));
 
+    //Same as the YAML_MAPPER, but leaves the output open to keep writing on it
+    public static final ObjectWriter YAML_WRITER = YAML_MAPPER.writer()
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
     public static final ObjectMapper GENERIC_MAPPER = new ObjectMapper();
 
     private KamelHelper() {
@@ -46,12 +53,8 @@ public final class KamelHelper {
     }
 
     public static String getCRKind(String yaml) {
-        try {
-            return String.valueOf(YAML_MAPPER.readValue(yaml, java.util.Map.class).get("kind"));
-        } catch (Exception e) {
-            LOG.trace("Tried to get the kind of something that wasn't a Custom Resource?", e);
-            return null;
-        }
+        //Reads only until the kind is found
+        return SourceSniffer.kindOf(yaml);
     }
 
     public static Optional<String> loadResourceAsString(Class<?> type, String resource) {
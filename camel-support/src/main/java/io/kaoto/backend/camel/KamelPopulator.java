@@ -1,7 +1,6 @@
 package io.kaoto.backend.camel;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -73,6 +72,7 @@ import io.kaoto.backend.camel.model.deployment.kamelet.step.TransactedFlowStep;
 import io.kaoto.backend.camel.model.deployment.kamelet.step.TransformFlowStep;
 import io.kaoto.backend.camel.model.deployment.kamelet.step.TryCatchFlowStep;
 import io.kaoto.backend.camel.model.deployment.kamelet.step.UnmarshalFlowStep;
+import io.kaoto.backend.camel.model.deployment.kamelet.step.UriCodec;
 import io.kaoto.backend.camel.model.deployment.kamelet.step.UriFlowStep;
 import io.kaoto.backend.camel.model.deployment.kamelet.step.ValidateFlowStep;
 import io.kaoto.backend.camel.model.deployment.kamelet.step.WireTapFlowStep;
@@ -448,58 +448,10 @@ public class KamelPopulator {
     }
 
     public HashMap<String, Object> buildUri(final Step s, final StringBuilder uri) {
-        var params = new HashMap<String, Object>();
-        if (s.getParameters() != null) {
-            //We need to make sure parameters attributes coming from the frontend are complete and right
-            //The only important thing we need to take from them is the value, the rest should be as default
-            HashMap<String, Object> values = new HashMap<>();
-            s.getParameters().stream().forEach(parameter -> values.put(parameter.getId(), parameter.getValue()));
-
-            //these connectors ignore the camel component name when building the uri
-            //or duplicate it, depending on where you are looking from
-            var exceptions = Arrays.asList("http", "https");
-            if (exceptions.contains(s.getName())) {
-                s.getParameters().stream().forEach(parameter -> {
-                    if (parameter.isPath()
-                            && parameter.getPathOrder() == 0
-                            && String.valueOf(parameter.getValue()).startsWith(s.getName())) {
-                        values.put(parameter.getId(),
-                                String.valueOf(parameter.getValue()).substring(s.getName().length() + 1));
-                    }
-                });
-            }
-
-            //Now we can work with the parameters list
-            Step step = catalog.getReadOnlyCatalog().searchByID(s.getId());
-            if (step != null) {
-                Collections.sort(step.getParameters());
-                for (Parameter p : step.getParameters()) {
-                    var value = values.get(p.getId());
-                    if (p.isPath()) {
-                        if (p.getPathOrder() == 0) {
-                            uri.append(":");
-                        }
-                        uri.append(p.getPathSeparator());
-                        //Look for the right value
-                        value = value != null ? value : p.getDefaultValue();
-                        //If it is null, don't add it
-                        if (value != null) {
-                            uri.append(value);
-                        }
-                    } else {
-                        final var typedValue = p.convertToType(value);
-                        if (value != null && !p.getId().equalsIgnoreCase("step-id-kaoto")) {
-                            if (typedValue != null && !typedValue.equals(p.getDefaultValue())) {
-                                params.put(p.getId(), typedValue);
-                            } else if (typedValue == null && value != null) {
-                                params.put(p.getId(), value);
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return params;
+        //We need to make sure parameters attributes coming from the frontend are complete and right
+        //The only important thing we need to take from them is the value, the rest comes from the catalog
+        final var codec = UriCodec.byId(catalog, s.getId());
+        return codec != null ? codec.build(s, uri) : new HashMap<>();
     }
 
     /**
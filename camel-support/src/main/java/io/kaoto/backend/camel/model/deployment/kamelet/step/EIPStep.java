@@ -58,11 +58,7 @@ public abstract class EIPStep implements Serializable {
     public Step getStep(final StepCatalog catalog, final String name,
                         final KameletStepParserService kameletStepParserService) {
 
-        Optional<Step> res = catalog.getReadOnlyCatalog()
-                .searchByName(name).stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP")
-                        || step.getKind().equalsIgnoreCase("EIP-BRANCH"))
-                .findAny();
+        Optional<Step> res = Optional.ofNullable(StepResolver.of(catalog).eip(name));
 
 
         if (res.isPresent()) {
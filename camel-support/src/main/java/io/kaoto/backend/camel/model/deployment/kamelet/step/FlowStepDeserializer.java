@@ -7,22 +7,59 @@ import org.jboss.logging.Logger;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 import io.kaoto.backend.camel.model.deployment.kamelet.FlowStep;
 
+/**
+ * 🐱class FlowStepDeserializer
+ *
+ * Finds out which kind of FlowStep we have by the root fields of the step.
+ *
+ * The table of fields is built only once. When several fields match, the
+ * same one wins as always: the first one in the iteration order of the
+ * original table.
+ */
 public class FlowStepDeserializer extends JsonDeserializer {
     private static final Logger LOG = Logger.getLogger(FlowStepDeserializer.class);
 
+    private static final Map<String, StepType> STEPS = compile(getFlowSteps());
+
     @Override
     public Object deserialize(
             final JsonParser jsonParser,
             final DeserializationContext deserializationContext) {
         try {
-            JsonNode n = jsonParser.getCodec().readTree(jsonParser);
-            return deserializeFlowStep(jsonParser, n);
+            var token = jsonParser.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = jsonParser.nextToken();
+            } else if (token != JsonToken.FIELD_NAME) {
+                jsonParser.skipChildren();
+                return new UriFlowStep();
+            }
+
+            //Copy the step while we look at its root fields, so we don't need to build a tree of it
+            StepType type = null;
+            TokenBuffer buffer = deserializationContext.bufferForInputBuffering(jsonParser);
+            buffer.writeStartObject();
+            for (; token == JsonToken.FIELD_NAME; token = jsonParser.nextToken()) {
+                type = StepType.first(type, STEPS.get(jsonParser.currentName()));
+                buffer.copyCurrentStructure(jsonParser);
+            }
+            buffer.writeEndObject();
+
+            if (type != null) {
+                try (JsonParser stepParser = buffer.asParser(jsonParser.getCodec())) {
+                    stepParser.nextToken();
+                    return deserializationContext.readValue(stepParser, type.javaType());
+                }
+            }
         } catch (Exception e) {
             LOG.error("Error trying to deserialize step: " + e.getMessage());
         }
@@ -31,16 +68,37 @@ public class FlowStepDeserializer extends JsonDeserializer {
     }
 
     public FlowStep deserializeFlowStep(final JsonParser p, final JsonNode n) throws JsonProcessingException {
-        for (var step : getFlowSteps().entrySet()) {
-            if (n.get(step.getKey()) != null) {
-                return (FlowStep) p.getCodec().treeToValue(n, step.getValue());
-            }
+        StepType type = null;
+        for (var fields = n.fieldNames(); fields.hasNext();) {
+            type = StepType.first(type, STEPS.get(fields.next()));
+        }
+
+        if (type != null) {
+            return (FlowStep) p.getCodec().treeToValue(n, type.javaType().getRawClass());
         }
 
         return new UriFlowStep();
     }
 
-    private Map<String, Class> getFlowSteps() {
+    private static Map<String, StepType> compile(final Map<String, Class> flowSteps) {
+        final Map<String, StepType> steps = new HashMap<>();
+        for (var step : flowSteps.entrySet()) {
+            steps.put(step.getKey(),
+                    new StepType(steps.size(), TypeFactory.defaultInstance().constructType(step.getValue())));
+        }
+        return Map.copyOf(steps);
+    }
+
+    private record StepType(int priority, JavaType javaType) {
+        static StepType first(final StepType current, final StepType candidate) {
+            if (candidate == null || current != null && current.priority() < candidate.priority()) {
+                return current;
+            }
+            return candidate;
+        }
+    }
+
+    private static Map<String, Class> getFlowSteps() {
         Map<String, Class> steps = new HashMap<>();
 
         steps.put("aggregate", AggregateFlowStep.class);
@@ -66,7 +66,7 @@ public class LoadBalanceFlowStep implements FlowStep {
                 .searchByName(LOAD_BALANCE_LABEL).stream()
                 .filter(step -> step.getKind().equalsIgnoreCase("EIP")
                         || step.getKind().equalsIgnoreCase("EIP-BRANCH"))
-                .findAny().orElse(null);
+                .findAny().map(Step::clone).orElse(null);
         if (res != null) {
             assignParameters(res);
             int i = 1;
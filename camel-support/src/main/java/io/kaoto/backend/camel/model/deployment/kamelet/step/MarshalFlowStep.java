@@ -40,7 +40,7 @@ public class MarshalFlowStep implements FlowStep {
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
         Step res = catalog.getReadOnlyCatalog().searchByName("marshal")
-                .stream().filter(s -> s.getKind().equalsIgnoreCase("EIP")).findAny().orElse(null);
+                .stream().filter(s -> s.getKind().equalsIgnoreCase("EIP")).findAny().map(Step::clone).orElse(null);
         if (res != null) {
             assignParameters(res);
         }
@@ -64,7 +64,7 @@ public class RemoveHeaderFlowStep implements FlowStep {
         Optional<Step> res = catalog.getReadOnlyCatalog()
                 .searchByName("remove-header").stream()
                 .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+                .findAny().map(Step::clone);
 
         if (res.isPresent()) {
             for (Parameter p : res.get().getParameters()) {
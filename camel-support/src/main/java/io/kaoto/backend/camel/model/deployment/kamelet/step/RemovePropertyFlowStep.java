@@ -63,7 +63,7 @@ public class RemovePropertyFlowStep implements FlowStep {
         Optional<Step> res = catalog.getReadOnlyCatalog()
                 .searchByName("remove-property").stream()
                 .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+                .findAny().map(Step::clone);
 
 
         if (res.isPresent()) {
@@ -53,7 +53,7 @@ public class ScriptFlowStep implements FlowStep {
         Optional<Step> res = catalog.getReadOnlyCatalog()
                 .searchByName("script").stream()
                 .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+                .findAny().map(Step::clone);
 
         if (res.isPresent()) {
             for (Parameter p : res.get().getParameters()) {
@@ -67,7 +67,7 @@ public class SetBodyFlowStep implements FlowStep {
         Optional<Step> res = catalog.getReadOnlyCatalog()
                 .searchByName("set-body").stream()
                 .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+                .findAny().map(Step::clone);
 
 
         if (res.isPresent()) {
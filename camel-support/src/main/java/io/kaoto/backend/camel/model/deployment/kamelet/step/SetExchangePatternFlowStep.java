@@ -50,7 +50,7 @@ public class SetExchangePatternFlowStep implements FlowStep {
         Optional<Step> res = catalog.getReadOnlyCatalog()
                 .searchByName(LABEL).stream()
                 .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+                .findAny().map(Step::clone);
 
         if (res.isPresent()) {
             for (Parameter p : res.get().getParameters()) {
@@ -63,7 +63,7 @@ public class SetHeaderFlowStep implements FlowStep {
         Optional<Step> res = catalog.getReadOnlyCatalog()
                 .searchByName(SET_HEADER_LABEL).stream()
                 .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+                .findAny().map(Step::clone);
 
         if (res.isPresent()) {
             for (Parameter p : res.get().getParameters()) {
@@ -66,7 +66,7 @@ public class SetPropertyFlowStep implements FlowStep {
         Optional<Step> res = catalog.getReadOnlyCatalog()
                 .searchByName("set-property").stream()
                 .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+                .findAny().map(Step::clone);
 
         if (res.isPresent()) {
             for (Parameter p : res.get().getParameters()) {
@@ -0,0 +1,138 @@
+package io.kaoto.backend.camel.model.deployment.kamelet.step;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.metadata.MetadataCatalog;
+import io.kaoto.backend.model.step.Step;
+
+/**
+ * 🐱class StepResolver
+ * 🐱relationship dependsOn StepCatalog
+ *
+ * Finds the step of the catalog that fits best a connector or an EIP by its
+ * name and its position in the flow.
+ *
+ * There is one resolver per generation of the catalog. The choice for each
+ * name in the catalog is made once, when the resolver is built, so resolving
+ * a connector is just a lookup. Names that are not in the catalog are not
+ * remembered. Only the step chosen is copied.
+ */
+public final class StepResolver {
+
+    private static final int START = 0;
+    private static final int MIDDLE = 1;
+    private static final int END = 2;
+    private static final int EIP = 3;
+    private static final Step[] NONE = new Step[EIP + 1];
+
+    private final MetadataCatalog<Step> catalog;
+    //For each name, in lower case: the best for the start, middle and end of a flow, and the EIP
+    private final Map<String, Step[]> resolved = new HashMap<>();
+
+    private StepResolver(final MetadataCatalog<Step> catalog) {
+        this.catalog = catalog;
+        for (var step : catalog.getAll()) {
+            if (step != null && step.getName() != null) {
+                resolved.computeIfAbsent(step.getName().toLowerCase(Locale.ROOT), this::choose);
+            }
+        }
+    }
+
+    /*
+     * 🐱method of: StepResolver
+     * 🐱param catalog: StepCatalog
+     *
+     * The resolver of the current generation of the catalog.
+     */
+    public static StepResolver of(final StepCatalog catalog) {
+        return catalog.derive(StepResolver.class, StepResolver::new);
+    }
+
+    /*
+     * 🐱method connector: Step
+     * 🐱param name: String
+     * 🐱param start: boolean
+     * 🐱param end: boolean
+     *
+     * Copy of the step for the connector that fits best in this position.
+     */
+    public Step connector(final String name, final boolean start, final boolean end) {
+        final var position = start ? START : end ? END : MIDDLE;
+        return copy(resolve(name)[position]);
+    }
+
+    /*
+     * 🐱method eip: Step
+     * 🐱param name: String
+     *
+     * Copy of the step for the EIP with this name.
+     */
+    public Step eip(final String name) {
+        return copy(resolve(name)[EIP]);
+    }
+
+    private Step[] resolve(final String name) {
+        if (name == null) {
+            return NONE;
+        }
+        return resolved.getOrDefault(name.toLowerCase(Locale.ROOT), NONE);
+    }
+
+    private Step[] choose(final String name) {
+        final var chosen = new Step[EIP + 1];
+        final var ranks = new int[] {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE};
+        //Candidates come sorted, so on a draw the first one stays
+        for (var step : catalog.searchByName(name)) {
+            for (int position = START; position <= END; position++) {
+                final var rank = rank(step, position);
+                if (rank < ranks[position]) {
+                    ranks[position] = rank;
+                    chosen[position] = step;
+                }
+            }
+            if (chosen[EIP] == null && isEIP(step)) {
+                chosen[EIP] = step;
+            }
+        }
+        return chosen;
+    }
+
+    //Make sure we do the smartest pick: don't put an end step at the beginning or a start at the end
+    //unless there is no other option, sure, then whatever the user is doing
+    private static int rank(final Step step, final int position) {
+        if (step.getType() == null) {
+            return Integer.MAX_VALUE - 1;
+        }
+        final var type = Step.Type.valueOf(step.getType());
+        if (position == START) {
+            return type.ordinal();
+        }
+        //EIPs shouldn't be picked as connectors
+        if (step.getKind().startsWith("EIP")) {
+            return Step.Type.values().length;
+        }
+        if (position == MIDDLE) {
+            return switch (type) {
+                case MIDDLE -> 0;
+                case START -> 1;
+                case END -> 2;
+            };
+        }
+        return switch (type) {
+            case END -> 0;
+            case START -> 1;
+            case MIDDLE -> 2;
+        };
+    }
+
+    private static boolean isEIP(final Step step) {
+        return step.getKind().equalsIgnoreCase("EIP") || step.getKind().equalsIgnoreCase("EIP-BRANCH");
+    }
+
+    private static Step copy(final Step step) {
+        return step != null ? step.clone() : null;
+    }
+}
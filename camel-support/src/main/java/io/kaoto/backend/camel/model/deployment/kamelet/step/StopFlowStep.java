@@ -36,7 +36,7 @@ public class StopFlowStep implements FlowStep {
         var stopEip= catalog.getReadOnlyCatalog()
                 .searchByName("stop").stream()
                 .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny().orElse(null);
+                .findAny().map(Step::clone).orElse(null);
         if (stopEip != null) {
             // @FIXME this is a workaround for https://github.com/KaotoIO/kaoto-ui/issues/1587
             // Once UI implements the END step handling, STOP EIP has to get back to be an END step
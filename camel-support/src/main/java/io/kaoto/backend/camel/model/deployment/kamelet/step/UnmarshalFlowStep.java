@@ -33,7 +33,7 @@ public class UnmarshalFlowStep extends MarshalFlowStep {
                 .searchByName("unmarshal").stream()
                 .filter(step -> step.getKind().equalsIgnoreCase("EIP")
                         || step.getKind().equalsIgnoreCase("EIP-BRANCH"))
-                .findAny().orElse(null);
+                .findAny().map(Step::clone).orElse(null);
         if (res != null) {
             assignParameters(res);
         }
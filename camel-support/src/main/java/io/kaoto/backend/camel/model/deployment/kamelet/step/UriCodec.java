@@ -0,0 +1,285 @@
+package io.kaoto.backend.camel.model.deployment.kamelet.step;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+
+import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.metadata.MetadataCatalog;
+import io.kaoto.backend.model.parameter.Parameter;
+import io.kaoto.backend.model.step.Step;
+
+/**
+ * 🐱class UriCodec
+ * 🐱relationship dependsOn StepCatalog
+ *
+ * Reads and writes the endpoint URI of a connector.
+ *
+ * Everything that only depends on the connector is worked out once per
+ * generation of the catalog: the path parameters in order with their
+ * separators, the order in which the parameters are written, and a case
+ * insensitive table from parameter id to parameter. The weird cases of some
+ * components (avro, sftp, netty-http, kamelet) are already in the separators
+ * and order of their catalog parameters; http and https write the component
+ * name as part of the first path parameter.
+ *
+ * Steps that are not in the catalog get a codec of their own each time they
+ * ask for one.
+ */
+public final class UriCodec {
+
+    private static final Logger LOG = Logger.getLogger(UriCodec.class);
+    //These connectors ignore the camel component name when building the uri
+    //or duplicate it, depending on where you are looking from
+    private static final Set<String> PREFIXED = Set.of("http", "https");
+    private static final String STEP_ID = "step-id-kaoto";
+
+    //Same positions as in the parameters of the step
+    private final String[] ids;
+    private final Parameter<?>[] parameters;
+    //Positions of all the parameters, in the order they are written
+    private final int[] order;
+    //Positions of the path parameters, in order
+    private final int[] path;
+    private final Map<String, Integer> positions = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    //Values are matched to the parameters by their exact id
+    private final Map<String, Integer> exact = new HashMap<>();
+
+    private UriCodec(final List<Parameter> stepParameters) {
+        final var size = stepParameters.size();
+        this.ids = new String[size];
+        this.parameters = new Parameter<?>[size];
+        final List<Integer> all = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final var p = stepParameters.get(i);
+            if (p != null) {
+                ids[i] = p.getId();
+                parameters[i] = p;
+                all.add(i);
+                //First one wins, as in a search from the beginning
+                positions.putIfAbsent(p.getId(), i);
+                exact.putIfAbsent(p.getId(), i);
+            }
+        }
+        //Stable, so parameters with the same order keep their position
+        all.sort((a, b) -> parameters[a].compareTo(parameters[b]));
+        this.order = all.stream().mapToInt(Integer::intValue).toArray();
+        this.path = all.stream().filter(i -> parameters[i].isPath()).mapToInt(Integer::intValue).toArray();
+    }
+
+    /*
+     * 🐱method of: UriCodec
+     * 🐱param catalog: StepCatalog
+     * 🐱param step: Step
+     *
+     * The codec for this step: the one of the catalog if it knows the step,
+     * a new one otherwise.
+     */
+    public static UriCodec of(final StepCatalog catalog, final Step step) {
+        final var codec = ofCatalog(catalog, step);
+        if (codec != null) {
+            return codec;
+        }
+        return new UriCodec(step.getParameters() != null ? step.getParameters() : List.of());
+    }
+
+    /*
+     * 🐱method ofCatalog: UriCodec
+     * 🐱param catalog: StepCatalog
+     * 🐱param step: Step
+     *
+     * The codec of the catalog for this step, null if the catalog doesn't
+     * know the step or its parameters are not the same. For callers that
+     * are better off without a codec than building a new one.
+     */
+    public static UriCodec ofCatalog(final StepCatalog catalog, final Step step) {
+        final var codec = byId(catalog, step.getId());
+        return codec != null && codec.fits(step) ? codec : null;
+    }
+
+    /*
+     * 🐱method byId: UriCodec
+     * 🐱param catalog: StepCatalog
+     * 🐱param id: String
+     *
+     * The codec of the step of the catalog with this id, null if there is no
+     * such step.
+     */
+    public static UriCodec byId(final StepCatalog catalog, final String id) {
+        if (catalog == null || id == null) {
+            return null;
+        }
+        return catalog.derive(UriCodec.class, Codecs::new).get(id);
+    }
+
+    /*
+     * 🐱method parse
+     * 🐱param step: Step
+     * 🐱param uri: String
+     *
+     * Sets on the step the values of the path parameters written on the uri.
+     */
+    public void parse(final Step step, final String uri) {
+        if (path.length == 0) {
+            return;
+        }
+
+        final var stepParameters = step.getParameters();
+        var value = uri.substring(uri.indexOf(':') + 1);
+        var end = value.length();
+        if (isPrefixed(step)) {
+            value = step.getName() + ":" + value;
+            end = value.length();
+        } else if (value.indexOf('?') > -1) {
+            end = value.indexOf('?');
+        }
+
+        //To split, we will have to consider the path separator of the next path param, not of the current one
+        var start = 0;
+        for (int i = 0; i < path.length; i++) {
+            final var separator = parameters[path[i]].getPathSeparator();
+            if (i > 0) {
+                var next = value.indexOf(separator, start);
+                if (next < 0 || next + separator.length() > end) {
+                    //If there is no path separator in the string, then everything to the end is this one
+                    next = end;
+                }
+                set(stepParameters.get(path[i - 1]), value.substring(start, next));
+                start = next;
+            }
+            //We remove the path separator from the beginning of this path parameter
+            //The if is here just in case it is malformed
+            if (end - start >= separator.length()) {
+                start += separator.length();
+            }
+        }
+
+        //Last path parameter here!
+        if (start < end) {
+            set(stepParameters.get(path[path.length - 1]), value.substring(start, end));
+        }
+    }
+
+    private static void set(final Parameter<?> parameter, final String value) {
+        parameter.setValue(parameter.convertToType(value));
+    }
+
+    /*
+     * 🐱method parameter: Parameter
+     * 🐱param step: Step
+     * 🐱param id: String
+     *
+     * The parameter of the step with this id, no matter the case.
+     */
+    public Parameter parameter(final Step step, final String id) {
+        final var position = positions.get(id);
+        return position != null ? step.getParameters().get(position) : null;
+    }
+
+    /*
+     * 🐱method build: HashMap
+     * 🐱param step: Step
+     * 🐱param uri: StringBuilder
+     *
+     * Appends the path of the step to the uri and returns the rest of the
+     * parameters with a value worth writing. Only the values are taken from
+     * the step, everything else comes from the catalog.
+     */
+    public HashMap<String, Object> build(final Step step, final StringBuilder uri) {
+        final var params = new HashMap<String, Object>();
+        if (step.getParameters() == null) {
+            return params;
+        }
+        final var values = new Object[parameters.length];
+        final var prefixed = isPrefixed(step);
+        for (var parameter : step.getParameters()) {
+            final var position = exact.get(parameter.getId());
+            if (position == null) {
+                continue;
+            }
+            values[position] = parameter.getValue();
+            if (prefixed && parameter.isPath() && parameter.getPathOrder() == 0
+                    && String.valueOf(parameter.getValue())
+                            .regionMatches(true, 0, step.getName(), 0, step.getName().length())) {
+                values[position] = String.valueOf(parameter.getValue()).substring(step.getName().length() + 1);
+            }
+        }
+
+        for (var position : order) {
+            final var p = parameters[position];
+            var value = values[exact.get(p.getId())];
+            if (p.isPath()) {
+                if (p.getPathOrder() == 0) {
+                    uri.append(":");
+                }
+                uri.append(p.getPathSeparator());
+                //Look for the right value
+                value = value != null ? value : p.getDefaultValue();
+                //If it is null, don't add it
+                if (value != null) {
+                    uri.append(value);
+                }
+            } else if (value != null && !p.getId().equalsIgnoreCase(STEP_ID)) {
+                final var typedValue = p.convertToType(value);
+                if (typedValue != null && !typedValue.equals(p.getDefaultValue())) {
+                    params.put(p.getId(), typedValue);
+                } else if (typedValue == null) {
+                    params.put(p.getId(), value);
+                }
+            }
+        }
+        return params;
+    }
+
+    //Whether the parameters of the step are the ones this codec was made for
+    private boolean fits(final Step step) {
+        final var stepParameters = step.getParameters();
+        if (stepParameters == null || stepParameters.size() != ids.length) {
+            return false;
+        }
+        for (int i = 0; i < ids.length; i++) {
+            final var p = stepParameters.get(i);
+            if (p == null ? ids[i] != null : !p.getId().equals(ids[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //Camel component names are case insensitive
+    private static boolean isPrefixed(final Step step) {
+        return step.getName() != null && PREFIXED.contains(step.getName().toLowerCase(Locale.ROOT));
+    }
+
+    /*
+     * The codecs of all the steps of a generation of the catalog.
+     */
+    private static final class Codecs {
+
+        private final Map<String, UriCodec> byId = new ConcurrentHashMap<>();
+
+        Codecs(final MetadataCatalog<Step> catalog) {
+            for (var step : catalog.getAll()) {
+                if (step.getParameters() == null || step.getParameters().isEmpty()) {
+                    continue;
+                }
+                try {
+                    byId.putIfAbsent(step.getId(), new UriCodec(step.getParameters()));
+                } catch (Exception e) {
+                    LOG.debug("Can't prepare the uri of " + step.getId() + ": " + e.getMessage());
+                }
+            }
+        }
+
+        UriCodec get(final String id) {
+            return byId.get(id);
+        }
+    }
+}
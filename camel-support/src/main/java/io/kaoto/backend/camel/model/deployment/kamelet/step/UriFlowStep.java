@@ -108,59 +108,7 @@ public class UriFlowStep implements FlowStep {
             connectorName = this.getUri().substring(0, this.getUri().indexOf(':'));
         }
 
-        var candidates = catalog.getReadOnlyCatalog().searchByName(connectorName).stream();
-
-        //Make sure we do the smartest pick: don't put an end step at the beginning or a start at the end
-        //unless there is no other option, sure, then whatever the user is doing
-        if (start) {
-            candidates = candidates.sorted((step, step2) -> {
-                var type = Step.Type.valueOf(step.getType());
-                var type2 = Step.Type.valueOf(step2.getType());
-                return type.compareTo(type2);
-            });
-        } else {
-            candidates = candidates.sorted((step, step2) -> {
-                //EIPs shouldn't go through this function
-                if (step.getKind().startsWith("EIP")) {
-                    return 3;
-                }
-                if (step2.getKind().startsWith("EIP")) {
-                    return -3;
-                }
-
-                var type = Step.Type.valueOf(step.getType());
-                var type2 = Step.Type.valueOf(step2.getType());
-                if (type.equals(type2)) {
-                    return 0;
-                }
-
-                if (!end) {
-                    if (type == Step.Type.MIDDLE) {
-                        return -1;
-                    }
-                    if (type2 == Step.Type.MIDDLE) {
-                        return 1;
-                    }
-                } else {
-                    if (type == Step.Type.END) {
-                        return -2;
-                    }
-                    if (type2 == Step.Type.END) {
-                        return 2;
-                    }
-                }
-
-                if (type == Step.Type.START) {
-                    return -2;
-                }
-                if (type2 == Step.Type.START) {
-                    return 2;
-                }
-                return 0;
-            });
-        }
-
-        Optional<Step> res = candidates.findFirst();
+        Optional<Step> res = Optional.ofNullable(StepResolver.of(catalog).connector(connectorName, start, end));
 
         if (res.isPresent() && this.getUri() != null) {
             kameletStepParserService.setValuesOnParameters(res.get(), this.getUri());
@@ -511,7 +511,7 @@ public class Rest extends From {
     public Step getStep(KameletStepParserService ksps, Boolean start, Boolean end) {
         StepCatalog catalog = ksps.getCatalog();
 
-        var rest = catalog.getReadOnlyCatalog().searchByID(CAMEL_REST_DSL);
+        var rest = catalog.getReadOnlyCatalog().copyByID(CAMEL_REST_DSL);
         if (rest == null) {
             log.error("No rest component in the catalog!");
             return null;
@@ -576,7 +576,7 @@ public class Rest extends From {
                                         List<HttpVerb> httpVerbList, String httpVerb) {
         Branch b = new Branch();
         b.setIdentifier(httpVerb);
-        var step = catalog.getReadOnlyCatalog().searchByID("camel-rest-verb-" + httpVerb);
+        var step = catalog.getReadOnlyCatalog().copyByID("camel-rest-verb-" + httpVerb);
         step.setBranches(new ArrayList<>());
         for (HttpVerb endpoint : httpVerbList) {
             step.getBranches().add(createBranchConsumes(catalog, ksps, endpoint));
@@ -589,7 +589,7 @@ public class Rest extends From {
                                         HttpVerb endpoint) {
         Branch b = new Branch();
         b.setIdentifier(endpoint.getPath() + " " + endpoint.getConsumes());
-        var step = catalog.getReadOnlyCatalog().searchByID(Rest.CAMEL_REST_CONSUMES);
+        var step = catalog.getReadOnlyCatalog().copyByID(Rest.CAMEL_REST_CONSUMES);
         if (step != null) {
             b.getSteps().add(step);
             for (var param : step.getParameters()) {
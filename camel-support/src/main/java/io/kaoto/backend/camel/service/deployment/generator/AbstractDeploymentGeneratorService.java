@@ -1,21 +1,18 @@
 package io.kaoto.backend.camel.service.deployment.generator;
 
 import io.fabric8.kubernetes.api.model.Pod;
-import io.fabric8.kubernetes.client.KubernetesClient;
+import io.kaoto.backend.api.service.deployment.generator.ClusterResources;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
 
 public abstract class AbstractDeploymentGeneratorService implements DeploymentGeneratorService {
 
 
     @Override
-    public Pod getPod(final String namespace, final String name, final KubernetesClient kubernetesClient) {
+    public Pod getPod(final String namespace, final String name, final ClusterResources resources) {
 
-        for (var d : getResources(namespace, kubernetesClient)) {
+        for (var d : getResources(namespace, resources)) {
             if (d.getName().equalsIgnoreCase(name)) {
-                var pods = kubernetesClient.pods()
-                        .inNamespace(namespace)
-                        .withLabel("camel.apache.org/integration=" + d.getName())
-                        .list().getItems();
+                var pods = resources.pods(namespace, d.getName());
 
                 for (var pod : pods) {
                     if (pod.getStatus() != null
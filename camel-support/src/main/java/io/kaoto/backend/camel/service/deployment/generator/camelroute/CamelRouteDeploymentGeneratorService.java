@@ -1,5 +1,7 @@
 package io.kaoto.backend.camel.service.deployment.generator.camelroute;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -11,8 +13,8 @@ import java.util.stream.Stream;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.CustomResource;
-import io.fabric8.kubernetes.client.KubernetesClient;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.api.service.deployment.generator.ClusterResources;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.camel.KamelHelper;
@@ -40,18 +42,21 @@ public class CamelRouteDeploymentGeneratorService implements DeploymentGenerator
     public String parse(final List<Step> steps,
                         final Map<String, Object> metadata,
                         final List<Parameter> parameters) {
-        final var camelRoute = new CamelRoute(
-                steps != null ? new ArrayList<>(steps) : List.of(),
-                metadata != null ? new LinkedHashMap<>(metadata) : Map.of(),
-                catalog);
         try {
-            return KamelHelper.YAML_MAPPER.writeValueAsString(camelRoute);
+            return KamelHelper.YAML_MAPPER.writeValueAsString(route(steps, metadata));
         } catch (JsonProcessingException e) {
             LOG.debug("Couldn't parse this camel route. ", e);
             return null;
         }
     }
 
+    private CamelRoute route(final List<Step> steps, final Map<String, Object> metadata) {
+        return new CamelRoute(
+                steps != null ? new ArrayList<>(steps) : List.of(),
+                metadata != null ? new LinkedHashMap<>(metadata) : Map.of(),
+                catalog);
+    }
+
     @Override
     public String parse(List<StepParserService.ParseResult<Step>> flows) {
         StringBuilder sb = new StringBuilder();
@@ -60,6 +65,15 @@ public class CamelRouteDeploymentGeneratorService implements DeploymentGenerator
         return sb.toString();
     }
 
+    @Override
+    public void write(final List<StepParserService.ParseResult<Step>> flows, final OutputStream output)
+            throws IOException {
+        //Each flow is its own route, so only the one being written is kept in memory
+        for (var flow : flows) {
+            KamelHelper.YAML_WRITER.writeValue(output, route(flow.getSteps(), flow.getMetadata()));
+        }
+    }
+
     @Override
     public CustomResource parse(final String input) {
         //We are not handling deployments here
@@ -79,13 +93,13 @@ public class CamelRouteDeploymentGeneratorService implements DeploymentGenerator
     }
 
     @Override
-    public Collection<? extends Deployment> getResources(final String namespace, final KubernetesClient kclient) {
+    public Collection<? extends Deployment> getResources(final String namespace, final ClusterResources resources) {
         //We are not handling deployments here
         return Collections.emptyList();
     }
 
     @Override
-    public Pod getPod(final String namespace, final String name, final KubernetesClient kubernetesClient) {
+    public Pod getPod(final String namespace, final String name, final ClusterResources resources) {
         //We are not handling deployments here
         return null;
     }
@@ -1,5 +1,7 @@
 package io.kaoto.backend.camel.service.deployment.generator.camelroute;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -12,8 +14,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import org.jboss.logging.Logger;
 
 import io.fabric8.kubernetes.client.CustomResource;
-import io.fabric8.kubernetes.client.KubernetesClient;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.api.service.deployment.generator.ClusterResources;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.camel.KamelHelper;
@@ -75,6 +77,21 @@ public class IntegrationDeploymentGeneratorService extends AbstractDeploymentGen
 
     @Override
     public String parse(List<StepParserService.ParseResult<Step>> flows) {
+        try {
+            return KamelHelper.YAML_MAPPER.writeValueAsString(integration(flows));
+        } catch (JsonProcessingException e) {
+            LOG.debug("Couldn't write this integration. ", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void write(final List<StepParserService.ParseResult<Step>> flows, final OutputStream output)
+            throws IOException {
+        KamelHelper.YAML_WRITER.writeValue(output, integration(flows));
+    }
+
+    private Integration integration(final List<StepParserService.ParseResult<Step>> flows) {
         List<IntegrationFlow> parsedList = new ArrayList<>();
         Map<String, Object> metadata = null;
         for (var f : flows) {
@@ -89,15 +106,10 @@ public class IntegrationDeploymentGeneratorService extends AbstractDeploymentGen
             }
         }
 
-        try {
-            return KamelHelper.YAML_MAPPER.writeValueAsString(new Integration(
-                    parsedList,
-                    metadata != null ? new LinkedHashMap<>(metadata) : Map.of(),
-                    catalog));
-        } catch (JsonProcessingException e) {
-            LOG.debug("Couldn't write this integration. ", e);
-            return null;
-        }
+        return new Integration(
+                parsedList,
+                metadata != null ? new LinkedHashMap<>(metadata) : Map.of(),
+                catalog);
     }
 
     @Override
@@ -139,12 +151,11 @@ public class IntegrationDeploymentGeneratorService extends AbstractDeploymentGen
     }
 
     @Override
-    public Collection<? extends Deployment> getResources(final String namespace, final KubernetesClient kclient) {
+    public Collection<? extends Deployment> getResources(final String namespace, final ClusterResources resources) {
         List<Deployment> res = new ArrayList<>();
         try {
             String createdLabel = "camel.apache.org/created.by.kind";
-            final var resources = kclient.resources(Integration.class).inNamespace(namespace).list();
-            for (CustomResource customResource : resources.getItems()) {
+            for (CustomResource customResource : resources.list(Integration.class, namespace)) {
                 if (customResource.getMetadata() == null
                         || customResource.getMetadata().getLabels() == null
                         || !customResource.getMetadata().getLabels().containsKey(createdLabel)) {
@@ -16,7 +16,7 @@ import org.jboss.logging.Logger;
 
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.client.CustomResource;
-import io.fabric8.kubernetes.client.KubernetesClient;
+import io.kaoto.backend.api.service.deployment.generator.ClusterResources;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.camel.KamelHelper;
@@ -43,7 +43,6 @@ public class KameletBindingDeploymentGeneratorService extends AbstractDeployment
     private static final List<String> KINDS = Arrays.asList(KAMELET, KNATIVE);
     private static final boolean IGNORE_CAMEL_COMPONENTS = true;
 
-    @Inject
     private KameletBindingStepParserService stepParserService;
 
     private static final List<Class<? extends CustomResource>> SUPPORTED_RESOURCES = List.of(KameletBinding.class);
@@ -238,11 +237,10 @@ public class KameletBindingDeploymentGeneratorService extends AbstractDeployment
     }
 
     @Override
-    public Collection<? extends Deployment> getResources(final String namespace, final KubernetesClient kclient) {
+    public Collection<? extends Deployment> getResources(final String namespace, final ClusterResources resources) {
         List<Deployment> res = new ArrayList<>();
         try {
-            final var resources = kclient.resources(KameletBinding.class).inNamespace(namespace).list();
-            for (CustomResource customResource : resources.getItems()) {
+            for (CustomResource customResource : resources.list(KameletBinding.class, namespace)) {
                 res.add(new Deployment(customResource, getStatus(customResource)));
 
                 if (Span.current() != null) {
@@ -261,4 +259,9 @@ public class KameletBindingDeploymentGeneratorService extends AbstractDeployment
     public Stream<Step> filterCatalog(Step previousStep, Step followingStep, Stream<Step> steps) {
         return steps;
     }
+
+    @Inject
+    public void setStepParserService(final KameletBindingStepParserService stepParserService) {
+        this.stepParserService = stepParserService;
+    }
 }
@@ -12,8 +12,8 @@ import org.jboss.logging.Logger;
 
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.CustomResource;
-import io.fabric8.kubernetes.client.KubernetesClient;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.api.service.deployment.generator.ClusterResources;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.camel.KamelHelper;
@@ -112,11 +112,10 @@ public class KameletDeploymentGeneratorService implements DeploymentGeneratorSer
     }
 
     @Override
-    public Collection<? extends Deployment> getResources(final String namespace, final KubernetesClient kclient) {
+    public Collection<? extends Deployment> getResources(final String namespace, final ClusterResources resources) {
         List<Deployment> res = new ArrayList<>();
         try {
-            final var resources = kclient.resources(Kamelet.class).inNamespace(namespace).list();
-            for (CustomResource customResource : resources.getItems()) {
+            for (CustomResource customResource : resources.list(Kamelet.class, namespace)) {
                 res.add(new Deployment(customResource, getStatus(customResource)));
 
                 if (Span.current() != null) {
@@ -131,7 +130,7 @@ public class KameletDeploymentGeneratorService implements DeploymentGeneratorSer
     }
 
     @Override
-    public Pod getPod(final String namespace, final String name, final KubernetesClient kubernetesClient) {
+    public Pod getPod(final String namespace, final String name, final ClusterResources resources) {
         //There is no pod associated to Kamelets
         return null;
     }
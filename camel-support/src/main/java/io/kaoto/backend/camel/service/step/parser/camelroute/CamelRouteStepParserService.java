@@ -1,16 +1,25 @@
 package io.kaoto.backend.camel.service.step.parser.camelroute;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
 
 import org.jboss.logging.Logger;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 
+import io.kaoto.backend.api.service.step.parser.SourceSniffer;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.camel.KamelHelper;
 import io.kaoto.backend.camel.model.deployment.camelroute.CamelRoute;
@@ -28,6 +37,8 @@ import jakarta.inject.Inject;
 @ApplicationScoped
 public class CamelRouteStepParserService implements StepParserService<Step> {
     private static final Logger LOG = Logger.getLogger(CamelRouteStepParserService.class);
+    private static final Set<String> ROOT_ELEMENTS = Set.of("from", "rest", "beans", "routeConfiguration",
+            "route-configuration", "restConfiguration", "rest-configuration");
 
     private KameletStepParserService ksps;
 
@@ -39,7 +50,12 @@ public class CamelRouteStepParserService implements StepParserService<Step> {
 
     @Override
     public List<ParseResult<Step>> getParsedFlows(final String input) {
-        if (!appliesTo(input)) {
+        return getParsedFlows(SourceSniffer.sniff(input));
+    }
+
+    @Override
+    public List<ParseResult<Step>> getParsedFlows(final SourceSniffer.Sniffed source) {
+        if (!appliesTo(source)) {
             throw new IllegalArgumentException(
                     "Wrong format provided. This is not parseable by us.");
         }
@@ -47,7 +63,10 @@ public class CamelRouteStepParserService implements StepParserService<Step> {
         List<ParseResult<Step>> resultList = new ArrayList<>();
 
         try {
-            CamelRoute route = getCamelRoute(input);
+            //The tree is shared with whoever had this source sniffed
+            CamelRoute route = KamelHelper.YAML_MAPPER.readerFor(CamelRoute.class)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(source.getTree());
             processConfigs(route, resultList);
             processFlows(route, resultList);
             processBeans(route, resultList);
@@ -58,6 +77,93 @@ public class CamelRouteStepParserService implements StepParserService<Step> {
         return resultList;
     }
 
+    /*
+     * Reads the route an element of the root list at a time, on as many yaml
+     * documents as there are. Only the element being read is kept in memory.
+     *
+     * Unlike getParsedFlows on a String, which returns first the
+     * configurations, then the flows and last all the beans together, this
+     * returns each element in the same order it is on the source, and beans
+     * or configurations of different elements are not merged.
+     * The parser is closed once the source ends or fails.
+     */
+    @Override
+    public Iterator<ParseResult<Step>> getParsedFlows(final InputStream input) throws IOException {
+        final JsonParser parser = KamelHelper.YAML_MAPPER.createParser(input);
+        return new Iterator<>() {
+            private final ArrayDeque<ParseResult<Step>> pending = new ArrayDeque<>();
+            private boolean inList;
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    while (pending.isEmpty() && !done) {
+                        final var element = nextElement();
+                        if (element == null) {
+                            close();
+                        } else {
+                            pending.addAll(process(element));
+                        }
+                    }
+                } catch (IllegalArgumentException e) {
+                    close();
+                    throw e;
+                } catch (Exception e) {
+                    close();
+                    throw new IllegalArgumentException("Error trying to parse.", e);
+                }
+                return !pending.isEmpty();
+            }
+
+            private void close() {
+                done = true;
+                try {
+                    parser.close();
+                } catch (IOException e) {
+                    //Nothing else to read anyway
+                }
+            }
+
+            @Override
+            public ParseResult<Step> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return pending.poll();
+            }
+
+            private JsonNode nextElement() throws IOException {
+                JsonToken token;
+                while ((token = parser.nextToken()) != null) {
+                    if (inList && token == JsonToken.END_ARRAY) {
+                        //Next document, if any
+                        inList = false;
+                    } else if (inList) {
+                        return parser.readValueAsTree();
+                    } else if (token == JsonToken.START_ARRAY) {
+                        inList = true;
+                    } else {
+                        throw new IllegalArgumentException("Wrong format provided. This is not parseable by us.");
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    //The route with just this element of the root list
+    private List<ParseResult<Step>> process(final JsonNode element) throws IOException {
+        List<ParseResult<Step>> resultList = new ArrayList<>(1);
+        CamelRoute route = KamelHelper.YAML_MAPPER.readerFor(CamelRoute.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(KamelHelper.YAML_MAPPER.createArrayNode().add(element));
+        processConfigs(route, resultList);
+        processFlows(route, resultList);
+        processBeans(route, resultList);
+        return resultList;
+    }
+
     private void processFlows(CamelRoute route, List<ParseResult<Step>> resultList) {
         var flows = route.getFlows();
         if (flows == null) {
@@ -140,19 +246,59 @@ public class CamelRouteStepParserService implements StepParserService<Step> {
 
     @Override
     public boolean appliesTo(final String input) {
-        return getCamelRoute(input) != null;
+        return appliesTo(SourceSniffer.sniff(input));
     }
 
-    private CamelRoute getCamelRoute(final String input) {
-        try {
-            return KamelHelper.YAML_MAPPER.readerFor(CamelRoute.class)
-                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
-                .readValue(input);
-        } catch (JsonProcessingException e) {
+    /*
+     * A camel route is a list of flows, beans and configurations. Only the
+     * root of each element is looked at, whatever is inside is skipped: the
+     * route is deserialized only when it is parsed.
+     */
+    @Override
+    public boolean appliesTo(final SourceSniffer.Sniffed source) {
+        return source.isSequence() && source.derive(CamelRoute.class, s -> isCamelRoute(s.getSource()));
+    }
+
+    private static boolean isCamelRoute(final String input) {
+        try (JsonParser parser = KamelHelper.YAML_MAPPER.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return false;
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                if (!isRootElement(parser, true)) {
+                    return false;
+                }
+            }
+            return token == JsonToken.END_ARRAY;
+        } catch (IOException e) {
             //We don't care what happened, it is wrongly formatted and that's it
             LOG.trace("Error trying to parse camel route.", e);
         }
-        return null;
+        return false;
+    }
+
+    //Reads the whole element, the parser must be on the start of it
+    private static boolean isRootElement(final JsonParser parser, final boolean unwrap) throws IOException {
+        var supported = false;
+        Boolean route = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final var field = parser.currentName();
+            final var value = parser.nextToken();
+            if (unwrap && "route".equals(field)) {
+                //When there is a route, only what is inside counts
+                if (value == JsonToken.START_OBJECT) {
+                    route = isRootElement(parser, false);
+                } else {
+                    route = false;
+                    parser.skipChildren();
+                }
+            } else {
+                supported = supported || ROOT_ELEMENTS.contains(field);
+                parser.skipChildren();
+            }
+        }
+        return route != null ? route : supported;
     }
 
     @Inject
@@ -1,5 +1,6 @@
 package io.kaoto.backend.camel.service.step.parser.camelroute;
 
+import io.kaoto.backend.api.service.step.parser.SourceSniffer;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.camel.KamelHelper;
 import io.kaoto.backend.camel.model.deployment.camelroute.Integration;
@@ -31,7 +32,12 @@ public class IntegrationStepParserService implements StepParserService<Step> {
 
     @Override
     public ParseResult<Step> deepParse(final String input) {
-        if (!appliesTo(input)) {
+        return deepParse(SourceSniffer.sniff(input));
+    }
+
+    @Override
+    public ParseResult<Step> deepParse(final SourceSniffer.Sniffed source) {
+        if (!appliesTo(source)) {
             throw new IllegalArgumentException(
                     "Wrong format provided. This is not parseable by us.");
         }
@@ -39,7 +45,8 @@ public class IntegrationStepParserService implements StepParserService<Step> {
         ParseResult<Step> res = new ParseResult<>();
         List<Step> steps = new ArrayList<>();
         try {
-            Integration integration = KamelHelper.YAML_MAPPER.readValue(input, Integration.class);
+            Integration integration = KamelHelper.YAML_MAPPER.treeToValue(
+                    source.getTree(), Integration.class);
 
             ksps.processMetadata(res, integration.getMetadata());
             res.setParameters(new ArrayList<>());
@@ -76,7 +83,12 @@ public class IntegrationStepParserService implements StepParserService<Step> {
 
     @Override
     public List<ParseResult<Step>> getParsedFlows(String input) {
-        if (!appliesTo(input)) {
+        return getParsedFlows(SourceSniffer.sniff(input));
+    }
+
+    @Override
+    public List<ParseResult<Step>> getParsedFlows(final SourceSniffer.Sniffed source) {
+        if (!appliesTo(source)) {
             throw new IllegalArgumentException(
                     "Wrong format provided. This is not parseable by us.");
         }
@@ -86,7 +98,8 @@ public class IntegrationStepParserService implements StepParserService<Step> {
         metadata.setParameters(new ArrayList<>());
         answer.add(metadata);
         try {
-            Integration integration = KamelHelper.YAML_MAPPER.readValue(input, Integration.class);
+            Integration integration = KamelHelper.YAML_MAPPER.treeToValue(
+                    source.getTree(), Integration.class);
 
             ksps.processMetadata(metadata, integration.getMetadata());
 
@@ -172,7 +185,12 @@ public class IntegrationStepParserService implements StepParserService<Step> {
 
     @Override
     public boolean appliesTo(final String yaml) {
-       return "Integration".equalsIgnoreCase(KamelHelper.getCRKind(yaml));
+       return appliesTo(SourceSniffer.sniff(yaml));
+    }
+
+    @Override
+    public boolean appliesTo(final SourceSniffer.Sniffed source) {
+        return source.isKind("Integration");
     }
 
     @Inject
@@ -1,5 +1,6 @@
 package io.kaoto.backend.camel.service.step.parser.kamelet;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -16,10 +17,9 @@ import org.apache.camel.v1alpha1.KameletBindingSpec;
 import org.apache.camel.v1alpha1.kameletbindingspec.Steps;
 import org.jboss.logging.Logger;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.api.service.step.parser.SourceSniffer;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.camel.KamelHelper;
 import io.kaoto.backend.camel.model.deployment.kamelet.KameletBinding;
@@ -48,7 +48,12 @@ public class KameletBindingStepParserService implements StepParserService<Step>
 
     @Override
     public ParseResult<Step> deepParse(final String input) {
-        if (!appliesTo(input)) {
+        return deepParse(SourceSniffer.sniff(input));
+    }
+
+    @Override
+    public ParseResult<Step> deepParse(final SourceSniffer.Sniffed source) {
+        if (!appliesTo(source)) {
             throw new IllegalArgumentException("Wrong format provided. This is not parseable by us.");
         }
 
@@ -57,7 +62,8 @@ public class KameletBindingStepParserService implements StepParserService<Step>
         List<Step> steps = new ArrayList<>();
         Map<String, Object> md = new LinkedHashMap<>();
         try {
-            KameletBinding binding = KamelHelper.YAML_MAPPER.readValue(input, KameletBinding.class);
+            KameletBinding binding = KamelHelper.YAML_MAPPER.treeToValue(
+                    source.getTree(), KameletBinding.class);
             processMetadata(md, binding.getMetadata());
             processSpec(steps, binding.getSpec());
 
@@ -76,7 +82,7 @@ public class KameletBindingStepParserService implements StepParserService<Step>
             }
 
 
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             throw new IllegalArgumentException("Wrong format provided. This is not parseable by us.");
         }
 
@@ -87,16 +93,26 @@ public class KameletBindingStepParserService implements StepParserService<Step>
     }
 
     public boolean appliesTo(final String yaml) {
-        return "KameletBinding".equalsIgnoreCase(KamelHelper.getCRKind(yaml));
+        return appliesTo(SourceSniffer.sniff(yaml));
+    }
+
+    @Override
+    public boolean appliesTo(final SourceSniffer.Sniffed source) {
+        return source.isKind("KameletBinding");
     }
 
     @Override
     public List<ParseResult<Step>> getParsedFlows(String input) {
+        return getParsedFlows(SourceSniffer.sniff(input));
+    }
+
+    @Override
+    public List<ParseResult<Step>> getParsedFlows(final SourceSniffer.Sniffed source) {
         ParseResult<Step> parsedMeta = new ParseResult();
         parsedMeta.setParameters(new ArrayList<>());
         parsedMeta.setMetadata(new LinkedHashMap<>());
 
-        var binding = deepParse(input);
+        var binding = deepParse(source);
 
         // move root metadata to a dedicated ParseResult to align with other DSLs
         parsedMeta.getMetadata().put("name", binding.getMetadata().get("name"));
@@ -145,7 +161,8 @@ public class KameletBindingStepParserService implements StepParserService<Step>
                         .sorted(Comparator.comparing(
                                 s -> KameletBindingDSLSpecification.KINDS
                                         .indexOf(((Step) s).getKind().toUpperCase(Locale.ROOT))).reversed())
-                        .findFirst();
+                        .findFirst()
+                        .map(Step::clone);
 
                 if (step.isPresent()) {
                     setValuesOnParameters(step.get(), uri);
@@ -172,7 +189,8 @@ public class KameletBindingStepParserService implements StepParserService<Step>
                 step = candidates
                         .sorted(Comparator.comparing(s ->
                                 KameletBindingDSLSpecification.KINDS.indexOf(s.getKind().toUpperCase(Locale.ROOT))))
-                        .findFirst();
+                        .findFirst()
+                        .map(Step::clone);
 
                 //knative
                 if (step.isPresent()
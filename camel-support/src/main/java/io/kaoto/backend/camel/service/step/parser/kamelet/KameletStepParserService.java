@@ -25,6 +25,7 @@ import io.kaoto.backend.camel.model.deployment.kamelet.KameletSpec;
 import io.kaoto.backend.camel.model.deployment.kamelet.KameletTemplate;
 import io.kaoto.backend.camel.model.deployment.kamelet.step.Filter;
 import io.kaoto.backend.camel.model.deployment.kamelet.step.From;
+import io.kaoto.backend.camel.model.deployment.kamelet.step.UriCodec;
 import io.kaoto.backend.camel.model.deployment.kamelet.step.choice.Choice;
 import io.kaoto.backend.model.parameter.ArrayParameter;
 import io.kaoto.backend.model.parameter.BooleanParameter;
@@ -298,87 +299,18 @@ public class KameletStepParserService implements StepParserService<Step> {
 
 
     public void setValuesOnParameters(final Step step, final String uri) {
-
-        String path = uri.substring(uri.indexOf(':') + 1);
-        if (step.getName().equalsIgnoreCase("http")
-                || step.getName().equalsIgnoreCase("https")) {
-            path = step.getName() + ":" + path;
-        } else if (path.contains("?")) {
-            path = path.substring(0, path.indexOf('?'));
-        }
-        var pathParameters = new ArrayList<Parameter>();
-        pathParameters.addAll(step.getParameters().stream().parallel()
-                .filter(Objects::nonNull).filter(s -> s.isPath()).toList());
-
-        //Let's iterate over the path string to extract the parameters
-        if (!pathParameters.isEmpty()) {
-            //Make sure the order is right
-            Collections.sort(pathParameters);
-
-            Parameter previous = null;
-            List<String> pathParts = new ArrayList<>();
-            for (Parameter p : pathParameters) {
-                //To split, we will have to consider the path separator of the next path param,
-                // not of the current one
-                if (previous != null) {
-                    var endIndex = path.indexOf(p.getPathSeparator());
-                    if (endIndex < 0) {
-                        //If there is no path separator in the string, then everything to the end is this one
-                        endIndex = path.length();
-                    }
-                    pathParts.add(path.substring(0, endIndex));
-                    path = path.substring(endIndex);
-                }
-
-                //We remove the path separator from the beginning of this path parameter
-                //The if is here just in case it is malformed
-                if (path.length() >= p.getPathSeparator().length()) {
-                    path = path.substring(p.getPathSeparator().length());
-                }
-                //prepare for next iteration
-                previous = p;
-            }
-
-            //Last path parameter here!
-            if (path.length() > 0) {
-                pathParts.add(path);
-            }
-
-            int i = 0;
-            for (Parameter p : pathParameters) {
-                if (i >= pathParts.size()) {
-                    break;
-                }
-                if (p.isPath()) {
-                    p.setValue(p.convertToType(pathParts.get(i++)));
-                }
-            }
-
-            //Aaah, someone used the path separator as part of the parameter value. Sneaky.
-            //This should be a string. Please, let it be a string. What else could it be?
-            if (i < pathParts.size() && previous != null) {
-                for (; i < pathParts.size(); i++) {
-                    previous.setValue(previous.getValue().toString()
-                            + previous.getPathSeparator() + previous.convertToType(pathParts.get(i++)));
-                }
-                Pattern pattern = Pattern.compile("[?&]([^=]+)=([^&\\n]+)", Pattern.CASE_INSENSITIVE);
-                Matcher matcher = pattern.matcher(uri);
-
-                while (matcher.find()) {
-                    setValueOnStepProperty(step, matcher.group(1), matcher.group(2));
-                }
-            }
-        }
+        UriCodec.of(catalog, step).parse(step, uri);
     }
 
     public void setValuesOnParameters(final Step step, final Map<String, Object> properties) {
         if (properties != null) {
+            final var codec = UriCodec.of(catalog, step);
             for (Map.Entry<String, Object> c : properties.entrySet()) {
                 if (c.getValue() != null) {
                     if (step.getName().equalsIgnoreCase("kamelet")) {
-                        setValueOnStepProperty(step, c.getKey(), c.getValue(), "kaoto-parameters");
+                        setValueOnStepProperty(codec, step, c.getKey(), c.getValue(), "kaoto-parameters");
                     } else {
-                        setValueOnStepProperty(step, c.getKey(), c.getValue());
+                        setValueOnStepProperty(codec, step, c.getKey(), c.getValue(), null);
                     }
                 }
             }
@@ -389,33 +321,46 @@ public class KameletStepParserService implements StepParserService<Step> {
     public void setValueOnStepProperty(final Step step, final String key, final Object value,
                                        final String extraPropertiesIn) {
         if (value != null) {
-            boolean found = false;
-            for (Parameter p : step.getParameters()) {
-                if (p.getId().equalsIgnoreCase(key)) {
-                    final var typedValue = p.convertToType(value);
-                    if (typedValue != null && !typedValue.equals(p.getDefaultValue())) {
-                        p.setValue(typedValue);
-                    } else if (typedValue == null && value != null) {
-                        //It may be a string with a variable, for example
-                        p.setValue(value);
-                    }
-                    found = true;
-                    break;
+            //Building a codec just for one property costs more than looking for it
+            setValueOnStepProperty(UriCodec.ofCatalog(catalog, step), step, key, value, extraPropertiesIn);
+        }
+    }
+
+    private void setValueOnStepProperty(final UriCodec codec, final Step step, final String key, final Object value,
+                                        final String extraPropertiesIn) {
+        final Parameter p = parameter(codec, step, key);
+        if (p != null) {
+            final var typedValue = p.convertToType(value);
+            if (typedValue != null && !typedValue.equals(p.getDefaultValue())) {
+                p.setValue(typedValue);
+            } else if (typedValue == null) {
+                //It may be a string with a variable, for example
+                p.setValue(value);
+            }
+        } else if (extraPropertiesIn != null) {
+            final Parameter extra = parameter(codec, step, extraPropertiesIn);
+            if (extra != null) {
+                if (extra.getValue() == null) {
+                    extra.setValue(new LinkedHashMap<String, Object>());
                 }
+                ((Map<String, Object>) extra.getValue()).put(key, value);
             }
+        }
+    }
 
-            if (extraPropertiesIn != null && !found) {
-                for (Parameter p : step.getParameters()) {
-                    if (p.getId().equalsIgnoreCase(extraPropertiesIn)) {
-                        if (p.getValue() == null) {
-                            p.setValue(new LinkedHashMap<String, Object>());
-                        }
-                        ((Map<String, Object>) p.getValue()).put(key, value);
-                        break;
-                    }
+    //The parameter with this id no matter the case, from the codec if there is one
+    private static Parameter parameter(final UriCodec codec, final Step step, final String id) {
+        if (codec != null) {
+            return codec.parameter(step, id);
+        }
+        if (step.getParameters() != null) {
+            for (Parameter p : step.getParameters()) {
+                if (p != null && p.getId().equalsIgnoreCase(id)) {
+                    return p;
                 }
             }
         }
+        return null;
     }
 
     public void setValueOnStepProperty(final Step step, final String key, final Object value) {
@@ -0,0 +1,78 @@
+package io.kaoto.backend.api.service.step.parser;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SourceSnifferTest {
+
+    private static final String BINDING = """
+            apiVersion: camel.apache.org/v1alpha1
+            kind: KameletBinding
+            metadata:
+              name: example
+              labels:
+                kind: not-this-one
+            spec:
+              source:
+                ref:
+                  kind: Kamelet
+                  name: timer-source
+            """;
+
+    @Test
+    void sniffRootKind() throws Exception {
+        final var sniffed = SourceSniffer.sniff(BINDING);
+        Assertions.assertTrue(sniffed.isValid());
+        Assertions.assertFalse(sniffed.isSequence());
+        Assertions.assertEquals("camel.apache.org/v1alpha1", sniffed.getApiVersion());
+        Assertions.assertTrue(sniffed.isKind("kameletbinding"));
+        Assertions.assertEquals("timer-source",
+                sniffed.getTree().path("spec").path("source").path("ref").path("name").asText());
+
+        //The tree is parsed once per sniff, and nothing is kept between sniffs
+        Assertions.assertSame(sniffed.getTree(), sniffed.getTree());
+        Assertions.assertNotSame(sniffed, SourceSniffer.sniff(BINDING));
+    }
+
+    @Test
+    void kindAfterNestedFields() {
+        final var yaml = """
+                metadata:
+                  kind: nested
+                  annotations:
+                    kind: nested-too
+                spec:
+                  - kind: in-a-list
+                kind: Integration
+                """;
+        Assertions.assertEquals("Integration", SourceSniffer.kindOf(yaml));
+        Assertions.assertTrue(SourceSniffer.sniff(yaml).isKind("Integration"));
+    }
+
+    @Test
+    void notCustomResources() {
+        final var route = SourceSniffer.sniff("""
+                - from:
+                    uri: timer:tick
+                """);
+        Assertions.assertTrue(route.isValid());
+        Assertions.assertTrue(route.isSequence());
+        Assertions.assertNull(route.getKind());
+
+        Assertions.assertNull(SourceSniffer.kindOf("metadata:\n  name: no-kind\n"));
+        Assertions.assertNull(SourceSniffer.kindOf(null));
+        Assertions.assertFalse(SourceSniffer.sniff("{ this is: [not yaml").isValid());
+        Assertions.assertFalse(SourceSniffer.sniff(null).isKind("Integration"));
+    }
+
+    @Test
+    void deriveOnlyOnce() {
+        final var sniffed = SourceSniffer.sniff("- from:\n    uri: timer:derived\n");
+        final var calls = new AtomicInteger();
+        Assertions.assertEquals(Boolean.TRUE, sniffed.derive("route", s -> calls.incrementAndGet() > 0));
+        Assertions.assertEquals(Boolean.TRUE, sniffed.derive("route", s -> calls.incrementAndGet() < 0));
+        Assertions.assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,43 @@
+package io.kaoto.backend.camel.model.deployment.kamelet.step;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.kaoto.backend.camel.KamelHelper;
+import io.kaoto.backend.camel.model.deployment.kamelet.FlowStep;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class FlowStepDeserializerTest {
+
+    @Test
+    void dispatchByRootField() throws Exception {
+        final var yaml = """
+                - to:
+                    uri: log:info
+                - set-body:
+                    simple: hello
+                - choice:
+                    when:
+                      - simple: ${body} == 'hello'
+                        steps:
+                          - to: log:when
+                    otherwise:
+                      steps:
+                        - to: log:otherwise
+                - not-a-step: true
+                - just a string
+                """;
+
+        List<FlowStep> steps = KamelHelper.YAML_MAPPER.readValue(yaml, new TypeReference<>() { });
+
+        Assertions.assertEquals(5, steps.size());
+        Assertions.assertInstanceOf(ToFlowStep.class, steps.get(0));
+        Assertions.assertInstanceOf(SetBodyFlowStep.class, steps.get(1));
+        final var choice = Assertions.assertInstanceOf(ChoiceFlowStep.class, steps.get(2));
+        Assertions.assertEquals(1, choice.getChoice().getChoice().size());
+        Assertions.assertNotNull(choice.getChoice().getOtherwise());
+        Assertions.assertInstanceOf(UriFlowStep.class, steps.get(3));
+        Assertions.assertInstanceOf(UriFlowStep.class, steps.get(4));
+    }
+}
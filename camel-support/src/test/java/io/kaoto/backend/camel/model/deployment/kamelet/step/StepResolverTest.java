@@ -0,0 +1,82 @@
+package io.kaoto.backend.camel.model.deployment.kamelet.step;
+
+import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.parser.EmptyParseCatalog;
+import io.kaoto.backend.model.step.Step;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StepResolverTest {
+
+    private StepCatalog catalog;
+
+    @BeforeEach
+    void warmUp() {
+        final var steps = List.of(
+                step("kafka-sink", "kafka", "Camel-Connector", Step.Type.END),
+                step("kafka-action", "kafka", "Camel-Connector", Step.Type.MIDDLE),
+                step("kafka-source", "kafka", "Camel-Connector", Step.Type.START),
+                step("log-eip", "log", "EIP", Step.Type.MIDDLE),
+                step("log-sink", "log", "Camel-Connector", Step.Type.END),
+                step("timer-source", "timer", "Camel-Connector", Step.Type.START));
+        catalog = new StepCatalog() {
+            @Override
+            protected List<ParseCatalog<Step>> loadParsers() {
+                return List.of(new EmptyParseCatalog<>() {
+                    @Override
+                    public CompletableFuture<List<Step>> parse() {
+                        return CompletableFuture.completedFuture(steps);
+                    }
+                });
+            }
+        };
+        catalog.warmUpCatalog();
+        catalog.waitForWarmUp().join();
+    }
+
+    @Test
+    void bestFitForThePosition() {
+        final var resolver = StepResolver.of(catalog);
+        assertThat(resolver.connector("kafka", true, false).getId()).isEqualTo("kafka-source");
+        assertThat(resolver.connector("kafka", false, false).getId()).isEqualTo("kafka-action");
+        assertThat(resolver.connector("kafka", false, true).getId()).isEqualTo("kafka-sink");
+        assertThat(resolver.connector("KAFKA", false, true).getId()).isEqualTo("kafka-sink");
+
+        //Whatever there is, if there is nothing better
+        assertThat(resolver.connector("timer", false, true).getId()).isEqualTo("timer-source");
+        assertThat(resolver.connector("not-in-the-catalog", false, false)).isNull();
+        assertThat(resolver.connector(null, false, false)).isNull();
+
+        //EIPs are not connectors, and connectors are not EIPs
+        assertThat(resolver.connector("log", false, false).getId()).isEqualTo("log-sink");
+        assertThat(resolver.eip("log").getId()).isEqualTo("log-eip");
+        assertThat(resolver.eip("kafka")).isNull();
+    }
+
+    @Test
+    void copiesOnlyTheChosenStep() {
+        final var resolver = StepResolver.of(catalog);
+        assertThat(StepResolver.of(catalog)).isSameAs(resolver);
+
+        final var step = resolver.connector("kafka", true, false);
+        step.setDescription("modified");
+        assertThat(step).isNotSameAs(catalog.getReadOnlyCatalog().searchByID("kafka-source"));
+        assertThat(catalog.getReadOnlyCatalog().searchByID("kafka-source").getDescription()).isNull();
+        assertThat(resolver.connector("kafka", true, false).getDescription()).isNull();
+    }
+
+    private static Step step(final String id, final String name, final String kind, final Step.Type type) {
+        final var step = new Step();
+        step.setId(id);
+        step.setName(name);
+        step.setKind(kind);
+        step.setType(type.name());
+        return step;
+    }
+}
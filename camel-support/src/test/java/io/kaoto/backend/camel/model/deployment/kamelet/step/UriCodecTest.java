@@ -0,0 +1,157 @@
+package io.kaoto.backend.camel.model.deployment.kamelet.step;
+
+import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.parser.EmptyParseCatalog;
+import io.kaoto.backend.model.parameter.IntegerParameter;
+import io.kaoto.backend.model.parameter.Parameter;
+import io.kaoto.backend.model.parameter.StringParameter;
+import io.kaoto.backend.model.step.Step;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UriCodecTest {
+
+    private StepCatalog catalog;
+
+    @BeforeEach
+    void warmUp() {
+        final var steps = List.of(
+                step("sftp-action", "sftp",
+                        path("host", 0, "//"), path("port", 1, ":"), path("directoryName", 2, "/"),
+                        parameter("delay", "500")),
+                step("http-action", "http", path("httpUri", 0, ""), parameter("httpMethod", null)),
+                step("timer-source", "timer", path("timerName", 0, ""), period()));
+        catalog = new StepCatalog() {
+            @Override
+            protected List<ParseCatalog<Step>> loadParsers() {
+                return List.of(new EmptyParseCatalog<>() {
+                    @Override
+                    public CompletableFuture<List<Step>> parse() {
+                        return CompletableFuture.completedFuture(steps);
+                    }
+                });
+            }
+        };
+        catalog.warmUpCatalog();
+        catalog.waitForWarmUp().join();
+    }
+
+    @Test
+    void roundTrip() {
+        final var sftp = catalog.getReadOnlyCatalog().searchByID("sftp-action");
+        final var codec = UriCodec.of(catalog, sftp);
+        assertThat(UriCodec.of(catalog, sftp)).isSameAs(codec);
+
+        codec.parse(sftp, "sftp://localhost:22/in/box?delay=1000");
+        assertThat(value(sftp, "host")).isEqualTo("localhost");
+        assertThat(value(sftp, "port")).isEqualTo("22");
+        assertThat(value(sftp, "directoryName")).isEqualTo("in/box");
+        assertThat(codec.parameter(sftp, "DELAY")).isSameAs(sftp.getParameters().get(3));
+        codec.parameter(sftp, "delay").setValue("1000");
+
+        final var uri = new StringBuilder(sftp.getName());
+        assertThat(codec.build(sftp, uri)).containsOnlyKeys("delay").containsEntry("delay", "1000");
+        assertThat(uri).hasToString("sftp://localhost:22/in/box");
+    }
+
+    @Test
+    void httpKeepsItsName() {
+        final var http = catalog.getReadOnlyCatalog().searchByID("http-action");
+        final var codec = UriCodec.of(catalog, http);
+        codec.parse(http, "http://example.com/path?query=true");
+        assertThat(value(http, "httpUri")).isEqualTo("http://example.com/path?query=true");
+
+        final var uri = new StringBuilder(http.getName());
+        assertThat(codec.build(http, uri)).isEmpty();
+        assertThat(uri).hasToString("http://example.com/path?query=true");
+    }
+
+    @Test
+    void httpInUpperCase() {
+        final var http = catalog.getReadOnlyCatalog().searchByID("http-action");
+        http.setName("HTTP");
+        final var codec = UriCodec.of(catalog, http);
+        codec.parse(http, "HTTP://example.com/path?query=true");
+        assertThat(value(http, "httpUri")).isEqualTo("HTTP://example.com/path?query=true");
+
+        final var uri = new StringBuilder(http.getName());
+        assertThat(codec.build(http, uri)).isEmpty();
+        assertThat(uri).hasToString("HTTP://example.com/path?query=true");
+    }
+
+    @Test
+    void onlyValuesComeFromTheStep() {
+        //Whatever the frontend sends, the rest of the attributes are taken from the catalog
+        final var timer = new Step();
+        timer.setId("timer-source");
+        timer.setName("timer");
+        final var name = path("timerName", 5, "#");
+        name.setValue("tick");
+        final var period = parameter("period", null);
+        period.setValue("2000");
+        final var unknown = parameter("unknown", null);
+        unknown.setValue("ignored");
+        timer.setParameters(new ArrayList<>(List.of(unknown, period, name)));
+
+        final var uri = new StringBuilder(timer.getName());
+        final var params = UriCodec.byId(catalog, "timer-source").build(timer, uri);
+        assertThat(uri).hasToString("timer:tick");
+        assertThat(params).containsOnlyKeys("period").containsEntry("period", 2000);
+
+        assertThat(UriCodec.byId(catalog, "not-in-the-catalog")).isNull();
+    }
+
+    @Test
+    void stepsNotInTheCatalog() {
+        final var step = step("custom", "custom", path("first", 0, ""), path("second", 1, "/"));
+        UriCodec.of(catalog, step).parse(step, "custom:one/two/three");
+        assertThat(value(step, "first")).isEqualTo("one");
+        assertThat(value(step, "second")).isEqualTo("two/three");
+        assertThat(UriCodec.ofCatalog(catalog, step)).isNull();
+
+        //Same id as in the catalog, different parameters
+        final var timer = step("timer-source", "timer", path("other", 0, ""));
+        UriCodec.of(catalog, timer).parse(timer, "timer:tock?period=5");
+        assertThat(value(timer, "other")).isEqualTo("tock");
+        assertThat(UriCodec.ofCatalog(catalog, timer)).isNull();
+        assertThat(UriCodec.ofCatalog(catalog, catalog.getReadOnlyCatalog().searchByID("timer-source")))
+                .isSameAs(UriCodec.byId(catalog, "timer-source"));
+    }
+
+    private static Object value(final Step step, final String id) {
+        return step.getParameters().stream().filter(p -> p.getId().equals(id)).findFirst().orElseThrow().getValue();
+    }
+
+    private static StringParameter path(final String id, final int order, final String separator) {
+        final var parameter = parameter(id, null);
+        parameter.setPath(true);
+        parameter.setPathOrder(order);
+        parameter.setPathSeparator(separator);
+        return parameter;
+    }
+
+    private static StringParameter parameter(final String id, final String defaultValue) {
+        return new StringParameter(id, id, id, true, null, null, defaultValue, null);
+    }
+
+    private static Parameter<?> period() {
+        return new IntegerParameter("period", "period", "period", true, null, null, 1000);
+    }
+
+    private static Step step(final String id, final String name, final Parameter<?>... parameters) {
+        final var step = new Step();
+        step.setId(id);
+        step.setName(name);
+        step.setKind("Camel-Connector");
+        step.setType(Step.Type.MIDDLE.name());
+        step.setParameters(new ArrayList<>(List.of(parameters)));
+        return step;
+    }
+}
@@ -69,7 +69,7 @@ class KameletBindingDeploymentGeneratorServiceTest {
                 service.getDeploymentGeneratorService().parse(steps, md, Collections.emptyList()));
 
         Step step = catalog.getReadOnlyCatalog().searchByName("knative").stream()
-                .filter(s -> s.getKind().equalsIgnoreCase("Knative")).findAny().get();
+                .filter(s -> s.getKind().equalsIgnoreCase("Knative")).findAny().map(Step::clone).get();
         for (Parameter p : step.getParameters()) {
             if (p.getTitle().equalsIgnoreCase("Type")) {
                 p.setValue("example");
@@ -0,0 +1,64 @@
+package io.kaoto.backend.camel.service.dsl;
+
+import io.kaoto.backend.api.service.dsl.DSLCompatibility;
+import io.kaoto.backend.api.service.dsl.DSLSpecification;
+import io.kaoto.backend.camel.service.dsl.camelroute.CamelRouteDSLSpecification;
+import io.kaoto.backend.camel.service.dsl.camelroute.IntegrationDSLSpecification;
+import io.kaoto.backend.camel.service.dsl.kamelet.KameletBindingDSLSpecification;
+import io.kaoto.backend.camel.service.dsl.kamelet.KameletDSLSpecification;
+import io.kaoto.backend.model.step.Step;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DSLCompatibilityTest {
+
+    private final List<DSLSpecification> dsls = List.of(new KameletBindingDSLSpecification(),
+            new KameletDSLSpecification(), new IntegrationDSLSpecification(), new CamelRouteDSLSpecification());
+    private final DSLCompatibility compatibility = new DSLCompatibility(dsls);
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void sameAsAskingEachDSL() {
+        final var kinds = new ArrayList<String>();
+        dsls.forEach(dsl -> kinds.addAll(dsl.getKinds()));
+        kinds.add("not-a-kind");
+
+        for (var first : kinds) {
+            for (var second : kinds) {
+                //Kinds come in any case
+                final var steps = List.of(step(first.toLowerCase()), step(second));
+                assertThat(compatibility.compatible(steps))
+                        .as(first + " and " + second)
+                        .containsExactlyElementsOf(dsls.stream().filter(dsl -> dsl.appliesTo(steps)).toList());
+            }
+        }
+    }
+
+    @Test
+    void emptyFlows() {
+        assertThat(compatibility.compatible(null)).containsExactlyElementsOf(dsls);
+        assertThat(compatibility.compatible(List.of())).containsExactlyElementsOf(dsls);
+        assertThat(compatibility.compatible(Arrays.asList(null, null))).containsExactlyElementsOf(dsls);
+        assertThat(compatibility.compatible(List.of(new Step()))).isEmpty();
+    }
+
+    @Test
+    void isCompatible() {
+        final var steps = List.of(step("Kamelet"), step("Kamelet"));
+        for (var dsl : dsls) {
+            assertThat(compatibility.isCompatible(dsl, steps)).isEqualTo(compatibility.compatible(steps).contains(dsl));
+        }
+        assertThat(compatibility.isCompatible(new KameletDSLSpecification(), steps)).isFalse();
+    }
+
+    private static Step step(final String kind) {
+        final var step = new Step();
+        step.setKind(kind);
+        return step;
+    }
+}
@@ -12,10 +12,13 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -194,4 +197,61 @@ class CamelRouteStepParserServiceTest {
                 .readAllBytes(), StandardCharsets.UTF_8);
         assertThat(camelRouteDSLSpecification.getStepParserService().appliesTo(input)).isFalse();
     }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[]", "- route:\n    from:\n      uri: timer:tick\n",
+            "- beans: []\n- rest-configuration: {}\n- from:\n    uri: timer:tick\n  description: ignored\n"})
+    void appliesToTheRoot(String input) {
+        assertTrue(camelRouteDSLSpecification.getStepParserService().appliesTo(input));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "from:\n  uri: timer:tick\n", "- route: not-a-route\n", "- timer: tick\n",
+            "- from:\n    uri: timer:tick\n- just a string\n"})
+    void appliesToNotTheRoot(String input) {
+        assertFalse(camelRouteDSLSpecification.getStepParserService().appliesTo(input));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"route-multi.yaml", "route-with-beans.yaml", "rest-dsl.yaml"})
+    void streamedFlows(String file) throws IOException {
+        var route = new String(Objects.requireNonNull(this.getClass().getResourceAsStream(file)).readAllBytes(),
+                StandardCharsets.UTF_8);
+        var parser = camelRouteDSLSpecification.getStepParserService();
+        var parsed = parser.getParsedFlows(route);
+
+        List<StepParserService.ParseResult<Step>> streamed = new ArrayList<>();
+        parser.getParsedFlows(new ByteArrayInputStream((route + "\n---\n" + route).getBytes(StandardCharsets.UTF_8)))
+                .forEachRemaining(streamed::add);
+
+        //Same flows, in the same order, twice
+        var flows = parsed.stream().filter(r -> r.getSteps() != null).toList();
+        var streamedFlows = streamed.stream().filter(r -> r.getSteps() != null).toList();
+        assertThat(streamedFlows).hasSize(flows.size() * 2);
+        for (int i = 0; i < streamedFlows.size(); i++) {
+            var flow = flows.get(i % flows.size());
+            assertThat(streamedFlows.get(i).getMetadata()).isEqualTo(flow.getMetadata());
+            assertThat(streamedFlows.get(i).getSteps()).extracting(Step::getId)
+                    .containsExactlyElementsOf(flow.getSteps().stream().map(Step::getId).toList());
+        }
+    }
+
+    @Test
+    void streamedFlowsFailWhenTheyGetToTheError() throws IOException {
+        var route = "- from:\n    uri: timer:tick\n---\nfoo: bar\n";
+        var closed = new AtomicBoolean();
+        var flows = camelRouteDSLSpecification.getStepParserService().getParsedFlows(
+                new ByteArrayInputStream(route.getBytes(StandardCharsets.UTF_8)) {
+                    @Override
+                    public void close() {
+                        closed.set(true);
+                    }
+                });
+        assertTrue(flows.hasNext());
+        flows.next();
+        assertThatThrownBy(flows::hasNext).isInstanceOf(IllegalArgumentException.class);
+        //Nothing else to read
+        assertTrue(closed.get());
+        assertFalse(flows.hasNext());
+    }
 }
@@ -1,18 +1,34 @@
 package io.kaoto.backend.api.metadata.catalog;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import io.kaoto.backend.metadata.MetadataCatalog;
 import io.kaoto.backend.metadata.ParseCatalog;
-import io.kaoto.backend.metadata.catalog.InMemoryCatalog;
 import io.kaoto.backend.metadata.catalog.ReadOnlyCatalog;
+import io.kaoto.backend.metadata.catalog.SnapshotCatalog;
+import io.kaoto.backend.metadata.parser.JarParseCatalog;
+import io.kaoto.backend.metadata.parser.ParseWorkers;
 import io.kaoto.backend.model.Metadata;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
 
 /**
  * 🐱class AbstractCatalog
@@ -20,12 +36,41 @@ import jakarta.annotation.PostConstruct;
  * Abstract implementation of an ApplicationScoped catalog.
  * This will be the base of the beans
  * that can be injected in the different services and resources.
+ *
+ * Each refresh builds a complete new generation of the catalog off to the
+ * side and publishes it with a single reference swap, so readers never
+ * block nor see a partially loaded catalog.
+ *
+ * Anything derived from the elements of the catalog can be kept alongside
+ * it, and is built again only when there is a new generation.
  */
 public abstract class AbstractCatalog<T extends Metadata> {
 
+    public static final String GENERATION = "kaoto.catalog.generation";
+    public static final String SWAP_TIMESTAMP = "kaoto.catalog.swap.timestamp";
+    public static final String SWAP_DURATION = "kaoto.catalog.swap.duration";
+
+    @ConfigProperty(name = "kaoto.catalog.parser.workers")
+    Optional<Integer> parserWorkers;
+
+    @ConfigProperty(name = "kaoto.catalog.parser.queue-size")
+    Optional<Integer> parserQueueSize;
+
+    @ConfigProperty(name = "kaoto.catalog.download.dir")
+    Optional<String> downloadDir;
+
+    @ConfigProperty(name = "kaoto.catalog.download.timeout")
+    Optional<Integer> downloadTimeout;
+
     private static Logger log = Logger.getLogger(AbstractCatalog.class);
-    private InMemoryCatalog<T> c = new InMemoryCatalog<>();
-    private final MetadataCatalog<T> readOnlyCatalog = new ReadOnlyCatalog<>(c);
+    private final AtomicReference<SnapshotCatalog<T>> c = new AtomicReference<>(new SnapshotCatalog<>());
+    private final ReadOnlyCatalog<T> readOnlyCatalog = new ReadOnlyCatalog<>(c.get());
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong swapTimestamp = new AtomicLong();
+    private final Map<Object, Derived> derived = new ConcurrentHashMap<>();
+    private final AtomicReference<CompletableFuture<Void>> refreshing =
+            new AtomicReference<>(CompletableFuture.completedFuture(null));
+    private Timer swapDuration;
     private CompletableFuture<Void> waitingForWarmUp;
     private CompletableFuture<Void> initializing = new CompletableFuture<>();
 
@@ -38,6 +83,41 @@ public abstract class AbstractCatalog<T extends Metadata> {
         return readOnlyCatalog;
     }
 
+    /*
+     * 🐱method getGeneration : long
+     *
+     * Number of the generation of the catalog readers are seeing now.
+     * Zero until the catalog is warmed up, increases on every refresh.
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /*
+     * 🐱method derive : Object
+     * 🐱param key: Object
+     * 🐱param builder: Function
+     *
+     * Something built from the elements of the catalog, identified by the
+     * key. It is built only once per generation of the catalog, the first
+     * time someone asks for it.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V derive(final Object key, final Function<MetadataCatalog<T>, V> builder) {
+        //The generation increases after the new one is published, so this never labels old elements as new
+        final var current = generation.get();
+        //Most of the time it is already there, no need to lock the entry
+        final var existing = derived.get(key);
+        if (existing != null && existing.generation() == current) {
+            return (V) existing.value();
+        }
+        return (V) derived.compute(key, (k, previous) ->
+                previous != null && previous.generation() == current
+                        ? previous
+                        : new Derived(current, builder.apply(getReadOnlyCatalog())))
+                .value();
+    }
+
     /*
      * 🐱method waitForWarmUp : CompletableFuture
      *
@@ -55,6 +135,42 @@ public abstract class AbstractCatalog<T extends Metadata> {
      */
     abstract List<ParseCatalog<T>> loadParsers();
 
+    private List<ParseCatalog<T>> parsers() {
+        final var parsers = loadParsers();
+        final var workers = parseWorkers();
+        parsers.forEach(parser -> parser.setParseWorkers(workers));
+
+        //Remote jars are kept as local copies between refreshes
+        parsers.stream()
+                .filter(JarParseCatalog.class::isInstance)
+                .map(parser -> (JarParseCatalog<T>) parser)
+                .forEach(this::configureDownloads);
+        return parsers;
+    }
+
+    private void configureDownloads(final JarParseCatalog<T> parser) {
+        if (downloadDir != null && downloadDir.isPresent()) {
+            parser.setDownloadDirectory(Path.of(downloadDir.get()));
+        }
+        if (downloadTimeout != null && downloadTimeout.isPresent()) {
+            parser.setDownloadTimeout(Duration.ofSeconds(downloadTimeout.get()));
+        }
+    }
+
+    /*
+     * 🐱method parseWorkers : ParseWorkers
+     *
+     * Pool the parsers run on: kaoto.catalog.parser.workers threads (the
+     * number of cores by default) and kaoto.catalog.parser.queue-size files
+     * waiting per parser (four per worker by default).
+     */
+    private ParseWorkers parseWorkers() {
+        final var cores = Runtime.getRuntime().availableProcessors();
+        final int workers = parserWorkers != null ? parserWorkers.orElse(cores) : cores;
+        final int queueSize = parserQueueSize != null ? parserQueueSize.orElse(workers * 4) : workers * 4;
+        return ParseWorkers.of(workers, queueSize);
+    }
+
     /*
      * 🐱method warmUpCatalog
      *
@@ -66,27 +182,60 @@ public abstract class AbstractCatalog<T extends Metadata> {
     public void warmUpCatalog() {
         log.debug("Warming up catalog.");
         final var time = System.currentTimeMillis();
+        final var first = c.get();
         final List<CompletableFuture<Boolean>> futureSteps =
-            loadParsers().stream().parallel()
-                .map(this::addCatalog)
+            parsers().stream().parallel()
+                .map(parser -> addCatalog(parser, first))
                 .toList();
 
         waitingForWarmUp = CompletableFuture.allOf(futureSteps.toArray(new CompletableFuture[0]));
+        //No refresh until the first generation is there
+        refreshing.set(initializing);
         waitingForWarmUp
+                .thenRun(() -> published(first))
+                .thenRun(() -> swapped(time))
                 .thenAccept(complete -> initializing.complete(null))
                 .thenRun(() ->
                         log.info("Catalog " + this.getClass() + " warmed up in "
                                 + (System.currentTimeMillis() - time) + "ms."));
     }
 
-    private CompletableFuture<Boolean> addCatalog(final ParseCatalog<T> catalog) {
+    /*
+     * 🐱method prepare: List[Metadata]
+     * 🐱param elements: List[Metadata]
+     *
+     * Last chance to adapt the elements parsed before they are stored.
+     */
+    protected List<T> prepare(final List<T> elements) {
+        return elements;
+    }
+
+    /*
+     * 🐱method published
+     * 🐱param catalog: MetadataCatalog
+     *
+     * Called once a generation is published, before any other generation
+     * starts loading. Chance to let go of anything prepared for the
+     * generations before.
+     */
+    protected void published(final MetadataCatalog<T> catalog) {
+        //Nothing to do by default
+    }
+
+    private CompletableFuture<Boolean> addCatalog(final ParseCatalog<T> catalog,
+                                                  final SnapshotCatalog<T> generation) {
         CompletableFuture<Boolean> res = new CompletableFuture<>();
         final var time = System.currentTimeMillis();
         catalog.parse()
-                .thenApply(md -> c.store(md))
+                .thenApply(md -> generation.store(prepare(md)))
                 .thenRun(() -> log.info("Parser " + catalog.getClass() + " processed in "
                         + (System.currentTimeMillis() - time) + "ms."))
-                .thenAccept(md -> res.complete(true));
+                .whenComplete((md, e) -> {
+                    if (e != null) {
+                        log.error("Parser " + catalog.getClass() + " failed.", e);
+                    }
+                    res.complete(e == null);
+                });
         return res;
     }
 
@@ -94,21 +243,79 @@ public abstract class AbstractCatalog<T extends Metadata> {
      * 🐱method refresh
      *
      * Function to be called periodically that refreshes the elements of the
-     * catalog, considering the catalog is dynamic. It prevents any
-     * synchronization error that would show an empty catalog during the
-     * refreshing.
+     * catalog, considering the catalog is dynamic. The new elements are
+     * loaded into a new generation that replaces the current one only when
+     * it is complete, so there is never an empty or half-loaded catalog
+     * during the refreshing. Elements that disappeared from the sources
+     * disappear from the catalog too.
      *
+     * There is only one refresh running at a time: while a generation is
+     * still loading (the first one included), calling this again does nothing. If any parser fails,
+     * the current generation is kept.
      */
     public void refresh() {
+        final var done = new CompletableFuture<Void>();
+        final var previous = refreshing.get();
+        if (!previous.isDone() || !refreshing.compareAndSet(previous, done)) {
+            log.debug("Catalog " + this.getClass() + " is still refreshing, skipping this refresh.");
+            return;
+        }
+
+        final var time = System.currentTimeMillis();
+        final var next = new SnapshotCatalog<T>();
         List<CompletableFuture<Boolean>> futureSteps = new ArrayList<>();
-        for (var catalog : loadParsers()) {
-            futureSteps.add(addCatalog(catalog));
+        try {
+            for (var catalog : parsers()) {
+                futureSteps.add(addCatalog(catalog, next));
+            }
+        } catch (RuntimeException e) {
+            done.complete(null);
+            throw e;
+        }
+
+        CompletableFuture.allOf(futureSteps.toArray(new CompletableFuture[0]))
+                .thenCombine(waitingForWarmUp, (complete, warm) -> next)
+                .thenAccept(generated -> {
+                    if (futureSteps.stream().allMatch(CompletableFuture::join)) {
+                        swap(generated);
+                        published(generated);
+                        swapped(time);
+                        log.info("Catalog " + this.getClass() + " refreshed to generation "
+                                + generation.get() + ".");
+                    } else {
+                        log.warn("Catalog " + this.getClass() + " couldn't be refreshed, keeping generation "
+                                + generation.get() + ".");
+                    }
+                })
+                .whenComplete((v, e) -> done.complete(null));
+    }
+
+    private void swap(final SnapshotCatalog<T> next) {
+        //Publish first, then let go of the previous generation
+        readOnlyCatalog.addCatalog(next);
+        c.set(next);
+    }
+
+    private void swapped(final long start) {
+        generation.incrementAndGet();
+        final var now = System.currentTimeMillis();
+        swapTimestamp.set(now);
+        if (swapDuration != null) {
+            swapDuration.record(now - start, TimeUnit.MILLISECONDS);
         }
+    }
+
+    @Inject
+    public void setRegistry(final MeterRegistry registry) {
+        final var tags = Tags.of("catalog", getClass().getSimpleName());
+        registry.gauge(GENERATION, tags, generation);
+        registry.gauge(SWAP_TIMESTAMP, tags, swapTimestamp);
+        this.swapDuration = Timer.builder(SWAP_DURATION)
+                .description("Time to load a complete generation of the catalog and publish it.")
+                .tags(tags)
+                .register(registry);
+    }
 
-        var waitingForWarmUp = CompletableFuture.allOf(
-                futureSteps.toArray(new CompletableFuture[0]));
-        waitingForWarmUp.thenAccept(complete ->
-                        ((ReadOnlyCatalog) getReadOnlyCatalog()).addCatalog(c))
-                .thenRun(() -> log.info("Catalog refreshed."));
+    private record Derived(long generation, Object value) {
     }
 }
@@ -0,0 +1,78 @@
+package io.kaoto.backend.api.metadata.catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.kaoto.backend.metadata.catalog.CatalogSnapshotStore;
+import io.kaoto.backend.model.step.Step;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * 🐱class IconStore
+ *
+ * Icons of the steps in the catalog, stored once per different content and
+ * identified by the hash of that content.
+ *
+ * Many steps share the same icon, like the default one for camel
+ * connectors. When the catalog is loaded, the icon of each step is replaced
+ * by the one already stored with the same content, so there is only one copy
+ * of each in memory, and the step is told the hash of its icon so clients can
+ * ask for it only when they need it.
+ *
+ * Once a new generation of the catalog is published, the icons no step of
+ * it uses any more are forgotten.
+ */
+@ApplicationScoped
+public class IconStore {
+
+    public static final String ICONS = "kaoto.catalog.icons";
+
+    private final Map<String, String> icons = new ConcurrentHashMap<>();
+
+    @Inject
+    public void setRegistry(final MeterRegistry registry) {
+        registry.gaugeMapSize(ICONS, Tags.empty(), icons);
+    }
+
+    /*
+     * 🐱method intern: Step
+     * 🐱param step: Step
+     *
+     * Makes the step share its icon with the rest of steps with the same
+     * icon and sets the hash of the icon on the step.
+     */
+    public Step intern(final Step step) {
+        final var icon = step.getIcon();
+        if (icon != null && !icon.isBlank()) {
+            final var hash = CatalogSnapshotStore.hash(icon.getBytes(StandardCharsets.UTF_8));
+            step.setIcon(icons.computeIfAbsent(hash, h -> icon));
+            step.setIconHash(hash);
+        }
+        return step;
+    }
+
+    /*
+     * 🐱method retain
+     * 🐱param hashes: Set[String]
+     *
+     * Forgets all the icons but the ones with these hashes.
+     */
+    public void retain(final Set<String> hashes) {
+        icons.keySet().retainAll(hashes);
+    }
+
+    /*
+     * 🐱method get: String
+     * 🐱param hash: String
+     *
+     * The icon with this hash, or null if there is none.
+     */
+    public String get(final String hash) {
+        return hash != null ? icons.get(hash) : null;
+    }
+}
@@ -1,14 +1,21 @@
 package io.kaoto.backend.api.metadata.catalog;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.kaoto.backend.metadata.MetadataCatalog;
 import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.catalog.CatalogSnapshotStore;
+import io.kaoto.backend.metadata.parser.GitParseCatalog;
 import io.kaoto.backend.model.configuration.Repository;
 import io.kaoto.backend.model.step.Step;
 import io.quarkus.runtime.Startup;
@@ -34,6 +41,15 @@ public class StepCatalog extends AbstractCatalog<Step> {
             defaultValue = "true")
     boolean includeInMemoryCatalogs;
 
+    @ConfigProperty(name = "kaoto.step.catalog.snapshot.dir")
+    Optional<String> snapshotDir;
+
+    @ConfigProperty(name = "quarkus.application.version", defaultValue = "unknown")
+    String version;
+
+    @ConfigProperty(name = "kaoto.step.catalog.git.mirror.dir")
+    Optional<String> gitMirrorDir;
+
     public static final String ALL = "all";
     private StepRepository repository;
 
@@ -41,6 +57,8 @@ public class StepCatalog extends AbstractCatalog<Step> {
 
     private KubernetesClient kclient;
 
+    private IconStore iconStore;
+
     @Override
     protected List<ParseCatalog<Step>> loadParsers() {
         List<ParseCatalog<Step>> catalogs = new ArrayList<>();
@@ -51,6 +69,20 @@ public class StepCatalog extends AbstractCatalog<Step> {
         addLocalFolder(catalogs, clusterAvailable);
         addGit(catalogs, clusterAvailable);
         if (includeInMemoryCatalogs) addInMemoryParsers(catalogs);
+
+        //Sources that didn't change since last run are loaded from their snapshot instead of parsed
+        if (snapshotDir != null && snapshotDir.isPresent()) {
+            final var store = new CatalogSnapshotStore(Path.of(snapshotDir.get()), version);
+            catalogs.forEach(catalog -> catalog.setSnapshotStore(store));
+        }
+
+        //Git repositories are kept as local mirrors between refreshes
+        if (gitMirrorDir != null && gitMirrorDir.isPresent()) {
+            catalogs.stream()
+                    .filter(GitParseCatalog.class::isInstance)
+                    .forEach(catalog -> ((GitParseCatalog<Step>) catalog).setMirrorDirectory(
+                            Path.of(gitMirrorDir.get())));
+        }
         return catalogs;
     }
 
@@ -130,6 +162,32 @@ public class StepCatalog extends AbstractCatalog<Step> {
         catalogs.addAll(items);
     }
 
+    @Override
+    protected List<Step> prepare(final List<Step> steps) {
+        //Steps share their icons instead of having each one their own copy
+        if (steps != null && iconStore != null) {
+            steps.stream().filter(Objects::nonNull).forEach(iconStore::intern);
+        }
+        return steps;
+    }
+
+    @Override
+    protected void published(final MetadataCatalog<Step> catalog) {
+        //Icons of the steps that are gone don't need to stay
+        if (iconStore != null) {
+            iconStore.retain(catalog.getAll().stream()
+                    .filter(Objects::nonNull)
+                    .map(Step::getIconHash)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()));
+        }
+    }
+
+    @Inject
+    public void setIconStore(final IconStore iconStore) {
+        this.iconStore = iconStore;
+    }
+
     @Inject
     public void setRepository(final StepRepository repo) {
         this.repository = repo;
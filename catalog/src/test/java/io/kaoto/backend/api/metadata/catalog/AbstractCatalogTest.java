@@ -0,0 +1,126 @@
+package io.kaoto.backend.api.metadata.catalog;
+
+import io.kaoto.backend.metadata.MetadataCatalog;
+import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.parser.ProcessFile;
+import io.kaoto.backend.model.step.Step;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+@QuarkusTest
+class AbstractCatalogTest {
+
+    @Test
+    void refreshSwapsGenerations() {
+        TestCatalog catalog = new TestCatalog();
+        catalog.steps = List.of(step("id-1"), step("id-2"));
+        catalog.warmUpCatalog();
+        catalog.waitForWarmUp().join();
+
+        final MetadataCatalog<Step> readOnly = catalog.getReadOnlyCatalog();
+        Assertions.assertEquals(1, catalog.getGeneration());
+        Assertions.assertEquals(2, readOnly.getAll().size());
+
+        //The pending generation is not visible until it is complete
+        catalog.pending = new CompletableFuture<>();
+        catalog.steps = List.of(step("id-3"));
+        catalog.refresh();
+        Assertions.assertEquals(1, catalog.getGeneration());
+        Assertions.assertNotNull(readOnly.searchByID("id-1"));
+        Assertions.assertNull(readOnly.searchByID("id-3"));
+
+        //Only one refresh at a time
+        final var pending = catalog.pending;
+        catalog.steps = List.of(step("id-4"));
+        catalog.refresh();
+
+        pending.complete(null);
+        Assertions.assertEquals(2, catalog.getGeneration());
+        Assertions.assertNull(readOnly.searchByID("id-1"));
+        Assertions.assertNotNull(readOnly.searchByID("id-3"));
+        Assertions.assertNull(readOnly.searchByID("id-4"));
+        Assertions.assertEquals(1, readOnly.getAll().size());
+
+        catalog.refresh();
+        Assertions.assertEquals(3, catalog.getGeneration());
+        Assertions.assertNotNull(readOnly.searchByID("id-4"));
+    }
+
+    @Test
+    void failedRefreshKeepsGeneration() {
+        TestCatalog catalog = new TestCatalog();
+        catalog.steps = List.of(step("id-1"));
+        catalog.warmUpCatalog();
+        catalog.waitForWarmUp().join();
+        final MetadataCatalog<Step> readOnly = catalog.getReadOnlyCatalog();
+
+        catalog.pending = CompletableFuture.failedFuture(new IllegalStateException("Can't reach the repository"));
+        catalog.steps = List.of(step("id-2"));
+        catalog.refresh();
+        Assertions.assertEquals(1, catalog.getGeneration());
+        Assertions.assertNotNull(readOnly.searchByID("id-1"));
+
+        //And it doesn't block the next refresh
+        catalog.pending = CompletableFuture.completedFuture(null);
+        catalog.refresh();
+        Assertions.assertEquals(2, catalog.getGeneration());
+        Assertions.assertNotNull(readOnly.searchByID("id-2"));
+    }
+
+    @Test
+    void deriveOncePerGeneration() {
+        TestCatalog catalog = new TestCatalog();
+        catalog.steps = List.of(step("id-1"));
+        catalog.warmUpCatalog();
+        catalog.waitForWarmUp().join();
+
+        final var built = new AtomicInteger();
+        final Function<MetadataCatalog<Step>, Integer> size = c -> {
+            built.incrementAndGet();
+            return c.getAll().size();
+        };
+        Assertions.assertEquals(1, catalog.derive("size", size));
+        Assertions.assertEquals(1, catalog.derive("size", size));
+        Assertions.assertEquals(1, built.get());
+
+        catalog.steps = List.of(step("id-1"), step("id-2"));
+        catalog.refresh();
+        Assertions.assertEquals(2, catalog.derive("size", size));
+        Assertions.assertEquals(2, catalog.derive("size", size));
+        Assertions.assertEquals(2, built.get());
+    }
+
+    private static Step step(final String id) {
+        return new Step(id, id, "icon", new ArrayList<>());
+    }
+
+    private static class TestCatalog extends AbstractCatalog<Step> {
+
+        private List<Step> steps;
+        private CompletableFuture<Void> pending = CompletableFuture.completedFuture(null);
+
+        @Override
+        List<ParseCatalog<Step>> loadParsers() {
+            final var parsed = steps;
+            final var waitFor = pending;
+            return List.of(new ParseCatalog<>() {
+                @Override
+                public CompletableFuture<List<Step>> parse() {
+                    return waitFor.thenApply(v -> parsed);
+                }
+
+                @Override
+                public void setFileVisitor(final ProcessFile<Step> fileVisitor) {
+                    //not needed
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.kaoto.backend.api.metadata.catalog;
+
+import io.kaoto.backend.model.step.Step;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Set;
+
+class IconStoreTest {
+
+    private static final String ICON = "data:image/svg+xml;base64,PHN2Zz48L3N2Zz4=";
+
+    @Test
+    void sameIconSameInstance() {
+        final var store = new IconStore();
+        final var first = store.intern(new Step("a", "a", new String(ICON.toCharArray()), new ArrayList<>()));
+        final var second = store.intern(new Step("b", "b", new String(ICON.toCharArray()), new ArrayList<>()));
+
+        Assertions.assertSame(first.getIcon(), second.getIcon());
+        Assertions.assertNotNull(first.getIconHash());
+        Assertions.assertEquals(first.getIconHash(), second.getIconHash());
+        Assertions.assertEquals(ICON, store.get(first.getIconHash()));
+
+        final var other = store.intern(new Step("c", "c", "data:image/png;base64,AAAA", new ArrayList<>()));
+        Assertions.assertNotEquals(first.getIconHash(), other.getIconHash());
+    }
+
+    @Test
+    void forgetsIconsNotUsed() {
+        final var store = new IconStore();
+        final var kept = store.intern(new Step("a", "a", ICON, new ArrayList<>()));
+        final var gone = store.intern(new Step("b", "b", "data:image/png;base64,AAAA", new ArrayList<>()));
+
+        store.retain(Set.of(kept.getIconHash()));
+        Assertions.assertEquals(ICON, store.get(kept.getIconHash()));
+        Assertions.assertNull(store.get(gone.getIconHash()));
+    }
+
+    @Test
+    void noIcon() {
+        final var store = new IconStore();
+        Assertions.assertNull(store.intern(new Step("a", "a", null, new ArrayList<>())).getIconHash());
+        Assertions.assertNull(store.intern(new Step("b", "b", " ", new ArrayList<>())).getIconHash());
+        Assertions.assertNull(store.get("unknown"));
+        Assertions.assertNull(store.get(null));
+    }
+}
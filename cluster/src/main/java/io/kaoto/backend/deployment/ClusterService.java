@@ -6,15 +6,17 @@ import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.dsl.LogWatch;
 import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
 import io.kaoto.backend.camel.KamelHelper;
 import io.kaoto.backend.api.service.dsl.DSLSpecification;
 import io.kaoto.backend.model.deployment.Deployment;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import io.smallrye.common.annotation.Blocking;
 import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.context.ManagedExecutor;
 import org.jboss.logging.Logger;
@@ -23,13 +25,12 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.NotFoundException;
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * 🐱miniclass ClusterService (DeploymentsResource)
@@ -38,14 +39,28 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * <p>
  * 🐱section Service to interact with the cluster. This is the utility class the resource relies on to perform the
  * operations.
+ * <p>
+ * Every operation comes in two flavours: the blocking one, and the one returning a Uni. The calls to the cluster
+ * itself are still blocking, so the Uni runs them on the managed executor, but waiting for the change to show on the
+ * deployment cache doesn't hold any thread. Both the calls in flight and the ones holding a worker thread right now
+ * are exposed as metrics.
  */
 @ApplicationScoped
 public class ClusterService {
 
     private static final Logger LOG = Logger.getLogger(ClusterService.class);
+    private static final String CALLS = "kaoto.cluster.calls";
+    private static final String CALLS_ACTIVE = "kaoto.cluster.calls.active";
+    private static final String CALLS_BLOCKING = "kaoto.cluster.calls.blocking";
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger blocking = new AtomicInteger();
     private KubernetesClient kubernetesClient;
+    private DeploymentCache deploymentCache;
     private Instance<DSLSpecification> parsers;
     private ManagedExecutor managedExecutor;
+    private MeterRegistry registry;
+    private LogHub logHub;
 
     @ConfigProperty(name = "kaoto.openshift.namespace",
             defaultValue = "default")
@@ -56,6 +71,11 @@ public class ClusterService {
         this.kubernetesClient = kubernetesClient;
     }
 
+    @Inject
+    public void setDeploymentCache(final DeploymentCache deploymentCache) {
+        this.deploymentCache = deploymentCache;
+    }
+
     @Inject
     public void setParsers(final Instance<DSLSpecification> parsers) {
         this.parsers = parsers;
@@ -68,6 +88,18 @@ public class ClusterService {
         this.managedExecutor = managedExecutor;
     }
 
+    @Inject
+    public void setLogHub(final LogHub logHub) {
+        this.logHub = logHub;
+    }
+
+    @Inject
+    public void setRegistry(final MeterRegistry registry) {
+        this.registry = registry;
+        registry.gauge(CALLS_ACTIVE, active);
+        registry.gauge(CALLS_BLOCKING, blocking);
+    }
+
     /*
      * 🐱method getResources: Deployment[]
      * 🐱param namespace: String
@@ -79,12 +111,23 @@ public class ClusterService {
         List<Deployment> res = new ArrayList<>();
 
         for (var parser : parsers) {
-            res.addAll(parser.getDeploymentGeneratorService().getResources(getNamespace(namespace), kubernetesClient));
+            res.addAll(parser.getDeploymentGeneratorService().getResources(getNamespace(namespace), deploymentCache));
         }
 
         return res;
     }
 
+    /*
+     * 🐱method getResourcesAsync: Uni
+     * 🐱param namespace: String
+     *
+     * Same as getResources, without blocking the caller.
+     */
+    @WithSpan
+    public Uni<List<Deployment>> getResourcesAsync(final String namespace) {
+        return track("list", onWorker(() -> getResources(namespace)));
+    }
+
     /*
      * 🐱method start
      * 🐱param namespace: String
@@ -95,19 +138,39 @@ public class ClusterService {
      */
     @WithSpan
     public void start(final String input, final String namespace) {
+        final var binding = deploy(input, namespace);
+        deploymentCache.await(binding.getClass(), getNamespace(namespace), binding.getMetadata().getName(), true);
+    }
+
+    /*
+     * 🐱method startAsync: Uni
+     * 🐱param input: String
+     * 🐱param namespace: String
+     *
+     * Same as start, without blocking the caller.
+     */
+    @WithSpan
+    public Uni<Void> startAsync(final String input, final String namespace) {
+        return track("start", onWorker(() -> deploy(input, namespace))
+                .onItem().transformToUni(binding -> Uni.createFrom().completionStage(
+                        deploymentCache.changed(binding.getClass(), getNamespace(namespace),
+                                binding.getMetadata().getName(), true))));
+    }
+
+    private CustomResource deploy(final String input, final String namespace) {
         for (var parser : parsers) {
             CustomResource binding = parser.getDeploymentGeneratorService().parse(input);
             if (binding != null) {
                 LOG.trace("This is a " + binding.getKind());
                 setName(binding, namespace);
                 try {
-                    start(binding, namespace);
+                    create(binding, namespace);
 
                     Span span = Span.current();
                     if (span != null && binding != null) {
                         span.setAttribute("integration", binding.toString());
                     }
-                    return;
+                    return binding;
                 } catch (Exception e) {
                     LOG.debug("Either the binding is not right or the CRD is not valid: " + e.getMessage());
                 }
@@ -162,6 +225,13 @@ public class ClusterService {
      */
     @WithSpan
     public void start(final CustomResource binding, final String namespace) throws JsonProcessingException {
+        create(binding, namespace);
+
+        //So it is listed right away
+        deploymentCache.await(binding.getClass(), getNamespace(namespace), binding.getMetadata().getName(), true);
+    }
+
+    private void create(final CustomResource binding, final String namespace) throws JsonProcessingException {
         ResourceDefinitionContext context =
                 new ResourceDefinitionContext.Builder()
                         .withNamespaced(true)
@@ -186,6 +256,34 @@ public class ClusterService {
      */
     @WithSpan
     public boolean stop(final String name, final String namespace, final String type) {
+        final var cr = delete(name, namespace, type);
+        if (cr == null) {
+            return false;
+        }
+        deploymentCache.await(cr.getClass(), getNamespace(namespace), name, false);
+        return true;
+    }
+
+    /*
+     * 🐱method stopAsync: Uni
+     * 🐱param name: String
+     * 🐱param namespace: String
+     * 🐱param type: String
+     *
+     * Same as stop, without blocking the caller.
+     */
+    @WithSpan
+    public Uni<Boolean> stopAsync(final String name, final String namespace, final String type) {
+        return track("stop", onWorker(() -> delete(name, namespace, type))
+                .onItem().transformToUni(cr -> cr == null
+                        ? Uni.createFrom().item(false)
+                        : Uni.createFrom().completionStage(
+                                deploymentCache.changed(cr.getClass(), getNamespace(namespace), name, false))
+                                .replaceWith(true)));
+    }
+
+    //The resource deleted, or null if there was nothing to delete
+    private CustomResource delete(final String name, final String namespace, final String type) {
         CustomResource cr = get(namespace, name, type);
 
         if (cr == null) {
@@ -194,8 +292,9 @@ public class ClusterService {
 
         LOG.trace("Going to delete a " + cr.getClass() + " in " + getNamespace(namespace) + " with name " + name);
 
-        return !kubernetesClient.resources(cr.getClass()).inNamespace(getNamespace(namespace))
+        final var deleted = !kubernetesClient.resources(cr.getClass()).inNamespace(getNamespace(namespace))
                 .withName(name).delete().isEmpty();
+        return deleted ? cr : null;
     }
 
     /*
@@ -222,6 +321,19 @@ public class ClusterService {
         return cr;
     }
 
+    /*
+     * 🐱method getAsync: Uni
+     * 🐱param namespace: String
+     * 🐱param name: String
+     * 🐱param type: String
+     *
+     * Same as get, without blocking the caller.
+     */
+    @WithSpan
+    public Uni<CustomResource> getAsync(final String namespace, final String name, final String type) {
+        return track("get", onWorker(() -> get(namespace, name, type)));
+    }
+
     /*
      * 🐱method streamlogs: String
      * 🐱param namespace: String
@@ -238,68 +350,49 @@ public class ClusterService {
                                     final String name,
                                     final String dsl,
                                     final Integer lines) {
-        Pod pod = null;
+        final var ns = getNamespace(namespace);
+        final var pod = findPod(ns, name, dsl);
+        if (pod == null) {
+            throw new IllegalArgumentException("No running resource found in " + ns + " with name " + name);
+        }
+
+        return logHub.follow(ns, pod, lines, () -> findPod(ns, name, dsl));
+    }
+
+    private Pod findPod(final String namespace, final String name, final String dsl) {
         //We are going to assume no repeated names
         //When we find a pod, that's the one.
         for (var parser : parsers) {
             if (Strings.isNullOrEmpty(dsl) || dsl.equalsIgnoreCase(parser.identifier())) {
-                pod = parser.getDeploymentGeneratorService().getPod(namespace, name, kubernetesClient);
+                final var pod = parser.getDeploymentGeneratorService().getPod(namespace, name, deploymentCache);
                 if (pod != null) {
-                    break;
+                    return pod;
                 }
             }
         }
+        return null;
+    }
 
-        if (pod == null) {
-            throw new IllegalArgumentException("No running resource found in " + namespace + " with name " + name);
-        }
+    private <T> Uni<T> onWorker(final Supplier<T> call) {
+        return Uni.createFrom().item(() -> {
+            blocking.incrementAndGet();
+            try {
+                return call.get();
+            } finally {
+                blocking.decrementAndGet();
+            }
+        }).runSubscriptionOn(managedExecutor);
+    }
 
-        final var podResource = kubernetesClient.pods().inNamespace(getNamespace(namespace))
-                .withName(pod.getMetadata().getName());
-        LogWatch watch = podResource.tailingLines(lines).watchLog();
-        BufferedReader reader = new BufferedReader(new InputStreamReader(watch.getOutput()));
-        AtomicBoolean closed = new AtomicBoolean(false);
-        try {
-            Multi<String> logs = Multi.createFrom().generator(
-                    () -> 0, (n, emitter) -> {
-                        try {
-                            String line = reader.readLine();
-                            if (line == null) {
-                                // The stream has reached EOF without reading any characters.
-                                // This can happen when the pod has been deleted.
-                                // A better solution would be to watch the pod resource,
-                                // while streaming the logs, and propagate the error up to
-                                // the client.
-                                emitter.complete();
-                                return n;
-                            }
-                            emitter.emit(line + "\n");
-                            return ++n;
-                        } catch (Exception e) {
-                            if (!closed.get()) {
-                                LOG.error("Error reading log stream", e);
-                                emitter.fail(e);
-                            } else {
-                                emitter.complete();
-                            }
-                        }
-                        return n;
-                    }
-            );
-            return logs.runSubscriptionOn(managedExecutor)
-                    .onTermination().invoke(() -> {
-                        closed.set(true);
-                        watch.close();
-                        try {
-                            reader.close();
-                        } catch (Exception e) {
-                            LOG.error("Error closing log stream", e);
-                        }
-                    });
-        } catch (Exception e) {
-            LOG.error("Error watching log stream", e);
-        }
-        return Multi.createFrom().nothing();
+    private <T> Uni<T> track(final String operation, final Uni<T> call) {
+        return Uni.createFrom().deferred(() -> {
+            active.incrementAndGet();
+            final var sample = Timer.start(registry);
+            return call.onTermination().invoke(() -> {
+                active.decrementAndGet();
+                sample.stop(Timer.builder(CALLS).tag("operation", operation).register(registry));
+            });
+        });
     }
 
     private String getNamespace(final String namespace) {
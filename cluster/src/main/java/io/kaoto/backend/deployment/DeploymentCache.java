@@ -0,0 +1,293 @@
+package io.kaoto.backend.deployment;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.kaoto.backend.api.service.deployment.generator.ClusterResources;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 🐱miniclass DeploymentCache (ClusterService)
+ * <p>
+ * 🐱relationship compositionOf SharedIndexInformer, 0..n
+ * <p>
+ * 🐱section Local copy of the resources in the cluster. The first time a type of resource is read in a namespace, an
+ * informer starts watching it and from then on it is read from memory. Pods are only watched if they belong to an
+ * integration, and are indexed by it.
+ * <p>
+ * If the informer can't be started (no permissions to watch, the CRD is not installed,...) the cluster is asked
+ * directly, as if there were no cache, and it is not tried again for a while. Informers are started in the
+ * background, whoever reads in the meantime waits for it only up to the timeout. There is a limit to how many
+ * informers there can be; past it, the namespaces not watched yet are read directly.
+ * <p>
+ * Whoever changes the cluster can wait for the local copy to show the change without holding a thread: the informers
+ * tell the pending waits every time something changes.
+ */
+@ApplicationScoped
+public class DeploymentCache implements ClusterResources {
+
+    static final String INTEGRATION_INDEX = "integration";
+
+    private static final Logger LOG = Logger.getLogger(DeploymentCache.class);
+
+    private final Map<Key, Watch> informers = new ConcurrentHashMap<>();
+    private final Set<Change> changes = ConcurrentHashMap.newKeySet();
+    private KubernetesClient kubernetesClient;
+    private ClusterResources direct;
+
+    @ConfigProperty(name = "kaoto.cluster.cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "kaoto.cluster.cache.timeout", defaultValue = "10")
+    long timeout;
+
+    @ConfigProperty(name = "kaoto.cluster.cache.retry", defaultValue = "60")
+    long retry;
+
+    @ConfigProperty(name = "kaoto.cluster.cache.informers", defaultValue = "64")
+    int maxInformers;
+
+    @Inject
+    public void setKubernetesClient(final KubernetesClient kubernetesClient) {
+        this.kubernetesClient = kubernetesClient;
+        this.direct = ClusterResources.of(kubernetesClient);
+    }
+
+    @Override
+    public <T extends HasMetadata> List<T> list(final Class<T> type, final String namespace) {
+        final var informer = informer(type, namespace);
+        if (informer == null) {
+            return direct.list(type, namespace);
+        }
+        return informer.getStore().list();
+    }
+
+    @Override
+    public List<Pod> pods(final String namespace, final String integration) {
+        final var informer = informer(Pod.class, namespace);
+        if (informer == null) {
+            return direct.pods(namespace, integration);
+        }
+        return informer.getIndexer().byIndex(INTEGRATION_INDEX, integration);
+    }
+
+    /*
+     * 🐱method await
+     * 🐱param type: Class
+     * 🐱param namespace: String
+     * 🐱param name: String
+     * 🐱param present: boolean
+     *
+     * Waits until the local copy shows the change we just made to the cluster, so whoever changed it reads it back
+     * right away. Gives up silently after the timeout, the change will arrive eventually.
+     */
+    public void await(final Class<? extends HasMetadata> type, final String namespace, final String name,
+                      final boolean present) {
+        changed(type, namespace, name, present).join();
+    }
+
+    /*
+     * 🐱method changed: CompletableFuture
+     * 🐱param type: Class
+     * 🐱param namespace: String
+     * 🐱param name: String
+     * 🐱param present: boolean
+     *
+     * Same as await, but completes when the local copy shows the change instead of blocking until then.
+     */
+    public CompletableFuture<Void> changed(final Class<? extends HasMetadata> type, final String namespace,
+                                           final String name, final boolean present) {
+        final var watch = informers.get(new Key(type, namespace));
+        final var informer = watch != null ? watch.ready() : null;
+        if (informer == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final var change = new Change(informer, Cache.namespaceKeyFunc(namespace, name), present,
+                new CompletableFuture<>());
+        changes.add(change);
+        //It may have arrived already
+        change.check();
+        return change.done()
+                .completeOnTimeout(null, timeout, TimeUnit.SECONDS)
+                .whenComplete((v, e) -> {
+                    changes.remove(change);
+                    if (!change.seen()) {
+                        LOG.debug("The cache didn't see the change on " + change.key() + " in time.");
+                    }
+                });
+    }
+
+    private static boolean isPresent(final Object resource) {
+        //Resources being deleted may stay around for a while because of their finalizers
+        return resource instanceof HasMetadata r
+                && (r.getMetadata() == null || r.getMetadata().getDeletionTimestamp() == null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends HasMetadata> SharedIndexInformer<T> informer(final Class<T> type, final String namespace) {
+        if (!enabled || namespace == null) {
+            return null;
+        }
+        final var key = new Key(type, namespace);
+        if (!informers.containsKey(key) && informers.size() >= maxInformers) {
+            //Make room, forgetting the failures that can be tried again anyway
+            informers.values().removeIf(Watch::expired);
+        }
+        //Only the watch is created here, the informer starts outside the map
+        final var watch = informers.compute(key, (k, previous) -> {
+            if (previous != null && !previous.expired()) {
+                return previous;
+            }
+            return previous != null || informers.size() < maxInformers ? new Watch(k) : null;
+        });
+        if (watch == null) {
+            LOG.trace("Too many informers to watch " + type.getSimpleName() + " in " + namespace);
+            return null;
+        }
+        watch.start();
+        return (SharedIndexInformer<T>) watch.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends HasMetadata> SharedIndexInformer<T> create(final Class<T> type, final String namespace) {
+        LOG.trace("Starting to watch " + type.getSimpleName() + " in " + namespace);
+        final SharedIndexInformer<T> informer = Pod.class.equals(type)
+                ? (SharedIndexInformer<T>) podInformer(namespace)
+                : kubernetesClient.resources(type).inNamespace(namespace).runnableInformer(0);
+        informer.addEventHandler(new ResourceEventHandler<T>() {
+            @Override
+            public void onAdd(final T resource) {
+                changes.forEach(Change::check);
+            }
+
+            @Override
+            public void onUpdate(final T previous, final T resource) {
+                changes.forEach(Change::check);
+            }
+
+            @Override
+            public void onDelete(final T resource, final boolean deletedFinalStateUnknown) {
+                changes.forEach(Change::check);
+            }
+        });
+        return informer;
+    }
+
+    private SharedIndexInformer<Pod> podInformer(final String namespace) {
+        //Only pods that belong to an integration are interesting
+        final var informer = kubernetesClient.pods().inNamespace(namespace)
+                .withLabel(INTEGRATION_LABEL)
+                .runnableInformer(0);
+        informer.addIndexers(Map.of(INTEGRATION_INDEX,
+                pod -> List.of(pod.getMetadata().getLabels().get(INTEGRATION_LABEL))));
+        return informer;
+    }
+
+    @PreDestroy
+    void stop() {
+        //The ones still starting are stopped as soon as they are done
+        informers.values().forEach(watch -> watch.informer.thenAccept(SharedIndexInformer::stop));
+        informers.clear();
+    }
+
+    private record Key(Class<?> type, String namespace) {
+    }
+
+    /*
+     * The informer of a type of resource in a namespace, from the moment someone asks for it, while it starts and
+     * after it started or failed.
+     */
+    private final class Watch {
+
+        private final Key key;
+        private final CompletableFuture<SharedIndexInformer<?>> informer = new CompletableFuture<>();
+        private final AtomicBoolean starting = new AtomicBoolean();
+        private volatile long retryAt;
+        private volatile boolean failed;
+
+        Watch(final Key key) {
+            this.key = key;
+        }
+
+        void start() {
+            if (!starting.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                final var started = create(key.type().asSubclass(HasMetadata.class), key.namespace());
+                started.start().toCompletableFuture()
+                        .orTimeout(timeout, TimeUnit.SECONDS)
+                        .whenComplete((v, e) -> {
+                            if (e == null) {
+                                informer.complete(started);
+                            } else {
+                                started.stop();
+                                fail(e);
+                            }
+                        });
+            } catch (Exception e) {
+                fail(e);
+            }
+        }
+
+        private void fail(final Throwable e) {
+            LOG.debug("Can't watch " + key.type().getSimpleName() + " in " + key.namespace()
+                    + ", reading them directly for " + retry + " seconds.", e);
+            retryAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(retry);
+            failed = true;
+            informer.completeExceptionally(e);
+        }
+
+        //The failures are tried again after a while
+        boolean expired() {
+            return failed && System.nanoTime() - retryAt >= 0;
+        }
+
+        //Waits for it to start, null if it doesn't in time
+        SharedIndexInformer<?> get() {
+            try {
+                return informer.get(timeout, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        //Null if it didn't start yet
+        SharedIndexInformer<?> ready() {
+            return informer.isDone() && !informer.isCompletedExceptionally() ? informer.join() : null;
+        }
+    }
+
+    private record Change(SharedIndexInformer<?> informer, String key, boolean present,
+                          CompletableFuture<Void> done) {
+
+        boolean seen() {
+            return isPresent(informer.getStore().getByKey(key)) == present;
+        }
+
+        void check() {
+            if (seen()) {
+                done.complete(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package io.kaoto.backend.deployment;
+
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import io.kaoto.backend.api.service.deployment.generator.ClusterResources;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.BackPressureStrategy;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jboss.logging.Logger;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 🐱miniclass LogHub (ClusterService)
+ * <p>
+ * 🐱relationship compositionOf LogWatch, 0..n
+ * <p>
+ * 🐱section Logs shared by everyone following the same integration. There is only one watch on the log of its pod, no
+ * matter how many are following it, and what it reads is sent to all of them. The most recent lines are kept so whoever
+ * comes late still gets some context.
+ * <p>
+ * Each follower has its own bounded buffer. One that can't keep up fails when the buffer is full instead of slowing
+ * down the rest.
+ * <p>
+ * When the log ends, the pod is looked for again for a while: if it restarted or was replaced, the log of the new one
+ * is followed. The watch is closed as soon as the last follower leaves.
+ */
+@ApplicationScoped
+public class LogHub {
+
+    private static final Logger LOG = Logger.getLogger(LogHub.class);
+    private static final String FEEDS = "kaoto.logs.feeds";
+    private static final String FOLLOWERS = "kaoto.logs.followers";
+    //Big enough to take whatever the pod wrote since the last read, small enough not to hold the lines back
+    private static final int CHUNK = 8 * 1024;
+    private static final long FOLLOW_STEP = 500;
+
+    private final Map<Key, Feed> feeds = new ConcurrentHashMap<>();
+    private KubernetesClient kubernetesClient;
+    private ManagedExecutor managedExecutor;
+
+    @ConfigProperty(name = "kaoto.logs.replay", defaultValue = "1000")
+    int replay;
+
+    @ConfigProperty(name = "kaoto.logs.buffer", defaultValue = "256")
+    int buffer;
+
+    @ConfigProperty(name = "kaoto.logs.follow.timeout", defaultValue = "10")
+    long followTimeout;
+
+    @Inject
+    public void setKubernetesClient(final KubernetesClient kubernetesClient) {
+        this.kubernetesClient = kubernetesClient;
+    }
+
+    @Inject
+    public void setManagedExecutor(final ManagedExecutor managedExecutor) {
+        this.managedExecutor = managedExecutor;
+    }
+
+    @Inject
+    public void setRegistry(final MeterRegistry registry) {
+        registry.gaugeMapSize(FEEDS, Tags.empty(), feeds);
+        registry.gauge(FOLLOWERS, feeds, f -> f.values().stream().mapToInt(Feed::size).sum());
+    }
+
+    /*
+     * 🐱method follow: Multi
+     * 🐱param namespace: String
+     * 🐱param pod: Pod
+     * 🐱param lines: Integer
+     * 🐱param pods: Supplier
+     *
+     * Streams the log of the pod, starting with said number of lines. The supplier finds the pod running the same
+     * integration again, to follow it after a restart.
+     */
+    public Multi<String> follow(final String namespace, final Pod pod, final int lines, final Supplier<Pod> pods) {
+        final var labels = pod.getMetadata().getLabels();
+        final var integration = labels != null && labels.containsKey(ClusterResources.INTEGRATION_LABEL)
+                ? labels.get(ClusterResources.INTEGRATION_LABEL)
+                : pod.getMetadata().getName();
+        final var key = new Key(namespace, integration);
+
+        return Multi.createFrom().<String>emitter(emitter -> {
+                    final var feed = new AtomicReference<Feed>();
+                    emitter.onTermination(() -> {
+                        if (feed.get() != null) {
+                            feed.get().detach(emitter);
+                        }
+                    });
+                    //A feed that is closing removes itself and doesn't take followers anymore
+                    do {
+                        feed.set(feeds.computeIfAbsent(key, k -> new Feed(k, pods)));
+                    } while (!feed.get().attach(emitter, lines));
+                }, BackPressureStrategy.IGNORE)
+                .onOverflow().buffer(buffer);
+    }
+
+    /*
+     * 🐱method nextChunk: String
+     * 🐱param reader: Reader
+     * 🐱param pending: StringBuilder
+     *
+     * All the whole lines that can be read now, ending with a line break. What comes after the last line break
+     * is kept in pending for the next chunk. Null when there is nothing else to read.
+     */
+    static String nextChunk(final Reader reader, final StringBuilder pending) throws IOException {
+        final var chars = new char[CHUNK];
+        while (true) {
+            final var read = reader.read(chars);
+            if (read < 0) {
+                if (pending.isEmpty()) {
+                    return null;
+                }
+                //Last line, without line break
+                final var last = pending.append('\n').toString();
+                pending.setLength(0);
+                return last;
+            }
+            pending.append(chars, 0, read);
+            final var end = pending.lastIndexOf("\n") + 1;
+            //A line longer than the chunk goes out anyway, in pieces
+            final var cut = end > 0 ? end : pending.length() >= CHUNK ? pending.length() : 0;
+            if (cut > 0) {
+                final var chunk = pending.substring(0, cut);
+                pending.delete(0, cut);
+                return chunk;
+            }
+        }
+    }
+
+    private static boolean restarted(final Pod previous, final Pod pod) {
+        return !Objects.equals(previous.getMetadata().getUid(), pod.getMetadata().getUid())
+                || restarts(previous) != restarts(pod);
+    }
+
+    private static int restarts(final Pod pod) {
+        if (pod.getStatus() == null || pod.getStatus().getContainerStatuses() == null) {
+            return 0;
+        }
+        return pod.getStatus().getContainerStatuses().stream()
+                .map(ContainerStatus::getRestartCount)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+
+    @PreDestroy
+    void stop() {
+        feeds.values().forEach(feed -> feed.end(null));
+    }
+
+    /*
+     * The one watch on the log of an integration, and everyone following it.
+     */
+    private final class Feed implements Runnable {
+
+        private final Key key;
+        private final Supplier<Pod> pods;
+        private final List<MultiEmitter<? super String>> emitters = new ArrayList<>();
+        //Most recent lines, each one with its line break
+        private final ArrayDeque<String> recent = new ArrayDeque<>();
+        private int lines;
+        private LogWatch watch;
+        private boolean started;
+        private boolean closed;
+
+        Feed(final Key key, final Supplier<Pod> pods) {
+            this.key = key;
+            this.pods = pods;
+        }
+
+        synchronized int size() {
+            return emitters.size();
+        }
+
+        synchronized boolean attach(final MultiEmitter<? super String> emitter, final int tail) {
+            if (closed) {
+                feeds.remove(key, this);
+                return false;
+            }
+            if (!started) {
+                //The first one decides how much of the past the watch starts with
+                started = true;
+                lines = tail;
+                managedExecutor.execute(this);
+            } else if (tail > 0 && !recent.isEmpty()) {
+                emitter.emit(String.join("", recent.stream().skip(Math.max(0, recent.size() - tail)).toList()));
+            }
+            if (!emitter.isCancelled()) {
+                emitters.add(emitter);
+            }
+            return true;
+        }
+
+        void detach(final MultiEmitter<? super String> emitter) {
+            final LogWatch upstream;
+            synchronized (this) {
+                if (!emitters.remove(emitter) || !emitters.isEmpty()) {
+                    return;
+                }
+                closed = true;
+                upstream = watch;
+            }
+            LOG.trace("Nobody follows the log of " + key + " anymore.");
+            feeds.remove(key, this);
+            if (upstream != null) {
+                upstream.close();
+            }
+        }
+
+        void end(final Throwable failure) {
+            final List<MultiEmitter<? super String>> left;
+            final LogWatch upstream;
+            synchronized (this) {
+                closed = true;
+                upstream = watch;
+                left = new ArrayList<>(emitters);
+                emitters.clear();
+            }
+            feeds.remove(key, this);
+            if (upstream != null) {
+                upstream.close();
+            }
+            for (var emitter : left) {
+                if (failure == null) {
+                    emitter.complete();
+                } else {
+                    emitter.fail(failure);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                var pod = pods.get();
+                var tail = lines;
+                while (pod != null && open(pod, tail)) {
+                    read();
+                    //From now on, the whole log of the pod or container that replaces it
+                    tail = -1;
+                    pod = next(pod);
+                }
+                end(null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                end(null);
+            } catch (Exception e) {
+                LOG.error("Error watching log stream of " + key, e);
+                end(e);
+            }
+        }
+
+        private boolean open(final Pod pod, final int tail) {
+            final var resource = kubernetesClient.pods().inNamespace(key.namespace())
+                    .withName(pod.getMetadata().getName());
+            final var upstream = tail >= 0 ? resource.tailingLines(tail).watchLog() : resource.watchLog();
+            synchronized (this) {
+                if (!closed) {
+                    watch = upstream;
+                    return true;
+                }
+            }
+            upstream.close();
+            return false;
+        }
+
+        private void read() {
+            final Reader reader = new InputStreamReader(watch.getOutput(), StandardCharsets.UTF_8);
+            final var pending = new StringBuilder();
+            try (reader) {
+                String chunk;
+                while ((chunk = nextChunk(reader, pending)) != null) {
+                    broadcast(chunk);
+                }
+            } catch (IOException e) {
+                if (!isClosed()) {
+                    LOG.debug("The log stream of " + key + " was cut: " + e.getMessage());
+                }
+            }
+        }
+
+        private void broadcast(final String chunk) {
+            final List<MultiEmitter<? super String>> targets;
+            synchronized (this) {
+                remember(chunk);
+                targets = new ArrayList<>(emitters);
+            }
+            //Only this thread emits after attaching, so each follower gets the chunks in order
+            targets.forEach(emitter -> emitter.emit(chunk));
+        }
+
+        private void remember(final String chunk) {
+            var start = 0;
+            while (start < chunk.length()) {
+                final var end = chunk.indexOf('\n', start) + 1;
+                final var line = end > 0 ? chunk.substring(start, end) : chunk.substring(start);
+                recent.addLast(line);
+                start += line.length();
+            }
+            while (recent.size() > replay) {
+                recent.removeFirst();
+            }
+        }
+
+        private Pod next(final Pod previous) throws InterruptedException {
+            final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(followTimeout);
+            while (!isClosed() && System.nanoTime() < deadline) {
+                final var pod = pods.get();
+                if (pod != null && restarted(previous, pod)) {
+                    LOG.trace("Following the log of " + key + " on " + pod.getMetadata().getName());
+                    return pod;
+                }
+                Thread.sleep(FOLLOW_STEP);
+            }
+            return null;
+        }
+
+        private synchronized boolean isClosed() {
+            return closed;
+        }
+    }
+
+    private record Key(String namespace, String integration) {
+    }
+}
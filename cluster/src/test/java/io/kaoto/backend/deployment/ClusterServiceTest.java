@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
 import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
@@ -268,6 +269,26 @@ class ClusterServiceTest {
         assertTrue(logs.subscribe().asStream().allMatch(s -> s != null));
     }
 
+    @Test
+    void testAsync() {
+        String ns = "default";
+        assertTrue(clusterService.getResourcesAsync(ns).await().indefinitely().isEmpty());
+
+        clusterService.startAsync(kameletBinding, ns).await().indefinitely();
+        final var resources = clusterService.getResourcesAsync(ns).await().indefinitely();
+        assertEquals(1, resources.size());
+
+        final var binding = resources.get(0);
+        assertNotNull(clusterService.getAsync(ns, binding.getName(), binding.getType()).await().indefinitely());
+        assertTrue(clusterService.stopAsync(binding.getName(), ns, binding.getType()).await().indefinitely());
+        assertTrue(clusterService.getResourcesAsync(ns).await().indefinitely().isEmpty());
+
+        assertThrows(NotFoundException.class,
+                () -> clusterService.stopAsync(binding.getName(), ns, null).await().indefinitely());
+        assertThrows(IllegalArgumentException.class,
+                () -> clusterService.startAsync("Wrong text", ns).await().indefinitely());
+    }
+
     public ClusterService getClusterService() {
         return clusterService;
     }
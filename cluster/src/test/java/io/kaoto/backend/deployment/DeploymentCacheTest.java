@@ -0,0 +1,139 @@
+package io.kaoto.backend.deployment;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.kaoto.backend.api.service.deployment.generator.ClusterResources;
+import io.kaoto.backend.camel.model.deployment.kamelet.KameletBinding;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@WithKubernetesTestServer
+@QuarkusTest
+class DeploymentCacheTest {
+
+    private static final String NS = "cache-test";
+    private static final String OTHER_NS = "cache-test-other";
+
+    private String kameletBinding = "apiVersion: camel.apache.org/v1alpha1\n"
+            + "kind: KameletBinding\n"
+            + "metadata:\n"
+            + "  name: cachedbinding\n"
+            + "spec:\n"
+            + "  source:\n"
+            + "    uri: timer:foo\n"
+            + "  sink: \n"
+            + "    uri: log:bar";
+
+    @Inject
+    private KubernetesClient kubernetesClient;
+
+    private DeploymentCache cache;
+
+    @BeforeEach
+    void createCache() {
+        cache = new DeploymentCache();
+        cache.setKubernetesClient(kubernetesClient);
+        cache.enabled = true;
+        cache.timeout = 10;
+        cache.retry = 60;
+        cache.maxInformers = 64;
+    }
+
+    @AfterEach
+    void stopCache() {
+        cache.stop();
+        kubernetesClient.resources(KameletBinding.class).inNamespace(NS).delete();
+        kubernetesClient.pods().inNamespace(NS).delete();
+        kubernetesClient.resources(KameletBinding.class).inNamespace(OTHER_NS).delete();
+    }
+
+    @Test
+    void readFromInformers() {
+        assertTrue(cache.list(KameletBinding.class, NS).isEmpty());
+
+        kubernetesClient.resources(KameletBinding.class)
+                .inNamespace(NS)
+                .load(new ByteArrayInputStream(kameletBinding.getBytes(StandardCharsets.UTF_8)))
+                .create();
+        cache.await(KameletBinding.class, NS, "cachedbinding", true);
+        assertEquals(1, cache.list(KameletBinding.class, NS).size());
+        assertEquals(1, ClusterResources.of(kubernetesClient).list(KameletBinding.class, NS).size());
+
+        kubernetesClient.resources(KameletBinding.class).inNamespace(NS).withName("cachedbinding").delete();
+        cache.await(KameletBinding.class, NS, "cachedbinding", false);
+        assertTrue(cache.list(KameletBinding.class, NS).isEmpty());
+    }
+
+    @Test
+    void podsByIntegration() {
+        assertTrue(cache.pods(NS, "cachedbinding").isEmpty());
+
+        kubernetesClient.resource(pod("cachedbinding-pod", Map.of(ClusterResources.INTEGRATION_LABEL, "cachedbinding")))
+                .inNamespace(NS).create();
+        kubernetesClient.resource(pod("other-pod", Map.of(ClusterResources.INTEGRATION_LABEL, "other")))
+                .inNamespace(NS).create();
+        kubernetesClient.resource(pod("not-an-integration", Map.of("app", "cachedbinding")))
+                .inNamespace(NS).create();
+        cache.await(Pod.class, NS, "cachedbinding-pod", true);
+        cache.await(Pod.class, NS, "other-pod", true);
+
+        final var pods = cache.pods(NS, "cachedbinding");
+        assertEquals(1, pods.size());
+        assertEquals("cachedbinding-pod", pods.get(0).getMetadata().getName());
+        assertEquals(1, cache.pods(NS, "other").size());
+        assertTrue(cache.pods(NS, "not-an-integration").isEmpty());
+    }
+
+    @Test
+    void disabled() {
+        cache.enabled = false;
+        assertTrue(cache.list(KameletBinding.class, NS).isEmpty());
+
+        kubernetesClient.resources(KameletBinding.class)
+                .inNamespace(NS)
+                .load(new ByteArrayInputStream(kameletBinding.getBytes(StandardCharsets.UTF_8)))
+                .create();
+
+        //Nothing to wait for, it goes straight to the cluster
+        assertEquals(1, cache.list(KameletBinding.class, NS).size());
+    }
+
+    @Test
+    void tooManyInformers() {
+        cache.maxInformers = 1;
+        assertTrue(cache.list(KameletBinding.class, NS).isEmpty());
+        assertTrue(cache.list(KameletBinding.class, OTHER_NS).isEmpty());
+
+        kubernetesClient.resources(KameletBinding.class)
+                .inNamespace(OTHER_NS)
+                .load(new ByteArrayInputStream(kameletBinding.getBytes(StandardCharsets.UTF_8)))
+                .create();
+
+        //Not watched, so it goes straight to the cluster
+        assertEquals(1, cache.list(KameletBinding.class, OTHER_NS).size());
+    }
+
+    private static Pod pod(final String name, final Map<String, String> labels) {
+        return new PodBuilder()
+                .editOrNewMetadata()
+                .withName(name)
+                .withLabels(labels)
+                .endMetadata()
+                .editOrNewStatus()
+                .withPhase("Running")
+                .endStatus()
+                .build();
+    }
+}
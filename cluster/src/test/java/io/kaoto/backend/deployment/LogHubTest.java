@@ -0,0 +1,88 @@
+package io.kaoto.backend.deployment;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.kaoto.backend.api.service.deployment.generator.ClusterResources;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LogHubTest {
+
+    private static final String LOG = "/api/v1/namespaces/hub/pods/hub-pod/log?pretty=false&tailLines=5&follow=true";
+
+    private final Pod pod = new PodBuilder()
+            .withNewMetadata()
+            .withName("hub-pod")
+            .withNamespace("hub")
+            .withUid("hub-pod-uid")
+            .withLabels(Map.of(ClusterResources.INTEGRATION_LABEL, "hub"))
+            .endMetadata()
+            .build();
+
+    private KubernetesMockServer server;
+    private SimpleMeterRegistry registry;
+    private LogHub logHub;
+
+    @BeforeEach
+    void setUp() {
+        server = new KubernetesMockServer(false);
+        server.init();
+        registry = new SimpleMeterRegistry();
+        logHub = new LogHub();
+        logHub.setKubernetesClient(server.createClient());
+        logHub.setManagedExecutor(ManagedExecutor.builder().build());
+        logHub.setRegistry(registry);
+        logHub.replay = 2;
+        logHub.buffer = 16;
+        logHub.followTimeout = 0;
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.destroy();
+    }
+
+    @Test
+    void followersShareTheWatch() throws Exception {
+        server.expect().get().withPath(LOG).andReturn(200, "one\ntwo\nthree\n").once();
+
+        final var late = new CompletableFuture<List<String>>();
+        final var first = logHub.follow("hub", pod, 5, () -> pod)
+                .invoke(chunk -> {
+                    //Someone else comes while the log is being read
+                    if (!late.isDone()) {
+                        logHub.follow("hub", pod, 5, () -> pod).collect().asList().subscribe().with(late::complete);
+                    }
+                })
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(10));
+
+        assertEquals("one\ntwo\nthree\n", String.join("", first));
+        //No second watch, only what was kept for those coming late
+        assertEquals("two\nthree\n", String.join("", late.get(10, TimeUnit.SECONDS)));
+        assertEquals(0.0, registry.get("kaoto.logs.feeds").gauge().value());
+    }
+
+    @Test
+    void chunks() throws Exception {
+        final var reader = new StringReader("first\nsecond\nthird");
+        final var pending = new StringBuilder();
+        assertEquals("first\nsecond\n", LogHub.nextChunk(reader, pending));
+        assertEquals("third\n", LogHub.nextChunk(reader, pending));
+        assertNull(LogHub.nextChunk(reader, pending));
+    }
+}
@@ -3,7 +3,9 @@ package io.kaoto.backend.metadata;
 import io.kaoto.backend.model.Metadata;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 🐱class MetadataCatalog
@@ -13,6 +15,12 @@ import java.util.List;
  */
 public interface MetadataCatalog<T extends Metadata> {
 
+    /*
+     * Order of the elements when they are paged: by id, elements without id first.
+     */
+    Comparator<String> ID_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+    Comparator<Metadata> BY_ID = Comparator.comparing(Metadata::getId, ID_ORDER);
+
     /*
      * 🐱method searchStepByID : Metadata
      * 🐱param id: String
@@ -22,6 +30,24 @@ public interface MetadataCatalog<T extends Metadata> {
      */
     T searchByID(String id);
 
+    /*
+     * 🐱method copyByID : Metadata
+     * 🐱param id: String
+     *
+     * Returns a private, mutable copy of the element identified by the
+     * parameter. Use this instead of searchByID when the element returned
+     * is going to be modified.
+     *
+     */
+    @SuppressWarnings("unchecked")
+    default T copyByID(String id) {
+        T element = searchByID(id);
+        if (element != null) {
+            element = (T) element.clone();
+        }
+        return element;
+    }
+
     /*
      * 🐱method searchByName : List[Metadata]
      * 🐱param name: String
@@ -32,6 +58,56 @@ public interface MetadataCatalog<T extends Metadata> {
      */
     Collection<T> searchByName(String name);
 
+    /*
+     * 🐱method searchByKindAndType : List[Metadata]
+     * 🐱param kinds: List[String]
+     * 🐱param types: List[String]
+     *
+     * Returns all the elements (no order warranteed) whose kind and type
+     * are, ignoring case, on the collections passed as parameters.
+     * A null collection means no filtering on that dimension, while an
+     * empty collection matches nothing.
+     *
+     */
+    Collection<T> searchByKindAndType(Collection<String> kinds, Collection<String> types);
+
+    /*
+     * 🐱method streamByKindAndType : Stream[Metadata]
+     * 🐱param kinds: List[String]
+     * 🐱param types: List[String]
+     * 🐱param after: String
+     *
+     * Same elements as searchByKindAndType, sorted by id and starting
+     * right after the id given, if any. Catalogs that keep their elements
+     * sorted produce them lazily, so reading a page doesn't cost the whole
+     * catalog.
+     *
+     */
+    default Stream<T> streamByKindAndType(Collection<String> kinds, Collection<String> types, String after) {
+        return streamByKindAndType(kinds, types, after, false);
+    }
+
+    /*
+     * 🐱method streamByKindAndType : Stream[Metadata]
+     * 🐱param kinds: List[String]
+     * 🐱param types: List[String]
+     * 🐱param id: String
+     * 🐱param inclusive: boolean
+     *
+     * Same as above, but the elements with the id given are included if
+     * inclusive, so pages can start in the middle of elements that share
+     * an id. Elements with the same id always come in the same order.
+     * Inclusive from a null id means from the beginning.
+     *
+     */
+    default Stream<T> streamByKindAndType(Collection<String> kinds, Collection<String> types, String id,
+                                          boolean inclusive) {
+        return searchByKindAndType(kinds, types).stream()
+                .filter(element -> inclusive || id == null || ID_ORDER.compare(element.getId(), id) > 0)
+                .filter(element -> !inclusive || ID_ORDER.compare(element.getId(), id) >= 0)
+                .sorted(BY_ID);
+    }
+
     /*
      * 🐱method store: boolean
      * 🐱param steps: List[Step]
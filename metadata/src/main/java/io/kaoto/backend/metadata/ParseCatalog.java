@@ -1,5 +1,7 @@
 package io.kaoto.backend.metadata;
 
+import io.kaoto.backend.metadata.catalog.CatalogSnapshotStore;
+import io.kaoto.backend.metadata.parser.ParseWorkers;
 import io.kaoto.backend.metadata.parser.ProcessFile;
 import io.kaoto.backend.model.Metadata;
 
@@ -27,4 +29,27 @@ public interface ParseCatalog<T extends Metadata> {
      *
      */
     void setFileVisitor(ProcessFile<T> fileVisitor);
+
+    /*
+     * 🐱method setSnapshotStore
+     * 🐱param snapshotStore: CatalogSnapshotStore
+     *
+     * Where to keep the parsed elements between runs. Parsers that can
+     * hash their source cheaply use it to skip parsing unchanged sources.
+     *
+     */
+    default void setSnapshotStore(CatalogSnapshotStore snapshotStore) {
+        //Nothing to cache by default
+    }
+
+    /*
+     * 🐱method setParseWorkers
+     * 🐱param parseWorkers: ParseWorkers
+     *
+     * Worker pool to parse the files of the source on.
+     *
+     */
+    default void setParseWorkers(ParseWorkers parseWorkers) {
+        //Nothing parsed on a pool by default
+    }
 }
@@ -7,7 +7,9 @@ import io.kaoto.backend.model.Metadata;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 🐱class CatalogCollection
@@ -21,18 +23,32 @@ import java.util.List;
 public class CatalogCollection<T extends Metadata>
         implements MetadataCatalog<T> {
 
-    private final List<MetadataCatalog<T>> catalogs;
+    //Readers iterate over whatever list was published last, never a list being modified
+    private volatile List<MetadataCatalog<T>> catalogs;
 
     public CatalogCollection() {
-        catalogs = new ArrayList<>();
+        catalogs = Collections.emptyList();
     }
 
-    public void addCatalog(final MetadataCatalog<T> c) {
+    public synchronized void addCatalog(final MetadataCatalog<T> c) {
         if (!catalogs.contains(c)) {
-            catalogs.add(c);
+            List<MetadataCatalog<T>> res = new ArrayList<>(catalogs);
+            res.add(c);
+            catalogs = Collections.unmodifiableList(res);
         }
     }
 
+    /*
+     * 🐱method setCatalogs
+     * 🐱param catalogs: List[MetadataCatalog]
+     *
+     * Replaces all the catalogs of this collection at once.
+     *
+     */
+    protected synchronized void setCatalogs(final List<MetadataCatalog<T>> catalogs) {
+        this.catalogs = List.copyOf(catalogs);
+    }
+
     @Override
     public T searchByID(final String id) {
         for (MetadataCatalog<T> c : catalogs) {
@@ -56,6 +72,26 @@ public class CatalogCollection<T extends Metadata>
         return steps;
     }
 
+    @Override
+    public Collection<T> searchByKindAndType(final Collection<String> kinds, final Collection<String> types) {
+        Collection<T> steps = new ArrayList<>();
+        for (MetadataCatalog<T> c : catalogs) {
+            steps.addAll(c.searchByKindAndType(kinds, types));
+        }
+        return steps;
+    }
+
+    @Override
+    public Stream<T> streamByKindAndType(final Collection<String> kinds, final Collection<String> types,
+                                         final String id, final boolean inclusive) {
+        //Elements with the same id come in the order of the catalogs
+        List<Iterator<T>> iterators = new ArrayList<>();
+        for (MetadataCatalog<T> c : catalogs) {
+            iterators.add(c.streamByKindAndType(kinds, types, id, inclusive).iterator());
+        }
+        return CatalogIndex.merge(iterators);
+    }
+
     @Override
     public boolean store(final List<T> steps) {
         throw new UnsupportedOperationException(
@@ -72,7 +108,7 @@ public class CatalogCollection<T extends Metadata>
     }
 
     @Override
-    public void clear() {
-        catalogs.clear();
+    public synchronized void clear() {
+        catalogs = Collections.emptyList();
     }
 }
@@ -0,0 +1,282 @@
+package io.kaoto.backend.metadata.catalog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.kaoto.backend.metadata.MetadataCatalog;
+import io.kaoto.backend.model.Metadata;
+import io.kaoto.backend.model.step.Step;
+
+/**
+ * 🐱class CatalogIndex
+ *
+ * Immutable, case-folded secondary indexes over the elements of a catalog:
+ * name, kind, type and kind x type. It is built once per store and then
+ * shared by all readers, so queries become posting lookups instead of
+ * scans over the whole catalog.
+ *
+ * Elements and postings are kept sorted by id, so a page of a query can be
+ * read from where the previous page ended without sorting anything.
+ * Elements with the same id keep the order they were stored in.
+ */
+final class CatalogIndex<T extends Metadata> {
+
+    private static final char SEPARATOR = '\u0000';
+
+    private final List<T> all;
+    private final Map<String, List<T>> byName;
+    private final Map<String, List<T>> byKind;
+    private final Map<String, List<T>> byType;
+    private final Map<String, List<T>> byKindAndType;
+
+    CatalogIndex(final Collection<T> elements) {
+        final List<T> sorted = new ArrayList<>(elements);
+        sorted.sort(MetadataCatalog.BY_ID);
+        this.all = List.copyOf(sorted);
+
+        Map<String, List<T>> names = new HashMap<>();
+        Map<String, List<T>> kinds = new HashMap<>();
+        Map<String, List<T>> types = new HashMap<>();
+        Map<String, List<T>> kindsAndTypes = new HashMap<>();
+        for (T element : all) {
+            final var name = fold(element.getName());
+            final var kind = fold(kindOf(element));
+            final var type = fold(element.getType());
+            add(names, name, element);
+            add(kinds, kind, element);
+            add(types, type, element);
+            if (kind != null && type != null) {
+                add(kindsAndTypes, kind + SEPARATOR + type, element);
+            }
+        }
+
+        this.byName = freeze(names);
+        this.byKind = freeze(kinds);
+        this.byType = freeze(types);
+        this.byKindAndType = freeze(kindsAndTypes);
+    }
+
+    static <T extends Metadata> CatalogIndex<T> empty() {
+        return new CatalogIndex<>(Collections.emptyList());
+    }
+
+    /*
+     * 🐱method kindOf: String
+     * 🐱param element: Metadata
+     *
+     * Kind of the element, if the element has one.
+     */
+    static String kindOf(final Metadata element) {
+        if (element instanceof Step step) {
+            return step.getKind();
+        }
+        return null;
+    }
+
+    /*
+     * 🐱method matches: Predicate
+     * 🐱param kinds: List[String]
+     * 🐱param types: List[String]
+     *
+     * Same filtering as byKindAndType, but usable on a plain scan.
+     */
+    static <T extends Metadata> Predicate<T> matches(final Collection<String> kinds,
+                                                     final Collection<String> types) {
+        final Set<String> foldedKinds = foldAll(kinds);
+        final Set<String> foldedTypes = foldAll(types);
+        return element -> (foldedKinds == null || foldedKinds.contains(fold(kindOf(element))))
+                && (foldedTypes == null || foldedTypes.contains(fold(element.getType())));
+    }
+
+    List<T> all() {
+        return all;
+    }
+
+    List<T> byName(final String name) {
+        return byName.getOrDefault(fold(name), Collections.emptyList());
+    }
+
+    /*
+     * 🐱method byKindAndType: List[Metadata]
+     * 🐱param kinds: List[String]
+     * 🐱param types: List[String]
+     *
+     * Union of the postings for every kind and type requested.
+     * A null collection means no filtering on that dimension.
+     * As each element has only one kind and one type, the postings
+     * for different keys never overlap.
+     */
+    List<T> byKindAndType(final Collection<String> kinds, final Collection<String> types) {
+        final var postings = postings(kinds, types);
+        if (postings.size() == 1) {
+            return postings.get(0);
+        }
+
+        List<T> res = new ArrayList<>();
+        postings.forEach(res::addAll);
+        return Collections.unmodifiableList(res);
+    }
+
+    /*
+     * 🐱method sortedByKindAndType: Stream[Metadata]
+     * 🐱param kinds: List[String]
+     * 🐱param types: List[String]
+     * 🐱param id: String
+     * 🐱param inclusive: boolean
+     *
+     * Same elements as byKindAndType, sorted by id and starting at the id
+     * given, or right after it if not inclusive. Each posting is already
+     * sorted, so this only looks for where to start on each of them and
+     * merges them lazily.
+     */
+    Stream<T> sortedByKindAndType(final Collection<String> kinds, final Collection<String> types,
+                                  final String id, final boolean inclusive) {
+        List<Iterator<T>> iterators = new ArrayList<>();
+        for (List<T> posting : postings(kinds, types)) {
+            iterators.add(posting.subList(first(posting, id, inclusive), posting.size()).iterator());
+        }
+        return merge(iterators);
+    }
+
+    /*
+     * 🐱method merge: Stream[Metadata]
+     * 🐱param iterators: List[Iterator]
+     *
+     * Lazily merges iterators already sorted by id into one sorted stream.
+     * Elements with the same id come in the order of the iterators.
+     */
+    static <T extends Metadata> Stream<T> merge(final List<Iterator<T>> iterators) {
+        final Iterator<T> merged = iterators.size() == 1 ? iterators.get(0) : new MergingIterator<>(iterators);
+        //Sorted by id, not by their natural order, so the stream can't say it is SORTED
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private List<List<T>> postings(final Collection<String> kinds, final Collection<String> types) {
+        final Set<String> foldedKinds = foldAll(kinds);
+        final Set<String> foldedTypes = foldAll(types);
+
+        if (foldedKinds == null && foldedTypes == null) {
+            return List.of(all);
+        }
+
+        List<List<T>> res = new ArrayList<>();
+        if (foldedTypes == null) {
+            foldedKinds.forEach(kind -> res.add(byKind.getOrDefault(kind, Collections.emptyList())));
+        } else if (foldedKinds == null) {
+            foldedTypes.forEach(type -> res.add(byType.getOrDefault(type, Collections.emptyList())));
+        } else {
+            for (String kind : foldedKinds) {
+                for (String type : foldedTypes) {
+                    res.add(byKindAndType.getOrDefault(kind + SEPARATOR + type, Collections.emptyList()));
+                }
+            }
+        }
+        return res;
+    }
+
+    private static <T extends Metadata> int first(final List<T> posting, final String id, final boolean inclusive) {
+        if (id == null && !inclusive) {
+            return 0;
+        }
+        //Inclusive, the first one not before the id; otherwise, the first one after it
+        final int bound = inclusive ? 0 : 1;
+        int low = 0;
+        int high = posting.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (MetadataCatalog.ID_ORDER.compare(posting.get(middle).getId(), id) < bound) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static <T> void add(final Map<String, List<T>> index, final String key, final T element) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new ArrayList<>()).add(element);
+        }
+    }
+
+    private static <T> Map<String, List<T>> freeze(final Map<String, List<T>> index) {
+        Map<String, List<T>> res = new HashMap<>(index.size());
+        index.forEach((key, postings) -> res.put(key, List.copyOf(postings)));
+        return Collections.unmodifiableMap(res);
+    }
+
+    private static Set<String> foldAll(final Collection<String> values) {
+        if (values == null) {
+            return null;
+        }
+        Set<String> res = new LinkedHashSet<>();
+        for (String value : values) {
+            final var folded = fold(value);
+            if (folded != null) {
+                res.add(folded);
+            }
+        }
+        return res;
+    }
+
+    private static String fold(final String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static final class MergingIterator<T extends Metadata> implements Iterator<T> {
+
+        private final PriorityQueue<Head<T>> heads = new PriorityQueue<>();
+
+        MergingIterator(final List<Iterator<T>> iterators) {
+            for (int i = 0; i < iterators.size(); i++) {
+                advance(iterators.get(i), i);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            final var head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            advance(head.rest(), head.source());
+            return head.element();
+        }
+
+        private void advance(final Iterator<T> iterator, final int source) {
+            if (iterator.hasNext()) {
+                heads.add(new Head<>(iterator.next(), iterator, source));
+            }
+        }
+    }
+
+    private record Head<T extends Metadata>(T element, Iterator<T> rest, int source)
+            implements Comparable<Head<T>> {
+        @Override
+        public int compareTo(final Head<T> other) {
+            final var res = MetadataCatalog.BY_ID.compare(element, other.element);
+            return res != 0 ? res : Integer.compare(source, other.source);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package io.kaoto.backend.metadata.catalog;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.jboss.logging.Logger;
+
+import io.kaoto.backend.model.Metadata;
+
+/**
+ * 🐱class CatalogSnapshotStore
+ *
+ * Keeps on disk a binary snapshot of the elements parsed from each source of
+ * a catalog, keyed by a hash of the content of that source. When the source
+ * didn't change since the snapshot was written, the elements are read back
+ * from the snapshot instead of being parsed again.
+ */
+public class CatalogSnapshotStore {
+
+    private static final Logger LOG = Logger.getLogger(CatalogSnapshotStore.class);
+
+    private static final int MAGIC = 0x4B414F54;
+    private static final int FORMAT = 1;
+    private static final String EXTENSION = ".snapshot";
+
+    //Snapshots only contain our model, don't let them instantiate anything else
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+            "io.kaoto.backend.model.**;java.lang.*;java.util.*;java.math.*;"
+                    + "com.fasterxml.jackson.databind.node.*;!*");
+
+    private final Path directory;
+    private final String version;
+
+    /*
+     * 🐱constructor CatalogSnapshotStore
+     * 🐱param directory: Path
+     * 🐱param version: String
+     *
+     * Snapshots are stored in the directory. The version is part of every
+     * key, so snapshots written by a different version are never used.
+     */
+    public CatalogSnapshotStore(final Path directory, final String version) {
+        this.directory = directory;
+        this.version = version;
+    }
+
+    /*
+     * 🐱method key: String
+     * 🐱param parts: String[]
+     *
+     * Builds the key of a snapshot from the identity of the parser and the
+     * hash of the content of the source it parses.
+     */
+    public String key(final String... parts) {
+        final var digest = digest();
+        digest.update(version.getBytes(StandardCharsets.UTF_8));
+        for (String part : parts) {
+            digest.update((byte) 0);
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /*
+     * 🐱method loadOrParse: List[Metadata]
+     * 🐱param key: String
+     * 🐱param parser: Supplier
+     *
+     * Returns the elements stored under the key. If there is no valid
+     * snapshot, calls the parser and stores what it returns.
+     */
+    public <T extends Metadata> List<T> loadOrParse(final String key, final Supplier<List<T>> parser) {
+        List<T> elements = load(key);
+        if (elements == null) {
+            elements = parser.get();
+            save(key, elements);
+        }
+        return elements;
+    }
+
+    /*
+     * 🐱method load: List[Metadata]
+     * 🐱param key: String
+     *
+     * Returns the elements stored under the key, or null if there is no
+     * valid snapshot for it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Metadata> List<T> load(final String key) {
+        final var file = directory.resolve(key + EXTENSION);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             ObjectInputStream in = new ObjectInputStream(
+                     new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())))) {
+            in.setObjectInputFilter(FILTER);
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT) {
+                LOG.debug("Ignoring snapshot with unknown format " + file);
+                return null;
+            }
+            final var elements = (List<T>) in.readObject();
+            LOG.trace("Loaded " + elements.size() + " elements from snapshot " + file);
+            return elements;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOG.warn("Ignoring invalid catalog snapshot " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /*
+     * 🐱method save
+     * 🐱param key: String
+     * 🐱param elements: List[Metadata]
+     *
+     * Stores the elements under the key. The snapshot is written aside and
+     * then moved in place, so readers never see a half-written snapshot.
+     */
+    public <T extends Metadata> void save(final String key, final List<T> elements) {
+        Path tmp = null;
+        try {
+            Files.createDirectories(directory);
+            tmp = Files.createTempFile(directory, key, ".tmp");
+            try (ObjectOutputStream out = new ObjectOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeObject(new ArrayList<>(elements));
+            }
+            Files.move(tmp, directory.resolve(key + EXTENSION),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOG.trace("Stored " + elements.size() + " elements on snapshot " + key);
+        } catch (IOException e) {
+            LOG.warn("Couldn't store catalog snapshot " + key + ": " + e.getMessage());
+            if (tmp != null) {
+                tmp.toFile().delete();
+            }
+        }
+    }
+
+    /*
+     * 🐱method digest: MessageDigest
+     *
+     * Digest used to hash the content of the sources.
+     */
+    public static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /*
+     * 🐱method hash: String
+     * 🐱param content: byte[]
+     *
+     * Hash of the content of a source.
+     */
+    public static String hash(final byte[] content) {
+        return HexFormat.of().formatHex(digest().digest(content));
+    }
+
+    /*
+     * 🐱method hash: String
+     * 🐱param file: Path
+     *
+     * Hash of the content of a file. The file is mapped in memory instead
+     * of being read into the heap.
+     */
+    public static String hash(final Path file) throws IOException {
+        final var digest = digest();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final var size = channel.size();
+            for (long position = 0; position < size; position += Integer.MAX_VALUE) {
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(Integer.MAX_VALUE, size - position)));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final var n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -51,6 +51,12 @@ public class InMemoryCatalog<T extends Metadata> implements MetadataCatalog<T> {
         return step;
     }
 
+    @Override
+    public T copyByID(final String id) {
+        //searchByID already returns a copy
+        return searchByID(id);
+    }
+
     @Override
     public Collection<T> searchByName(final String name) {
         if (name == null) {
@@ -63,6 +69,14 @@ public class InMemoryCatalog<T extends Metadata> implements MetadataCatalog<T> {
                 .toList();
     }
 
+    @Override
+    public Collection<T> searchByKindAndType(final Collection<String> kinds, final Collection<String> types) {
+        return metadataCatalog.values().stream().parallel()
+                .filter(CatalogIndex.matches(kinds, types))
+                .map(t -> (T) t.clone())
+                .toList();
+    }
+
     @Override
     public Collection<T> getAll() {
         return metadataCatalog.entrySet().stream().parallel()
@@ -1,5 +1,7 @@
 package io.kaoto.backend.metadata.catalog;
 
+import java.util.List;
+
 import io.kaoto.backend.metadata.MetadataCatalog;
 import io.kaoto.backend.model.Metadata;
 
@@ -9,7 +11,9 @@ import io.kaoto.backend.model.Metadata;
  *
  * A Catalog Collection that acts as singleton to a catalog collection. It
  * only contains one catalog, and if you add another one, it replaces it.
- * This is useful to avoid empty catalogs when reloading data.
+ * This is useful to avoid empty catalogs when reloading data: the
+ * replacement is published at once, so readers see either the old catalog
+ * or the new one, never an empty collection.
  */
 public class ReadOnlyCatalog<T extends Metadata> extends CatalogCollection<T> {
 
@@ -18,8 +22,7 @@ public class ReadOnlyCatalog<T extends Metadata> extends CatalogCollection<T> {
     }
 
     @Override
-    public synchronized void addCatalog(final MetadataCatalog<T> c) {
-        this.clear();
-        super.addCatalog(c);
+    public void addCatalog(final MetadataCatalog<T> c) {
+        super.setCatalogs(List.of(c));
     }
 }
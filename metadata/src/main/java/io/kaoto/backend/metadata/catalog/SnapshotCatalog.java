@@ -0,0 +1,96 @@
+package io.kaoto.backend.metadata.catalog;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.jboss.logging.Logger;
+
+import io.kaoto.backend.metadata.MetadataCatalog;
+import io.kaoto.backend.model.Metadata;
+
+/**
+ * 🐱class SnapshotCatalog
+ * 🐱inherits MetadataCatalog
+ * 🐱relationship compositionOf CatalogIndex, 1
+ *
+ * Catalog implementation that holds frozen snapshots of the elements stored.
+ * Reads share those snapshots without copying them, so the elements returned
+ * by searchByID, searchByName and getAll must be treated as read-only.
+ * Callers that need to modify an element must ask for a private copy through
+ * copyByID or by cloning the element they picked.
+ *
+ * Every store rebuilds the secondary indexes and publishes them together with
+ * the elements, so readers always see a consistent snapshot.
+ */
+public class SnapshotCatalog<T extends Metadata> implements MetadataCatalog<T> {
+
+    private static final Logger LOG = Logger.getLogger(SnapshotCatalog.class);
+
+    private volatile Snapshot<T> snapshot = new Snapshot<>(Collections.emptyMap(), CatalogIndex.empty());
+
+    @Override
+    public synchronized boolean store(final List<T> steps) {
+        if (steps == null) {
+            return false;
+        }
+
+        //Build the new snapshot off to the side and publish it at once
+        final Map<String, T> elements = new HashMap<>(snapshot.elements());
+        final Map<String, T> incoming = new HashMap<>();
+        steps.stream()
+                .filter(Objects::nonNull)
+                .forEach(step -> incoming.putIfAbsent(step.getId(), step));
+        elements.putAll(incoming);
+
+        this.snapshot = new Snapshot<>(Collections.unmodifiableMap(elements),
+                new CatalogIndex<>(elements.values()));
+        LOG.trace("Catalog now has " + elements.size() + " elements.");
+
+        return true;
+    }
+
+    @Override
+    public T searchByID(final String id) {
+        if (id == null) {
+            return null;
+        }
+        return snapshot.elements().get(id);
+    }
+
+    @Override
+    public Collection<T> searchByName(final String name) {
+        if (name == null) {
+            return Collections.emptyList();
+        }
+        return snapshot.index().byName(name);
+    }
+
+    @Override
+    public Collection<T> searchByKindAndType(final Collection<String> kinds, final Collection<String> types) {
+        return snapshot.index().byKindAndType(kinds, types);
+    }
+
+    @Override
+    public Stream<T> streamByKindAndType(final Collection<String> kinds, final Collection<String> types,
+                                         final String id, final boolean inclusive) {
+        return snapshot.index().sortedByKindAndType(kinds, types, id, inclusive);
+    }
+
+    @Override
+    public Collection<T> getAll() {
+        return snapshot.index().all();
+    }
+
+    @Override
+    public synchronized void clear() {
+        this.snapshot = new Snapshot<>(Collections.emptyMap(), CatalogIndex.empty());
+    }
+
+    private record Snapshot<T extends Metadata>(Map<String, T> elements, CatalogIndex<T> index) {
+    }
+}
@@ -10,10 +10,8 @@ import io.kaoto.backend.model.Metadata;
 import org.jboss.logging.Logger;
 
 import java.io.StringReader;
-import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * 🐱class ClusterParseCatalog
@@ -41,6 +39,7 @@ public class ClusterParseCatalog<T extends Metadata> implements ParseCatalog<T>
     }
 
     private ProcessFile<T> yamlProcessFile;
+    private ParseWorkers parseWorkers;
 
     public ClusterParseCatalog(final Class<? extends CustomResource> cr) {
         this.cr = cr;
@@ -50,8 +49,7 @@ public class ClusterParseCatalog<T extends Metadata> implements ParseCatalog<T>
     private List<T> getCRAndParse(final Class<? extends CustomResource> cr) {
         LOG.trace("Warming up repository from cluster.");
 
-        List<T> metadataList = Collections.synchronizedList(new CopyOnWriteArrayList<>());
-        final List<CompletableFuture<Void>> futureMd = Collections.synchronizedList(new CopyOnWriteArrayList<>());
+        final var pipeline = new ParsePipeline<>(cr.getSimpleName(), this.yamlProcessFile, parseWorkers);
 
         try {
             final List<? extends CustomResource> resources;
@@ -68,30 +66,27 @@ public class ClusterParseCatalog<T extends Metadata> implements ParseCatalog<T>
             LOG.infof("Retrieved %s resources in %s ms.", resources.size(), System.currentTimeMillis() - time);
 
             //For each custom resource, let's process it
-            resources.stream().parallel().forEach(resource ->
-                    //Add the data to the future asynchronously
-                    futureMd.add(CompletableFuture.runAsync(() ->
-                    {
-                        try {
-                            LOG.tracef("Adding an entry: %s", resource.getMetadata().getName());
-                            metadataList.addAll(this.yamlProcessFile.parseInputStream(
-                                    new StringReader(objectMapper.writeValueAsString(resource))));
-                        } catch (Throwable t) {
-                            LOG.trace("Couldn't parse the resource.", t);
-                        }
-                    }))
-            );
+            for (var resource : resources) {
+                pipeline.submit(resource.getMetadata().getName(), () -> {
+                    try {
+                        LOG.tracef("Adding an entry: %s", resource.getMetadata().getName());
+                        return this.yamlProcessFile.parseInputStream(
+                                new StringReader(objectMapper.writeValueAsString(resource)));
+                    } catch (Throwable t) {
+                        LOG.trace("Couldn't parse the resource.", t);
+                        return List.of();
+                    }
+                });
+            }
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Interrupted while retrieving elements from cluster.", e);
         } catch (Exception e) {
             LOG.error("Error retrieving elements from cluster.", e);
         }
 
-        this.yamlProcessFile.setFutureMetadata(futureMd);
-        this.yamlProcessFile.setMetadataList(metadataList);
-        LOG.trace("Found " + futureMd.size() + " elements.");
-        CompletableFuture.allOf(futureMd.toArray(new CompletableFuture[0])).join();
-
-        return metadataList;
+        return pipeline.finish();
     }
 
     @Override
@@ -105,4 +100,9 @@ public class ClusterParseCatalog<T extends Metadata> implements ParseCatalog<T>
     public void setFileVisitor(final ProcessFile<T> fileVisitor) {
         this.yamlProcessFile = fileVisitor;
     }
+
+    @Override
+    public void setParseWorkers(final ParseWorkers parseWorkers) {
+        this.parseWorkers = parseWorkers;
+    }
 }
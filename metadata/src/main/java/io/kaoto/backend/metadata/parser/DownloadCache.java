@@ -0,0 +1,274 @@
+package io.kaoto.backend.metadata.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.logging.Logger;
+
+import io.kaoto.backend.metadata.catalog.CatalogSnapshotStore;
+import io.kaoto.backend.model.Metadata;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 🐱class DownloadCache
+ *
+ * Local copy of a remote archive that survives between refreshes. The copy
+ * is kept on disk together with the ETag and Last-Modified headers of the
+ * response, so the next time the remote server is only asked whether it
+ * changed. If it didn't, what was parsed from the copy last time is
+ * reused and nothing is parsed.
+ *
+ * Concurrent requests for the same url share the same download.
+ * If the server can't be reached, the last copy downloaded is used.
+ */
+final class DownloadCache {
+
+    static final String SIZE = "kaoto.catalog.download.size";
+    static final String DURATION = "kaoto.catalog.download.duration";
+    static final String REQUESTS = "kaoto.catalog.download.requests";
+    static final String HIT_RATIO = "kaoto.catalog.download.hit.ratio";
+
+    static final Path DEFAULT_DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"), "kaoto-downloads");
+    static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final Logger LOG = Logger.getLogger(DownloadCache.class);
+    private static final Map<Path, DownloadCache> CACHES = new ConcurrentHashMap<>();
+
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
+
+    private static final DistributionSummary DOWNLOADED = DistributionSummary.builder(SIZE)
+            .description("Bytes downloaded for remote catalogs.")
+            .baseUnit("bytes")
+            .register(Metrics.globalRegistry);
+    private static final Timer REVALIDATION = Timer.builder(DURATION)
+            .description("Time to download or revalidate a remote catalog.")
+            .register(Metrics.globalRegistry);
+    private static final Counter HIT = requests("hit");
+    private static final Counter MISS = requests("miss");
+    private static final Counter STALE = requests("stale");
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong TOTAL = new AtomicLong();
+
+    static {
+        Metrics.globalRegistry.gauge(HIT_RATIO, TOTAL, t -> t.get() == 0 ? 0 : (double) HITS.get() / t.get());
+    }
+
+    private final String url;
+    private final int timeout;
+    private final Path file;
+    private final Path validators;
+    private final Map<String, Parsed> parsed = new ConcurrentHashMap<>();
+    private CompletableFuture<Download> inFlight;
+    private long version;
+
+    private DownloadCache(final Path directory, final String name, final String url, final Duration timeout) {
+        this.url = url;
+        this.timeout = (int) timeout.toMillis();
+        this.file = directory.resolve(name + ".zip");
+        this.validators = directory.resolve(name + ".properties");
+    }
+
+    /*
+     * 🐱method of: DownloadCache
+     * 🐱param base: Path
+     * 🐱param url: String
+     * 🐱param timeout: Duration
+     *
+     * Cache of the archive in the url, inside the base directory. The
+     * timeout applies to connecting to the server and to each read.
+     */
+    static DownloadCache of(final Path base, final String url, final Duration timeout) {
+        final var directory = base.toAbsolutePath();
+        final var name = CatalogSnapshotStore.hash(url.getBytes(StandardCharsets.UTF_8));
+        return CACHES.computeIfAbsent(directory.resolve(name), d -> new DownloadCache(directory, name, url, timeout));
+    }
+
+    /*
+     * 🐱method fetch: Download
+     *
+     * Makes sure the local copy is the same as the remote archive,
+     * downloading it only if it changed. If someone else is already doing
+     * it, waits for them instead.
+     */
+    Download fetch() throws IOException {
+        final CompletableFuture<Download> download;
+        final boolean owner;
+        synchronized (this) {
+            owner = inFlight == null;
+            if (owner) {
+                inFlight = new CompletableFuture<>();
+            }
+            download = inFlight;
+        }
+
+        if (owner) {
+            try {
+                download.complete(revalidate());
+            } catch (IOException | RuntimeException e) {
+                download.completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    inFlight = null;
+                }
+            }
+        }
+
+        try {
+            return download.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new IOException("Error downloading " + url, e.getCause());
+        }
+    }
+
+    private Download revalidate() throws IOException {
+        final var sample = Timer.start();
+        final var headers = readValidators();
+        final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout(timeout);
+        connection.setReadTimeout(timeout);
+        if (Files.exists(file)) {
+            if (headers.getProperty(ETAG) != null) {
+                connection.setRequestProperty("If-None-Match", headers.getProperty(ETAG));
+            }
+            if (headers.getProperty(LAST_MODIFIED) != null) {
+                connection.setRequestProperty("If-Modified-Since", headers.getProperty(LAST_MODIFIED));
+            }
+        }
+
+        try {
+            final var code = connection.getResponseCode();
+            if (code == HttpURLConnection.HTTP_NOT_MODIFIED && Files.exists(file)) {
+                LOG.trace(url + " didn't change since last download.");
+                count(HIT, true);
+                return new Download(file, version);
+            }
+            if (code != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Unexpected response " + code + " downloading " + url);
+            }
+
+            download(connection);
+            count(MISS, false);
+            return new Download(file, ++version);
+        } catch (IOException e) {
+            if (!Files.exists(file)) {
+                throw e;
+            }
+            LOG.warn("Can't download " + url + ", using the copy we already have.", e);
+            count(STALE, false);
+            return new Download(file, version);
+        } finally {
+            connection.disconnect();
+            sample.stop(REVALIDATION);
+        }
+    }
+
+    private void download(final HttpURLConnection connection) throws IOException {
+        Files.createDirectories(file.getParent());
+        final var tmp = Files.createTempFile(file.getParent(), "download-", ".tmp");
+        try {
+            try (InputStream is = connection.getInputStream()) {
+                DOWNLOADED.record(Files.copy(is, tmp, StandardCopyOption.REPLACE_EXISTING));
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        final var headers = new Properties();
+        if (connection.getHeaderField(ETAG) != null) {
+            headers.setProperty(ETAG, connection.getHeaderField(ETAG));
+        }
+        if (connection.getHeaderField(LAST_MODIFIED) != null) {
+            headers.setProperty(LAST_MODIFIED, connection.getHeaderField(LAST_MODIFIED));
+        }
+        try (OutputStream os = Files.newOutputStream(validators)) {
+            headers.store(os, url);
+        }
+    }
+
+    private Properties readValidators() {
+        final var headers = new Properties();
+        if (Files.exists(validators)) {
+            try (InputStream is = Files.newInputStream(validators)) {
+                headers.load(is);
+            } catch (IOException e) {
+                LOG.debug("Ignoring invalid cache headers of " + url, e);
+            }
+        }
+        return headers;
+    }
+
+    /*
+     * 🐱method parsed: List[Metadata]
+     * 🐱param consumer: String
+     * 🐱param download: Download
+     *
+     * What the consumer parsed from this download, if it already did.
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Metadata> List<T> parsed(final String consumer, final Download download) {
+        final var previous = parsed.get(consumer);
+        return previous != null && previous.version() == download.version() ? (List<T>) previous.elements() : null;
+    }
+
+    /*
+     * 🐱method parsed
+     * 🐱param consumer: String
+     * 🐱param download: Download
+     * 🐱param elements: List[Metadata]
+     *
+     * Remembers what the consumer parsed from this download.
+     */
+    <T extends Metadata> void parsed(final String consumer, final Download download, final List<T> elements) {
+        parsed.put(consumer, new Parsed(download.version(), elements));
+    }
+
+    private static void count(final Counter counter, final boolean hit) {
+        counter.increment();
+        TOTAL.incrementAndGet();
+        if (hit) {
+            HITS.incrementAndGet();
+        }
+    }
+
+    private static Counter requests(final String result) {
+        return Counter.builder(REQUESTS)
+                .description("Requests for remote catalogs, by whether the local copy could be used.")
+                .tag("result", result)
+                .register(Metrics.globalRegistry);
+    }
+
+    /*
+     * 🐱class Download
+     *
+     * Local copy of the archive. The version changes each time it is
+     * downloaded again.
+     */
+    record Download(Path file, long version) {
+    }
+
+    private record Parsed(long version, List<?> elements) {
+    }
+}
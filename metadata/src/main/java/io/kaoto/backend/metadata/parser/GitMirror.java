@@ -0,0 +1,171 @@
+package io.kaoto.backend.metadata.parser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.TagOpt;
+import org.jboss.logging.Logger;
+
+import io.kaoto.backend.metadata.catalog.CatalogSnapshotStore;
+import io.kaoto.backend.model.Metadata;
+
+/**
+ * 🐱class GitMirror
+ * 🐱relationship compositionOf Parsed, 0..n
+ *
+ * Bare local mirror of a remote git repository that survives between
+ * refreshes. Instead of cloning the repository again, it fetches what
+ * changed since last time. It also remembers, for each consumer, what was
+ * parsed from each file on the last commit seen, so only the files that
+ * changed need to be parsed again.
+ *
+ * There is only one mirror per directory; callers synchronize on it.
+ */
+final class GitMirror {
+
+    static final Path DEFAULT_DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"), "kaoto-git-mirrors");
+
+    private static final Logger LOG = Logger.getLogger(GitMirror.class);
+    private static final Map<Path, GitMirror> MIRRORS = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final String url;
+    private final Map<String, Parsed<?>> parsed = new HashMap<>();
+
+    private GitMirror(final Path directory, final String url) {
+        this.directory = directory;
+        this.url = url;
+    }
+
+    /*
+     * 🐱method of: GitMirror
+     * 🐱param base: Path
+     * 🐱param url: String
+     *
+     * Mirror of the repository in the url, inside the base directory.
+     */
+    static GitMirror of(final Path base, final String url) {
+        final var dir = base.resolve(CatalogSnapshotStore.hash(url.getBytes(StandardCharsets.UTF_8)));
+        return MIRRORS.computeIfAbsent(dir.toAbsolutePath(), d -> new GitMirror(d, url));
+    }
+
+    /*
+     * 🐱method fetch: ObjectId
+     * 🐱param tag: String
+     *
+     * Brings the mirror up to date with the remote repository and returns
+     * the commit the tag (or branch) points to. Clones the repository if
+     * there is no mirror yet.
+     */
+    ObjectId fetch(final String tag) throws GitAPIException, IOException {
+        if (!Files.isDirectory(directory.resolve(Constants.OBJECTS))) {
+            LOG.trace("Creating git mirror of " + url + " in " + directory);
+            //Clone aside, so an interrupted clone doesn't leave a broken mirror behind
+            final var tmp = Files.createTempDirectory(Files.createDirectories(directory.getParent()), "clone-");
+            try {
+                Git.cloneRepository()
+                        .setURI(url)
+                        .setDirectory(tmp.toFile())
+                        .setBare(true)
+                        .setCloneAllBranches(true)
+                        .setTagOption(TagOpt.FETCH_TAGS)
+                        .call()
+                        .close();
+                FileUtils.deleteDirectory(directory.toFile());
+                Files.move(tmp, directory, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                FileUtils.deleteDirectory(tmp.toFile());
+            }
+        } else {
+            LOG.trace("Fetching " + url + " into " + directory);
+            try (Git git = Git.open(directory.toFile())) {
+                git.fetch()
+                        .setRemote(Constants.DEFAULT_REMOTE_NAME)
+                        .setRefSpecs(new RefSpec("+" + Constants.R_HEADS + "*:" + Constants.R_HEADS + "*"))
+                        .setTagOpt(TagOpt.FETCH_TAGS)
+                        .setRemoveDeletedRefs(true)
+                        .call();
+            }
+        }
+
+        try (Repository repository = repository()) {
+            final var commit = repository.resolve((tag != null ? tag : Constants.HEAD) + "^{commit}");
+            if (commit == null) {
+                throw new IOException("Can't find " + tag + " in " + url);
+            }
+            return commit;
+        }
+    }
+
+    /*
+     * 🐱method repository: Repository
+     *
+     * Opens the mirror. Remember to close it.
+     */
+    Repository repository() throws IOException {
+        return new FileRepositoryBuilder()
+                .setGitDir(directory.toFile())
+                .setMustExist(true)
+                .build();
+    }
+
+    /*
+     * 🐱method parsed: Parsed
+     * 🐱param consumer: String
+     *
+     * What was parsed from this mirror by the consumer the last time.
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Metadata> Parsed<T> parsed(final String consumer) {
+        return (Parsed<T>) parsed.computeIfAbsent(consumer, c -> new Parsed<>());
+    }
+
+    /*
+     * 🐱class Parsed
+     *
+     * Elements parsed from each file of a commit.
+     */
+    static final class Parsed<T extends Metadata> {
+        private ObjectId commit;
+        private final Map<String, List<T>> byPath = new ConcurrentHashMap<>();
+
+        ObjectId commit() {
+            return commit;
+        }
+
+        void commit(final ObjectId commit) {
+            this.commit = commit;
+        }
+
+        Map<String, List<T>> byPath() {
+            return byPath;
+        }
+
+        void reset() {
+            commit = null;
+            byPath.clear();
+        }
+
+        List<T> all() {
+            final List<T> res = new ArrayList<>();
+            byPath.values().forEach(res::addAll);
+            return res;
+        }
+    }
+}
@@ -1,29 +1,50 @@
 package io.kaoto.backend.metadata.parser;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.Collections;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.io.FileUtils;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.transport.TagOpt;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
 import org.jboss.logging.Logger;
 
 import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.catalog.CatalogSnapshotStore;
 import io.kaoto.backend.model.Metadata;
 
 /**
  * 🐱class GitParseCatalog
  * 🐱inherits ParseCatalog
  * 🐱relationship dependsOn YamlProcessFile
- * Abstract implementation that downloads a git repository
+ * 🐱relationship dependsOn GitMirror
+ * Abstract implementation that keeps a local mirror of a git repository
  * and walks through all the files
  * parsing them and preparing elements to add to a catalog.
+ *
+ * The mirror is fetched on every parse, and only the files that changed
+ * since the last commit parsed are parsed again, straight from the git
+ * objects, without checking them out.
  */
 public class GitParseCatalog<T extends Metadata>
         implements ParseCatalog<T> {
@@ -34,17 +55,158 @@ public class GitParseCatalog<T extends Metadata>
 
     private ProcessFile<T> processFile;
 
+    private CatalogSnapshotStore snapshotStore;
+    private ParseWorkers parseWorkers;
+
+    private Path mirrorDirectory = GitMirror.DEFAULT_DIRECTORY;
+
     public GitParseCatalog(final String url, final String tag) {
         this.url = url;
         this.tag = tag;
     }
 
-    private List<T> cloneRepoAndParse(final String url, final String tag) {
+    private List<T> getRepoAndParse(final String url, final String tag) {
         LOG.trace("Warming up repository in " + url);
-        List<T> metadataList =
-                Collections.synchronizedList(new CopyOnWriteArrayList<>());
-        final List<CompletableFuture<Void>> futureMd =
-                Collections.synchronizedList(new CopyOnWriteArrayList<>());
+        final var mirror = GitMirror.of(mirrorDirectory, url);
+        synchronized (mirror) {
+            final GitMirror.Parsed<T> parsed = mirror.parsed(processFile.getClass().getName() + '\u0000' + tag);
+            try {
+                final var commit = mirror.fetch(tag);
+                if (commit.equals(parsed.commit())) {
+                    LOG.trace("Nothing changed in " + url);
+                    return parsed.all();
+                }
+
+                //Nothing parsed yet, maybe we have it from a previous run
+                final var key = snapshotStore != null
+                        ? snapshotStore.key(getClass().getName(), url, processFile.getClass().getName(), commit.name())
+                        : null;
+                if (parsed.commit() == null && key != null) {
+                    final List<T> snapshot = snapshotStore.load(key);
+                    if (snapshot != null) {
+                        return snapshot;
+                    }
+                }
+
+                if (!update(mirror, parsed, commit)) {
+                    LOG.debug(url + " has submodules, cloning it instead.");
+                    parsed.reset();
+                    return cloneRepoAndParse(url, tag);
+                }
+
+                final var res = parsed.all();
+                if (key != null && commit.equals(parsed.commit())) {
+                    snapshotStore.save(key, res);
+                }
+                return res;
+            } catch (GitAPIException | IOException e) {
+                //Keep what we parsed last time, if anything
+                LOG.error("Error trying to sync repository " + url, e);
+                return parsed.all();
+            }
+        }
+    }
+
+    /*
+     * Parses the files that changed between the commit last parsed and the
+     * new one, and forgets the ones that were removed. If any file fails,
+     * the commit parsed is not moved forward, so it is tried again.
+     * Returns false if the repository has submodules, which are not in the
+     * objects of the mirror.
+     */
+    private boolean update(final GitMirror mirror, final GitMirror.Parsed<T> parsed, final ObjectId commit)
+            throws IOException {
+        final Map<String, ObjectId> toParse = new HashMap<>();
+        final List<String> toRemove = new ArrayList<>();
+
+        try (Repository repository = mirror.repository();
+             RevWalk revWalk = new RevWalk(repository);
+             TreeWalk treeWalk = new TreeWalk(repository)) {
+            final RevTree tree = revWalk.parseCommit(commit).getTree();
+            treeWalk.setRecursive(true);
+
+            if (parsed.commit() == null) {
+                treeWalk.addTree(tree);
+                while (treeWalk.next()) {
+                    if (FileMode.GITLINK.equals(treeWalk.getFileMode(0))) {
+                        return false;
+                    }
+                    toParse.put(treeWalk.getPathString(), treeWalk.getObjectId(0));
+                }
+            } else {
+                treeWalk.addTree(revWalk.parseCommit(parsed.commit()).getTree());
+                treeWalk.addTree(tree);
+                treeWalk.setFilter(TreeFilter.ANY_DIFF);
+                for (DiffEntry diff : DiffEntry.scan(treeWalk)) {
+                    if (FileMode.GITLINK.equals(diff.getNewMode())) {
+                        return false;
+                    }
+                    switch (diff.getChangeType()) {
+                        case DELETE -> toRemove.add(diff.getOldPath());
+                        case RENAME -> {
+                            toRemove.add(diff.getOldPath());
+                            toParse.put(diff.getNewPath(), diff.getNewId().toObjectId());
+                        }
+                        default -> toParse.put(diff.getNewPath(), diff.getNewId().toObjectId());
+                    }
+                }
+            }
+
+            toParse.keySet().removeIf(path -> !isDesired(path));
+            LOG.trace("Parsing " + toParse.size() + " files and removing " + toRemove.size() + " from " + url);
+
+            //What was parsed from a file before doesn't stay if the new version can't be parsed
+            toParse.keySet().forEach(parsed.byPath()::remove);
+            toRemove.forEach(parsed.byPath()::remove);
+
+            final var failed = new AtomicBoolean();
+            final var pipeline = new ParsePipeline<>(url, this.processFile, parseWorkers);
+            for (var entry : toParse.entrySet()) {
+                final var content = repository.open(entry.getValue()).getBytes();
+                try {
+                    pipeline.submit(entry.getKey(), () -> {
+                        try {
+                            final var res = this.processFile.parseInputStream(new InputStreamReader(
+                                    new ByteArrayInputStream(content), StandardCharsets.UTF_8));
+                            if (res != null) {
+                                parsed.byPath().put(entry.getKey(), res);
+                            }
+                            return null;
+                        } catch (Exception e) {
+                            failed.set(true);
+                            throw e;
+                        }
+                    });
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while parsing " + url);
+                }
+            }
+            pipeline.finish();
+
+            if (failed.get()) {
+                //Stay on the old commit, so the files that failed are parsed again next time
+                LOG.debug("Some files of " + url + " couldn't be parsed, they will be tried again.");
+                return true;
+            }
+        }
+
+        parsed.commit(commit);
+        return true;
+    }
+
+    private boolean isDesired(final String path) {
+        final var segments = path.split("/");
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (this.processFile.isSkippedDirectory(segments[i])) {
+                return false;
+            }
+        }
+        return this.processFile.isDesiredType(segments[segments.length - 1]);
+    }
+
+    private List<T> cloneRepoAndParse(final String url, final String tag) {
+        final var pipeline = new ParsePipeline<>(url, this.processFile, parseWorkers);
 
         File file = null;
         try {
@@ -68,39 +230,56 @@ public class GitParseCatalog<T extends Metadata>
                     .call()) {
 
                 LOG.trace("Parsing all files in the repository");
-                this.processFile.setFutureMetadata(futureMd);
-                this.processFile.setMetadataList(metadataList);
-                Files.walkFileTree(file.getAbsoluteFile().toPath(),
-                        this.processFile);
-                LOG.trace("Found " + futureMd.size() + " elements.");
-                CompletableFuture.allOf(
-                        futureMd.toArray(new CompletableFuture[0]))
-                        .join();
-
+                Files.walkFileTree(file.getAbsoluteFile().toPath(), pipeline);
             } catch (GitAPIException e) {
                 LOG.error("Error trying to clone repository.", e);
             } catch (IOException e) {
                 LOG.error("Error trying to parse catalog.", e);
             }
 
+            //Files must be parsed before we remove them
+            final var res = pipeline.finish();
             try {
                 FileUtils.deleteDirectory(file);
             } catch (IOException e) {
                 LOG.error("Error cleaning up catalog.", e);
             }
+            return res;
         }
 
-        return metadataList;
+        return List.of();
     }
 
     @Override
     public CompletableFuture<List<T>> parse() {
         CompletableFuture<List<T>> metadata = new CompletableFuture<>();
-        metadata.completeAsync(() -> cloneRepoAndParse(url, tag));
+        metadata.completeAsync(() -> getRepoAndParse(url, tag));
         return metadata;
     }
 
     public void setFileVisitor(final ProcessFile<T> fileVisitor) {
         this.processFile = fileVisitor;
     }
+
+    @Override
+    public void setSnapshotStore(final CatalogSnapshotStore snapshotStore) {
+        this.snapshotStore = snapshotStore;
+    }
+
+    @Override
+    public void setParseWorkers(final ParseWorkers parseWorkers) {
+        this.parseWorkers = parseWorkers;
+    }
+
+    /*
+     * 🐱method setMirrorDirectory
+     * 🐱param mirrorDirectory: Path
+     *
+     * Where to keep the local mirrors of the repositories.
+     * Defaults to a folder in the temporary directory; the step catalog sets
+     * it to kaoto.step.catalog.git.mirror.dir when there is one.
+     */
+    public void setMirrorDirectory(final Path mirrorDirectory) {
+        this.mirrorDirectory = mirrorDirectory;
+    }
 }
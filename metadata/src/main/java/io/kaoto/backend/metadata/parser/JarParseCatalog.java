@@ -1,23 +1,34 @@
 package io.kaoto.backend.metadata.parser;
 
+import java.io.Closeable;
 import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.StringReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
-import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 
-import org.apache.commons.io.IOUtils;
 import org.jboss.logging.Logger;
 
 import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.catalog.CatalogSnapshotStore;
 import io.kaoto.backend.model.Metadata;
 
 /**
@@ -26,6 +37,11 @@ import io.kaoto.backend.model.Metadata;
  * Abstract implementation that downloads a jar file
  * and walks through all the files
  * parsing them and preparing elements to add to a catalog.
+ *
+ * The jar is read with random access: only the entries the ProcessFile
+ * wants are decompressed, each one by a worker of the ParsePipeline.
+ * What the workers decompress is counted as they read it, not trusting the
+ * sizes the jar claims, and they all stop once it is too much.
  */
 public class JarParseCatalog<T extends Metadata>
         implements ParseCatalog<T> {
@@ -36,6 +52,12 @@ public class JarParseCatalog<T extends Metadata>
 
     private ProcessFile<T> processFile;
 
+    private CatalogSnapshotStore snapshotStore;
+    private ParseWorkers parseWorkers;
+
+    private Path downloadDirectory = DownloadCache.DEFAULT_DIRECTORY;
+    private Duration downloadTimeout = DownloadCache.DEFAULT_TIMEOUT;
+
     //to avoid bomb attacks
     private int thresholdSize = 1000000000; // 1 GB
 
@@ -45,84 +67,197 @@ public class JarParseCatalog<T extends Metadata>
 
     private List<T> getJarAndParse(final String url) {
         LOG.trace("Warming up repository in " + url);
-        List<T> metadataList = Collections.synchronizedList(new CopyOnWriteArrayList<>());
-        final List<CompletableFuture<Void>> futureMd = Collections.synchronizedList(new CopyOnWriteArrayList<>());
-        this.processFile.setFutureMetadata(futureMd);
-        this.processFile.setMetadataList(metadataList);
-
-        long totalSize = 0;
-        try (ZipInputStream zis = new ZipInputStream(getInputStream(url))) {
-
-            //Unzip the files
-            ZipEntry zipEntry = zis.getNextEntry();
-
-            while (zipEntry != null) {
-                totalSize += processExtractedFile(zis, zipEntry, futureMd, metadataList);
-
-                if (totalSize > thresholdSize) {
-                    throw new IOException("This jar file unzipped is too big.");
-                }
-
-                zipEntry = zis.getNextEntry();
+        try {
+            if (url.startsWith("http://") || url.startsWith("https://")) {
+                return downloadAndParse(url);
+            }
+            try (LocalArchive archive = getLocalArchive(url)) {
+                return parseArchive(archive.path());
             }
-
-            LOG.trace("Found " + futureMd.size() + " elements.");
-            CompletableFuture.allOf(futureMd.toArray(new CompletableFuture[0])).join();
         } catch (FileNotFoundException e) {
             LOG.error("No jar file found.", e);
         } catch (Exception e) {
             LOG.error("Error trying to parse catalog.", e);
         }
 
-        return metadataList;
+        return Collections.emptyList();
     }
 
-    private long processExtractedFile(final ZipInputStream zis, final ZipEntry zipEntry,
-                                      final List<CompletableFuture<Void>> futureMd, final List<T> metadataList)
-            throws IOException {
-        long size = zipEntry.getSize();
-        if (!zipEntry.isDirectory() && this.processFile.isDesiredType(zipEntry.getName())) {
-            final InputStreamReader isr = new InputStreamReader(zis);
-            final String content = IOUtils.toString(isr);
-            size = content.length();
-            final StringReader sr = new StringReader(content);
-            CompletableFuture<Void> metadata =
-                    CompletableFuture.runAsync(() -> metadataList.addAll(this.processFile.parseInputStream(sr)));
-            metadata.thenRun(() -> LOG.trace(zipEntry.getName() + " parsed, now generating metadata."));
-            futureMd.add(metadata);
+    //Remote jars are only downloaded, and parsed, if they changed since last time
+    private List<T> downloadAndParse(final String url) throws IOException {
+        final var cache = DownloadCache.of(downloadDirectory, url, downloadTimeout);
+        final var download = cache.fetch();
+        final var consumer = processFile.getClass().getName();
+
+        final List<T> previous = cache.parsed(consumer, download);
+        if (previous != null) {
+            LOG.trace("Nothing changed in " + url);
+            return previous;
         }
-        return size;
+
+        final var res = parseArchive(download.file());
+        cache.parsed(consumer, download, res);
+        return res;
     }
 
-    //If it is a remote file, download it
-    private InputStream getInputStream(final String url) {
-        InputStream res = null;
+    private List<T> parseArchive(final Path path) throws IOException {
+        if (snapshotStore == null) {
+            return parseJar(path);
+        }
 
-        if (url.startsWith("http://") || url.startsWith("https://")) {
+        //The checksum of the jar tells us if we already parsed it
+        final var key = snapshotStore.key(getClass().getName(), url, processFile.getClass().getName(),
+                CatalogSnapshotStore.hash(path));
+        return snapshotStore.loadOrParse(key, () -> {
             try {
-                URL remote = new URL(url);
-                URLConnection connection = remote.openConnection();
-                res = connection.getInputStream();
+                return parseJar(path);
             } catch (IOException e) {
-                LOG.error("Error trying to access remote file.", e);
+                throw new UncheckedIOException(e);
             }
-        } else if (url.startsWith("resource://")) {
+        });
+    }
+
+    private List<T> parseJar(final Path path) throws IOException {
+        final var pipeline = new ParsePipeline<>(url, this.processFile, parseWorkers);
+        final var inflated = new Inflated(thresholdSize);
+        final List<T> res;
+
+        try (ZipFile zip = new ZipFile(path.toFile())) {
             try {
-                res = this.getClass().getResourceAsStream(url.substring(10));
-            } catch (Exception e) {
-                LOG.error("We had issues accessing " + url);
+                submitEntries(zip, pipeline, inflated);
+            } finally {
+                //Entries must be parsed before we close the jar
+                res = pipeline.finish();
             }
-        } else {
+        }
+
+        //Some worker gave up halfway, so what we have is not the whole catalog
+        inflated.check();
+        return res;
+    }
+
+    private void submitEntries(final ZipFile zip, final ParsePipeline<T> pipeline, final Inflated inflated)
+            throws IOException {
+        //The central directory tells us what is in the jar without decompressing anything
+        final Enumeration<? extends ZipEntry> entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            final ZipEntry zipEntry = entries.nextElement();
+            if (zipEntry.isDirectory() || !this.processFile.isDesiredType(zipEntry.getName())) {
+                continue;
+            }
+
+            inflated.check();
+
             try {
-                res = this.getClass().getResourceAsStream(url);
-            } catch (Exception e) {
-                LOG.error("We had issues accessing " + url);
+                //Each worker decompresses its own entry straight into the parser
+                pipeline.submit(zipEntry.getName(), () -> {
+                    try (Reader reader = new InputStreamReader(inflated.count(zip.getInputStream(zipEntry)),
+                            StandardCharsets.UTF_8)) {
+                        return this.processFile.parseInputStream(reader);
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while parsing " + url);
+            }
+        }
+    }
+
+    /*
+     * Bytes decompressed from a jar by all the workers together.
+     */
+    private static final class Inflated {
+
+        private final AtomicLong total = new AtomicLong();
+        private final long threshold;
+
+        Inflated(final long threshold) {
+            this.threshold = threshold;
+        }
+
+        void check() throws IOException {
+            if (total.get() > threshold) {
+                throw new IOException("This jar file unzipped is too big.");
             }
         }
 
-        return res;
+        InputStream count(final InputStream in) {
+            return new FilterInputStream(in) {
+                @Override
+                public int read() throws IOException {
+                    final var b = super.read();
+                    if (b >= 0) {
+                        add(1);
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(final byte[] b, final int off, final int len) throws IOException {
+                    final var read = super.read(b, off, len);
+                    if (read > 0) {
+                        add(read);
+                    }
+                    return read;
+                }
+
+                @Override
+                public long skip(final long n) throws IOException {
+                    final var skipped = super.skip(n);
+                    add(skipped);
+                    return skipped;
+                }
+            };
+        }
+
+        private void add(final long read) throws IOException {
+            total.addAndGet(read);
+            check();
+        }
     }
 
+    //Random access needs a file, so packaged jars are copied to a temporary one
+    private LocalArchive getLocalArchive(final String url) throws IOException {
+        if (url.startsWith("file:")) {
+            return new LocalArchive(Path.of(URI.create(url)), false);
+        }
+
+        final URL resource = this.getClass().getResource(url.startsWith("resource://") ? url.substring(10) : url);
+        if (resource == null) {
+            throw new FileNotFoundException(url);
+        }
+        if ("file".equals(resource.getProtocol())) {
+            try {
+                return new LocalArchive(Path.of(resource.toURI()), false);
+            } catch (URISyntaxException e) {
+                LOG.debug("Can't access " + resource + " directly, copying it.", e);
+            }
+        }
+        try (InputStream is = resource.openStream()) {
+            return LocalArchive.copyOf(is);
+        }
+    }
+
+    private record LocalArchive(Path path, boolean temporary) implements Closeable {
+
+        static LocalArchive copyOf(final InputStream is) throws IOException {
+            final var file = Files.createTempFile("kaoto-jar-", ".zip");
+            try {
+                Files.copy(is, file, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            return new LocalArchive(file, true);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (temporary) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
 
     @Override
     public CompletableFuture<List<T>> parse() {
@@ -134,4 +269,43 @@ public class JarParseCatalog<T extends Metadata>
     public void setFileVisitor(final ProcessFile<T> fileVisitor) {
         this.processFile = fileVisitor;
     }
+
+    @Override
+    public void setSnapshotStore(final CatalogSnapshotStore snapshotStore) {
+        this.snapshotStore = snapshotStore;
+    }
+
+    @Override
+    public void setParseWorkers(final ParseWorkers parseWorkers) {
+        this.parseWorkers = parseWorkers;
+    }
+
+    /*
+     * 🐱method setDownloadDirectory
+     * 🐱param downloadDirectory: Path
+     *
+     * Where to keep the local copies of remote jars.
+     * Defaults to a folder in the temporary directory; the catalogs set it
+     * to kaoto.catalog.download.dir when there is one.
+     */
+    public void setDownloadDirectory(final Path downloadDirectory) {
+        this.downloadDirectory = downloadDirectory;
+    }
+
+    /*
+     * 🐱method setDownloadTimeout
+     * 🐱param downloadTimeout: Duration
+     *
+     * How long to wait for the server of a remote jar, both to connect and
+     * on each read. Defaults to 30 seconds; the catalogs set it to
+     * kaoto.catalog.download.timeout when there is one.
+     */
+    public void setDownloadTimeout(final Duration downloadTimeout) {
+        this.downloadTimeout = downloadTimeout;
+    }
+
+    //Bytes that can be decompressed from the jar before giving up on it
+    void setThresholdSize(final int thresholdSize) {
+        this.thresholdSize = thresholdSize;
+    }
 }
@@ -1,16 +1,20 @@
 package io.kaoto.backend.metadata.parser;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Collections;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 import org.jboss.logging.Logger;
 
 import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.catalog.CatalogSnapshotStore;
 import io.kaoto.backend.model.Metadata;
 
 /**
@@ -28,6 +32,9 @@ public class LocalFolderParseCatalog<T extends Metadata>
 
     private ProcessFile<T> yamlProcessFile;
 
+    private CatalogSnapshotStore snapshotStore;
+    private ParseWorkers parseWorkers;
+
     private final Path uri;
 
     public LocalFolderParseCatalog(final Path uri) {
@@ -35,28 +42,41 @@ public class LocalFolderParseCatalog<T extends Metadata>
     }
 
     private List<T> getFolderAndParse(final Path location) {
+        if (snapshotStore == null) {
+            return walkAndParse(location);
+        }
+
+        //Paths, sizes and modification times tell us if we already parsed this folder
+        final var digest = CatalogSnapshotStore.digest();
+        try (Stream<Path> files = Files.walk(location)) {
+            for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+                final var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                digest.update((location.relativize(file) + "\u0000" + attributes.size() + "\u0000"
+                        + attributes.lastModifiedTime().toMillis() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException | UncheckedIOException e) {
+            LOG.warn("Can't hash local folder " + location + ", parsing it again: " + e.getMessage());
+            return walkAndParse(location);
+        }
+
+        final var key = snapshotStore.key(getClass().getName(), location.toAbsolutePath().toString(),
+                yamlProcessFile.getClass().getName(), HexFormat.of().formatHex(digest.digest()));
+        return snapshotStore.loadOrParse(key, () -> walkAndParse(location));
+    }
+
+    private List<T> walkAndParse(final Path location) {
         LOG.trace("Warming up repository in local folder" + uri);
-        List<T> metadataList =
-                Collections.synchronizedList(new CopyOnWriteArrayList<>());
-        final List<CompletableFuture<Void>> futureMd =
-                Collections.synchronizedList(new CopyOnWriteArrayList<>());
+        final var pipeline = new ParsePipeline<>(location.toString(), this.yamlProcessFile, parseWorkers);
 
         //Walk the directory
         LOG.trace("Parsing all files in the folder.");
-        this.yamlProcessFile.setFutureMetadata(futureMd);
-        this.yamlProcessFile.setMetadataList(metadataList);
         try {
-            Files.walkFileTree(location, this.yamlProcessFile);
+            Files.walkFileTree(location, pipeline);
         } catch (IOException e) {
             LOG.error("Error loading files from local folder.", e);
         }
-        LOG.trace("Found " + futureMd.size() + " elements.");
-        CompletableFuture.allOf(
-                        futureMd.toArray(new CompletableFuture[0]))
-                .join();
 
-
-        return metadataList;
+        return pipeline.finish();
     }
 
     @Override
@@ -70,4 +90,14 @@ public class LocalFolderParseCatalog<T extends Metadata>
     public void setFileVisitor(final ProcessFile<T> fileVisitor) {
         this.yamlProcessFile = fileVisitor;
     }
+
+    @Override
+    public void setSnapshotStore(final CatalogSnapshotStore snapshotStore) {
+        this.snapshotStore = snapshotStore;
+    }
+
+    @Override
+    public void setParseWorkers(final ParseWorkers parseWorkers) {
+        this.parseWorkers = parseWorkers;
+    }
 }
@@ -0,0 +1,158 @@
+package io.kaoto.backend.metadata.parser;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitor;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+
+import org.jboss.logging.Logger;
+
+import io.kaoto.backend.model.Metadata;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 🐱class ParsePipeline
+ * 🐱relationship dependsOn ProcessFile
+ * 🐱relationship dependsOn ParseWorkers
+ *
+ * Parses the files of a source on a worker pool shared by all the catalogs.
+ * Each pipeline never has more files waiting to be parsed than the queue
+ * size of the pool: submitting more blocks the reader until a worker is
+ * free, so a big archive is never fully decompressed in memory.
+ *
+ * Each worker thread appends what it parses to its own buffer, and those
+ * buffers are merged only once, when the pipeline finishes.
+ *
+ * It can also walk a folder, submitting every file the ProcessFile wants.
+ */
+public class ParsePipeline<T extends Metadata> implements FileVisitor<Path> {
+
+    public static final String FILES = "kaoto.catalog.parser.files";
+    public static final String ERRORS = "kaoto.catalog.parser.errors";
+    public static final String QUEUE = "kaoto.catalog.parser.queue";
+    public static final String ACTIVE = "kaoto.catalog.parser.active";
+
+    private static final Logger LOG = Logger.getLogger(ParsePipeline.class);
+
+    private static final Timer LATENCY = Timer.builder(FILES)
+            .description("Time to parse each file of a catalog.")
+            .register(Metrics.globalRegistry);
+    private static final Counter FAILURES = Counter.builder(ERRORS)
+            .description("Files of a catalog that couldn't be parsed.")
+            .register(Metrics.globalRegistry);
+
+    private final String source;
+    private final ProcessFile<T> processFile;
+    private final ParseWorkers workers;
+    private final Semaphore waiting;
+    private final Phaser pending = new Phaser(1);
+    private final Map<Thread, List<T>> buffers = new ConcurrentHashMap<>();
+
+    public ParsePipeline(final String source, final ProcessFile<T> processFile) {
+        this(source, processFile, null);
+    }
+
+    public ParsePipeline(final String source, final ProcessFile<T> processFile, final ParseWorkers workers) {
+        this.source = source;
+        this.processFile = processFile;
+        this.workers = workers != null ? workers : ParseWorkers.defaults();
+        this.waiting = new Semaphore(this.workers.queueSize());
+    }
+
+    /*
+     * 🐱method submit
+     * 🐱param name: String
+     * 🐱param parser: Callable
+     *
+     * Queues the parsing of a file. Blocks if there are too many files of
+     * this pipeline waiting already.
+     */
+    public void submit(final String name, final Callable<List<T>> parser) throws InterruptedException {
+        waiting.acquire();
+        pending.register();
+        try {
+            workers.execute(() -> parse(name, parser));
+        } catch (RuntimeException e) {
+            waiting.release();
+            pending.arriveAndDeregister();
+            throw e;
+        }
+    }
+
+    private void parse(final String name, final Callable<List<T>> parser) {
+        final var sample = Timer.start();
+        try {
+            final var res = parser.call();
+            if (res != null) {
+                buffers.computeIfAbsent(Thread.currentThread(), t -> new ArrayList<>()).addAll(res);
+            }
+            LOG.trace(name + " parsed, now generating metadata.");
+        } catch (Exception e) {
+            FAILURES.increment();
+            LOG.warn("Couldn't parse " + name + " from " + source, e);
+        } finally {
+            sample.stop(LATENCY);
+            waiting.release();
+            pending.arriveAndDeregister();
+        }
+    }
+
+    /*
+     * 🐱method finish: List[Metadata]
+     *
+     * Waits for all the files submitted to be parsed and returns what was
+     * found on them.
+     */
+    public List<T> finish() {
+        pending.arriveAndAwaitAdvance();
+        final List<T> res = new ArrayList<>();
+        buffers.values().forEach(res::addAll);
+        LOG.trace("Found " + res.size() + " elements in " + source);
+        return res;
+    }
+
+    @Override
+    public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+        final var name = dir.toFile().getName();
+        if (processFile.isSkippedDirectory(name)) {
+            return FileVisitResult.SKIP_SUBTREE;
+        }
+
+        LOG.trace("Visiting '" + name + "'");
+        return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+        final var f = file.toFile();
+        if (processFile.isDesiredType(f.getName())) {
+            try {
+                submit(f.getName(), () -> processFile.parseFile(f));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return FileVisitResult.TERMINATE;
+            }
+        }
+        return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+        return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) {
+        return FileVisitResult.CONTINUE;
+    }
+}
@@ -0,0 +1,77 @@
+package io.kaoto.backend.metadata.parser;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * 🐱class ParseWorkers
+ *
+ * Worker pool the parse pipelines run on, and how many files each pipeline
+ * may have waiting on it. There is only one pool per configuration, shared
+ * by all the catalogs using it.
+ */
+public final class ParseWorkers {
+
+    private static final Map<String, ParseWorkers> POOLS = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor pool;
+    private final int queueSize;
+
+    private ParseWorkers(final String name, final int workers, final int queueSize) {
+        this.queueSize = queueSize;
+        final var count = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                r -> {
+                    final var thread = new Thread(r, "kaoto-catalog-parser-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        //Parsing happens mostly on warm up, don't keep the threads around
+        pool.allowCoreThreadTimeOut(true);
+
+        final var tags = Tags.of("pool", name);
+        Metrics.globalRegistry.gauge(ParsePipeline.QUEUE, tags, pool, p -> p.getQueue().size());
+        Metrics.globalRegistry.gauge(ParsePipeline.ACTIVE, tags, pool, ThreadPoolExecutor::getActiveCount);
+    }
+
+    /*
+     * 🐱method of: ParseWorkers
+     * 🐱param workers: int
+     * 🐱param queueSize: int
+     *
+     * Pool with that many workers, where each pipeline never has more than
+     * queueSize files waiting to be parsed.
+     */
+    public static ParseWorkers of(final int workers, final int queueSize) {
+        if (workers < 1 || queueSize < 1) {
+            throw new IllegalArgumentException(
+                    "Parser workers and queue size must be positive: " + workers + ", " + queueSize);
+        }
+        return POOLS.computeIfAbsent(workers + "/" + queueSize, k -> new ParseWorkers(k, workers, queueSize));
+    }
+
+    /*
+     * 🐱method defaults: ParseWorkers
+     *
+     * Pool sized to the number of cores, with four files waiting per worker.
+     */
+    public static ParseWorkers defaults() {
+        final var cores = Runtime.getRuntime().availableProcessors();
+        return of(cores, cores * 4);
+    }
+
+    int queueSize() {
+        return queueSize;
+    }
+
+    void execute(final Runnable task) {
+        pool.execute(task);
+    }
+}
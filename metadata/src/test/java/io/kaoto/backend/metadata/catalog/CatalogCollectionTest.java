@@ -81,6 +81,19 @@ class CatalogCollectionTest {
     }
 
 
+    @Test
+    void streamSortedAcrossCatalogs() {
+        Assertions.assertEquals(List.of("id-1", "id-2", "id-2", "id-3"),
+                catalogCollection.streamByKindAndType(null, null, null).map(Step::getId).toList());
+        Assertions.assertEquals(List.of("id-3"),
+                catalogCollection.streamByKindAndType(null, null, "id-2").map(Step::getId).toList());
+
+        //Starting at an id, all the steps that share it are there
+        Assertions.assertEquals(List.of("id-2", "id-2", "id-3"),
+                catalogCollection.streamByKindAndType(null, null, "id-2", true).map(Step::getId).toList());
+        Assertions.assertEquals(4, catalogCollection.streamByKindAndType(null, null, null, true).count());
+    }
+
     @Test
     void readOnlyWrapper() {
         ReadOnlyCatalog<Step> readOnlyCatalog =
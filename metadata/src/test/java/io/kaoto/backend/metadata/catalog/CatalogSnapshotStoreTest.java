@@ -0,0 +1,95 @@
+package io.kaoto.backend.metadata.catalog;
+
+import io.kaoto.backend.model.parameter.StringParameter;
+import io.kaoto.backend.model.step.Step;
+import io.quarkus.test.junit.QuarkusTest;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@QuarkusTest
+class CatalogSnapshotStoreTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void createDir() throws IOException {
+        dir = Files.createTempDirectory("kaoto-snapshot-");
+    }
+
+    @AfterEach
+    void deleteDir() throws IOException {
+        FileUtils.deleteDirectory(dir.toFile());
+    }
+
+    @Test
+    void roundTrip() {
+        StringParameter parameter = new StringParameter();
+        parameter.setId("path");
+        parameter.setPath(true);
+        parameter.setPathOrder(2);
+        parameter.setPathSeparator("/");
+        Step step = new Step("id-1", "connector", "icon", new ArrayList<>(List.of(parameter)),
+                "Camel-Connector", Step.Type.START);
+        step.setRequired(new ArrayList<>(List.of("path")));
+
+        CatalogSnapshotStore store = new CatalogSnapshotStore(dir, "1.0");
+        final var key = store.key("parser", "source", CatalogSnapshotStore.hash(new byte[]{1, 2, 3}));
+        Assertions.assertNull(store.load(key));
+        store.save(key, List.of(step));
+
+        List<Step> steps = store.load(key);
+        Assertions.assertEquals(1, steps.size());
+        Step loaded = steps.get(0);
+        Assertions.assertEquals(step, loaded);
+        Assertions.assertEquals("Camel-Connector", loaded.getKind());
+        Assertions.assertEquals(Step.START, loaded.getType());
+        Assertions.assertEquals(List.of("path"), loaded.getRequired());
+        final var loadedParameter = loaded.getParameters().get(0);
+        Assertions.assertInstanceOf(StringParameter.class, loadedParameter);
+        Assertions.assertTrue(loadedParameter.isPath());
+        Assertions.assertEquals(2, loadedParameter.getPathOrder());
+        Assertions.assertEquals("/", loadedParameter.getPathSeparator());
+    }
+
+    @Test
+    void loadOrParse() {
+        CatalogSnapshotStore store = new CatalogSnapshotStore(dir, "1.0");
+        AtomicInteger parsed = new AtomicInteger();
+        final var key = store.key("parser", "source", "hash");
+
+        for (int i = 0; i < 3; i++) {
+            List<Step> steps = store.loadOrParse(key, () -> {
+                parsed.incrementAndGet();
+                return List.of(new Step("id-1", "connector", "icon", new ArrayList<>()));
+            });
+            Assertions.assertEquals(1, steps.size());
+        }
+        Assertions.assertEquals(1, parsed.get());
+
+        //Different content or different version means a different snapshot
+        Assertions.assertNotEquals(key, store.key("parser", "source", "other-hash"));
+        Assertions.assertNotEquals(key, new CatalogSnapshotStore(dir, "2.0").key("parser", "source", "hash"));
+    }
+
+    @Test
+    void ignoreInvalidSnapshots() throws IOException {
+        CatalogSnapshotStore store = new CatalogSnapshotStore(dir, "1.0");
+        final var key = store.key("corrupted");
+        Files.writeString(dir.resolve(key + ".snapshot"), "this is not a snapshot");
+        Assertions.assertNull(store.load(key));
+
+        List<Step> steps = store.loadOrParse(key, () -> List.of(new Step("id-1", "c", "icon", new ArrayList<>())));
+        Assertions.assertEquals(1, steps.size());
+        Assertions.assertNotNull(store.load(key));
+    }
+}
@@ -57,4 +57,16 @@ class InMemoryCatalogTest {
                 .allMatch(step ->
                         catalog.searchByID(step.getId()).equals(step)));
     }
+
+    @Test
+    void searchByKindAndType() {
+        Assertions.assertTrue(catalog.store(List.of(
+                new Step("id-1", "a", "icon", new ArrayList<>(), "Kamelet", Step.Type.START),
+                new Step("id-2", "b", "icon", new ArrayList<>(), "EIP", Step.Type.MIDDLE))));
+
+        Assertions.assertEquals(2, catalog.searchByKindAndType(null, null).size());
+        Assertions.assertEquals(1, catalog.searchByKindAndType(List.of("kamelet"), List.of("start")).size());
+        Assertions.assertTrue(catalog.searchByKindAndType(List.of("Kamelet"), List.of("MIDDLE")).isEmpty());
+        Assertions.assertTrue(catalog.searchByKindAndType(null, Collections.emptyList()).isEmpty());
+    }
 }
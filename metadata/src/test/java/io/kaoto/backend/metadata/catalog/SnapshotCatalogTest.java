@@ -0,0 +1,150 @@
+package io.kaoto.backend.metadata.catalog;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.kaoto.backend.model.parameter.StringParameter;
+import io.kaoto.backend.model.step.Step;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@QuarkusTest
+class SnapshotCatalogTest {
+
+    private final SnapshotCatalog<Step> catalog = new SnapshotCatalog<>();
+
+    @Test
+    void store() {
+        //corner cases
+        Assertions.assertFalse(catalog.store(null));
+        Assertions.assertTrue(catalog.store(Collections.emptyList()));
+        Assertions.assertNull(catalog.searchByID(null));
+        Assertions.assertTrue(catalog.searchByName(null).isEmpty());
+    }
+
+    @Test
+    void searchStepsByName() {
+        List<Step> steps = new ArrayList<>();
+        final var connector = "connector";
+        steps.add(new Step("id-1", connector,
+                "icon", new ArrayList<>()));
+        steps.add(new Step("id-2", connector.toUpperCase(),
+                "icon", new ArrayList<>()));
+        steps.add(new Step("id-3", "another-one",
+                "icon", new ArrayList<>()));
+        Assertions.assertTrue(catalog.store(steps));
+
+        Assertions.assertEquals(2, catalog.searchByName(connector).size());
+        Assertions.assertEquals(3, catalog.getAll().size());
+        Assertions.assertEquals(0,
+                catalog.searchByName("non-existent-populated-catalog").size());
+    }
+
+    @Test
+    void readsShareSnapshots() {
+        Step step = new Step("id-1", "connector", "icon", new ArrayList<>());
+        Assertions.assertTrue(catalog.store(List.of(step)));
+
+        Assertions.assertSame(catalog.searchByID("id-1"), catalog.searchByID("id-1"));
+        Assertions.assertSame(catalog.searchByID("id-1"),
+                catalog.searchByName("connector").iterator().next());
+        Assertions.assertSame(catalog.getAll(), catalog.getAll());
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> catalog.getAll().clear());
+    }
+
+    @Test
+    void copiesDoNotModifySnapshots() {
+        StringParameter parameter = new StringParameter();
+        parameter.setId("param");
+        List<String> required = new ArrayList<>();
+        required.add("param");
+        Step step = new Step("id-1", "connector", "icon", new ArrayList<>(List.of(parameter)));
+        step.setRequired(required);
+        Assertions.assertTrue(catalog.store(List.of(step)));
+
+        Step copy = catalog.copyByID("id-1");
+        Assertions.assertNotSame(catalog.searchByID("id-1"), copy);
+        copy.getParameters().get(0).setValue("changed");
+        copy.getRequired().clear();
+
+        Step snapshot = catalog.searchByID("id-1");
+        Assertions.assertNull(snapshot.getParameters().get(0).getValue());
+        Assertions.assertEquals(1, snapshot.getRequired().size());
+        Assertions.assertNull(catalog.copyByID("non-existent"));
+    }
+
+    @Test
+    void storeKeepsPreviousElements() {
+        Assertions.assertTrue(catalog.store(List.of(
+                new Step("id-1", "connector", "icon", new ArrayList<>()))));
+        Assertions.assertTrue(catalog.store(List.of(
+                new Step("id-2", "connector", "icon", new ArrayList<>()))));
+        Assertions.assertEquals(2, catalog.getAll().size());
+
+        catalog.clear();
+        Assertions.assertTrue(catalog.getAll().isEmpty());
+        Assertions.assertNull(catalog.searchByID("id-1"));
+    }
+
+    @Test
+    void searchByKindAndType() {
+        Assertions.assertTrue(catalog.store(List.of(
+                new Step("id-1", "a", "icon", new ArrayList<>(), "Kamelet", Step.Type.START),
+                new Step("id-2", "b", "icon", new ArrayList<>(), "Kamelet", Step.Type.END),
+                new Step("id-3", "c", "icon", new ArrayList<>(), "EIP", Step.Type.MIDDLE),
+                new Step("id-4", "d", "icon", new ArrayList<>(), "Camel-Connector", Step.Type.START))));
+
+        Assertions.assertEquals(4, catalog.searchByKindAndType(null, null).size());
+        Assertions.assertEquals(2, catalog.searchByKindAndType(List.of("kamelet"), null).size());
+        Assertions.assertEquals(2, catalog.searchByKindAndType(null, List.of("start")).size());
+        Assertions.assertEquals(List.of("id-1"), catalog.searchByKindAndType(List.of("KAMELET"),
+                List.of("START")).stream().map(Step::getId).toList());
+        Assertions.assertEquals(3, catalog.searchByKindAndType(List.of("Kamelet", "eip"),
+                List.of("START", "MIDDLE", "END")).size());
+        Assertions.assertTrue(catalog.searchByKindAndType(Collections.emptyList(), null).isEmpty());
+        Assertions.assertTrue(catalog.searchByKindAndType(List.of("non-existent"), null).isEmpty());
+
+        //Index reflects every store
+        Assertions.assertTrue(catalog.store(List.of(
+                new Step("id-5", "e", "icon", new ArrayList<>(), "EIP", Step.Type.START))));
+        Assertions.assertEquals(2, catalog.searchByKindAndType(List.of("EIP"), null).size());
+        Assertions.assertEquals(1, catalog.searchByName("e").size());
+    }
+
+    @Test
+    void streamPagesInIdOrder() {
+        List<Step> steps = new ArrayList<>();
+        for (int i = 20; i > 0; i--) {
+            steps.add(new Step(String.format("id-%02d", i), "step", "icon", new ArrayList<>(),
+                    i % 2 == 0 ? "Kamelet" : "EIP", i % 3 == 0 ? Step.Type.START : Step.Type.END));
+        }
+        Assertions.assertTrue(catalog.store(steps));
+
+        //Filters apply before paging
+        final var kamelets = catalog.streamByKindAndType(List.of("kamelet"), null, null)
+                .map(Step::getId).toList();
+        Assertions.assertEquals(10, kamelets.size());
+        Assertions.assertEquals("id-02", kamelets.get(0));
+        Assertions.assertEquals(List.of("id-08", "id-10", "id-12"),
+                catalog.streamByKindAndType(List.of("kamelet"), null, "id-07")
+                        .limit(3).map(Step::getId).toList());
+
+        //Postings of different kinds and types are merged in order
+        final var merged = catalog.streamByKindAndType(List.of("kamelet", "eip"), List.of("start", "end"), "id-05")
+                .map(Step::getId).toList();
+        Assertions.assertEquals(15, merged.size());
+        Assertions.assertEquals(merged.stream().sorted().toList(), merged);
+        Assertions.assertEquals("id-06", merged.get(0));
+
+        //Same result as the default implementation
+        final var inMemory = new InMemoryCatalog<Step>();
+        inMemory.store(steps);
+        Assertions.assertEquals(
+                inMemory.streamByKindAndType(null, List.of("START"), "id-03").map(Step::getId).toList(),
+                catalog.streamByKindAndType(null, List.of("START"), "id-03").map(Step::getId).toList());
+        Assertions.assertTrue(catalog.streamByKindAndType(null, null, "id-20").findAny().isEmpty());
+    }
+}
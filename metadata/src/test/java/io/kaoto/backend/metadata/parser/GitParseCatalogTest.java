@@ -0,0 +1,131 @@
+package io.kaoto.backend.metadata.parser;
+
+import io.kaoto.backend.model.step.Step;
+import io.quarkus.test.junit.QuarkusTest;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@QuarkusTest
+class GitParseCatalogTest {
+
+    private Path remote;
+    private Path mirrors;
+    private Git git;
+    private final List<String> parsedContent = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void createRepository() throws Exception {
+        remote = Files.createTempDirectory("kaoto-git-remote-");
+        mirrors = Files.createTempDirectory("kaoto-git-mirrors-");
+        git = Git.init().setDirectory(remote.toFile()).setInitialBranch("main").call();
+    }
+
+    @AfterEach
+    void deleteRepository() throws IOException {
+        git.close();
+        FileUtils.deleteDirectory(remote.toFile());
+        FileUtils.deleteDirectory(mirrors.toFile());
+    }
+
+    @Test
+    void parsesOnlyWhatChanged() throws Exception {
+        write("a.yaml", "a");
+        write("b.yaml", "b");
+        write("docs/c.yaml", "c");
+        write("README.md", "readme");
+        commit();
+
+        Assertions.assertEquals(List.of("a", "b"), ids(parse()));
+        Assertions.assertEquals(2, parsedContent.size());
+
+        //Nothing changed, nothing parsed
+        parsedContent.clear();
+        Assertions.assertEquals(List.of("a", "b"), ids(parse()));
+        Assertions.assertTrue(parsedContent.isEmpty());
+
+        write("a.yaml", "a2");
+        Files.delete(remote.resolve("b.yaml"));
+        write("sub/d.yaml", "d");
+        commit();
+
+        parsedContent.clear();
+        Assertions.assertEquals(List.of("a2", "d"), ids(parse()));
+        Assertions.assertEquals(List.of("a2", "d"), parsedContent.stream().sorted().toList());
+    }
+
+    @Test
+    void parsesAgainWhatFailed() throws Exception {
+        write("a.yaml", "a");
+        write("b.yaml", "b");
+        commit();
+        Assertions.assertEquals(List.of("a", "b"), ids(parse()));
+
+        //The old version of a file doesn't stay when the new one fails
+        write("a.yaml", "broken");
+        commit();
+        Assertions.assertEquals(List.of("b"), ids(parse()));
+
+        //And the file is tried again, even if nothing changed
+        parsedContent.clear();
+        Assertions.assertEquals(List.of("b"), ids(parse()));
+        Assertions.assertEquals(List.of("broken"), parsedContent);
+
+        write("a.yaml", "a3");
+        commit();
+        parsedContent.clear();
+        Assertions.assertEquals(List.of("a3", "b"), ids(parse()));
+        Assertions.assertEquals(List.of("a3"), parsedContent);
+    }
+
+    private List<Step> parse() {
+        GitParseCatalog<Step> catalog = new GitParseCatalog<>(remote.toUri().toString(), "main");
+        catalog.setMirrorDirectory(mirrors);
+        catalog.setFileVisitor(new YamlProcessFile<>() {
+            @Override
+            protected List<Step> parseInputStream(final Reader reader) {
+                try {
+                    final var content = IOUtils.toString(reader).trim();
+                    parsedContent.add(content);
+                    if ("broken".equals(content)) {
+                        throw new IllegalArgumentException("Can't parse " + content);
+                    }
+                    return List.of(new Step(content, content, "icon", new ArrayList<>()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+        return catalog.parse().join();
+    }
+
+    private static List<String> ids(final List<Step> steps) {
+        return steps.stream().map(Step::getId).sorted().toList();
+    }
+
+    private void write(final String path, final String content) throws IOException {
+        final var file = remote.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private void commit() throws Exception {
+        git.add().addFilepattern(".").call();
+        git.add().addFilepattern(".").setUpdate(true).call();
+        git.commit().setMessage("change").setAuthor("kaoto", "kaoto@kaoto.io")
+                .setCommitter("kaoto", "kaoto@kaoto.io").call();
+    }
+}
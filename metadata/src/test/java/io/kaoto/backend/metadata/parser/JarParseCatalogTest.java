@@ -0,0 +1,164 @@
+package io.kaoto.backend.metadata.parser;
+
+import com.sun.net.httpserver.HttpServer;
+import io.kaoto.backend.metadata.catalog.CatalogSnapshotStore;
+import io.kaoto.backend.model.step.Step;
+import io.quarkus.test.junit.QuarkusTest;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@QuarkusTest
+class JarParseCatalogTest {
+
+    private Path dir;
+    private final List<String> parsedContent = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void createDir() throws IOException {
+        dir = Files.createTempDirectory("kaoto-jar-");
+    }
+
+    @AfterEach
+    void deleteDir() throws IOException {
+        FileUtils.deleteDirectory(dir.toFile());
+    }
+
+    @Test
+    void parseOnlyDesiredEntries() throws IOException {
+        final var jar = dir.resolve("catalog.zip");
+        Files.write(jar, zip(50));
+
+        Assertions.assertEquals(50, parse(jar, null).size());
+        Assertions.assertEquals(50, parsedContent.size());
+        Assertions.assertFalse(parsedContent.contains("readme"));
+
+        //Parsed once, then read from the snapshot
+        final var store = new CatalogSnapshotStore(dir.resolve("snapshots"), "1.0");
+        parsedContent.clear();
+        Assertions.assertEquals(50, parse(jar, store).size());
+        Assertions.assertEquals(50, parse(jar, store).size());
+        Assertions.assertEquals(50, parsedContent.size());
+    }
+
+    @Test
+    void missingJar() {
+        Assertions.assertTrue(parse(dir.resolve("missing.zip"), null).isEmpty());
+    }
+
+    @Test
+    void tooBigOnceUnzipped() throws IOException {
+        final var jar = dir.resolve("catalog.zip");
+        Files.write(jar, zip(50));
+
+        //What is decompressed counts, whatever the jar says about its entries
+        Assertions.assertTrue(parse(jar.toUri().toString(), null, 100).isEmpty());
+        Assertions.assertEquals(50, parse(jar.toUri().toString(), null, 1000).size());
+    }
+
+    @Test
+    void revalidateRemoteJar() throws IOException {
+        final AtomicReference<byte[]> content = new AtomicReference<>(zip(10));
+        final AtomicInteger downloads = new AtomicInteger();
+        final AtomicInteger notModified = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/catalog.zip", exchange -> {
+            final var etag = "\"" + CatalogSnapshotStore.hash(content.get()) + "\"";
+            exchange.getResponseHeaders().add("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                downloads.incrementAndGet();
+                exchange.sendResponseHeaders(200, content.get().length);
+                exchange.getResponseBody().write(content.get());
+            }
+            exchange.close();
+        });
+        server.start();
+
+        try {
+            final var url = "http://localhost:" + server.getAddress().getPort() + "/catalog.zip";
+            Assertions.assertEquals(10, parse(url, null).size());
+            Assertions.assertEquals(10, parsedContent.size());
+
+            //Not modified, so not parsed again
+            parsedContent.clear();
+            Assertions.assertEquals(10, parse(url, null).size());
+            Assertions.assertTrue(parsedContent.isEmpty());
+            Assertions.assertEquals(1, downloads.get());
+            Assertions.assertEquals(1, notModified.get());
+
+            content.set(zip(20));
+            Assertions.assertEquals(20, parse(url, null).size());
+            Assertions.assertEquals(20, parsedContent.size());
+            Assertions.assertEquals(2, downloads.get());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static byte[] zip(final int steps) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(bytes)) {
+            zos.putNextEntry(new ZipEntry("steps/"));
+            zos.closeEntry();
+            for (int i = 0; i < steps; i++) {
+                zos.putNextEntry(new ZipEntry("steps/step-" + i + ".yaml"));
+                zos.write(("step-" + i).getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+            zos.putNextEntry(new ZipEntry("README.md"));
+            zos.write("readme".getBytes(StandardCharsets.UTF_8));
+            zos.closeEntry();
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<Step> parse(final Path jar, final CatalogSnapshotStore store) {
+        return parse(jar.toUri().toString(), store);
+    }
+
+    private List<Step> parse(final String url, final CatalogSnapshotStore store) {
+        return parse(url, store, 1000000000);
+    }
+
+    private List<Step> parse(final String url, final CatalogSnapshotStore store, final int threshold) {
+        JarParseCatalog<Step> catalog = new JarParseCatalog<>(url);
+        catalog.setThresholdSize(threshold);
+        catalog.setSnapshotStore(store);
+        catalog.setDownloadDirectory(dir.resolve("downloads"));
+        catalog.setFileVisitor(new YamlProcessFile<>() {
+            @Override
+            protected List<Step> parseInputStream(final Reader reader) {
+                try {
+                    final var content = IOUtils.toString(reader).trim();
+                    parsedContent.add(content);
+                    return List.of(new Step(content, content, "icon", new ArrayList<>()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+        return catalog.parse().join();
+    }
+}
@@ -0,0 +1,85 @@
+package io.kaoto.backend.metadata.parser;
+
+import io.kaoto.backend.model.step.Step;
+import io.quarkus.test.junit.QuarkusTest;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+@QuarkusTest
+class ParsePipelineTest {
+
+    private Path dir;
+
+    private final YamlProcessFile<Step> processFile = new YamlProcessFile<>() {
+        @Override
+        protected List<Step> parseInputStream(final Reader reader) {
+            try {
+                final var content = IOUtils.toString(reader).trim();
+                if (content.equals("broken")) {
+                    throw new IllegalArgumentException("Can't parse this");
+                }
+                return List.of(new Step(content, content, "icon", new ArrayList<>()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    };
+
+    @BeforeEach
+    void createDir() throws IOException {
+        dir = Files.createTempDirectory("kaoto-pipeline-");
+    }
+
+    @AfterEach
+    void deleteDir() throws IOException {
+        FileUtils.deleteDirectory(dir.toFile());
+    }
+
+    @Test
+    void walkFolder() throws IOException {
+        for (int i = 0; i < 100; i++) {
+            write("steps/" + (i % 7) + "/step-" + i + ".yaml", "step-" + i);
+        }
+        write("broken.yaml", "broken");
+        write("docs/skipped.yaml", "skipped");
+        write("README.md", "readme");
+
+        final var pipeline = new ParsePipeline<>("test", processFile);
+        Files.walkFileTree(dir, pipeline);
+        final var steps = pipeline.finish();
+
+        Assertions.assertEquals(100, steps.size());
+        Assertions.assertTrue(steps.stream().noneMatch(s -> s.getId().equals("skipped")));
+        Assertions.assertEquals(100, steps.stream().map(Step::getId).distinct().count());
+    }
+
+    @Test
+    void submitMoreThanTheQueue() throws InterruptedException {
+        final var pipeline = new ParsePipeline<>("test", processFile);
+        for (int i = 0; i < 1000; i++) {
+            final var id = "step-" + i;
+            pipeline.submit(id, () -> List.of(new Step(id, id, "icon", new ArrayList<>())));
+        }
+        pipeline.submit("nothing", () -> null);
+
+        Assertions.assertEquals(1000, pipeline.finish().size());
+    }
+
+    private void write(final String path, final String content) throws IOException {
+        final var file = dir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
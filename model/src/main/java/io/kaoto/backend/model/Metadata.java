@@ -1,5 +1,7 @@
 package io.kaoto.backend.model;
 
+import java.io.Serializable;
+
 /**
  * 🐱miniclass Metadata (MetadataCatalog)
  * 🐱aka List[Metadata]
@@ -9,7 +11,7 @@ package io.kaoto.backend.model;
  * Used to simplify the implementation of catalogs.
  *
  */
-public abstract class Metadata implements Cloneable {
+public abstract class Metadata implements Cloneable, Serializable {
 
     private String name = null;
     private String type = "UNDEFINED";
@@ -8,4 +8,8 @@ public class Views {
 
     public static class Summary {
     }
+
+    //Summary plus the icons themselves, instead of just their hashes
+    public static class InlineIcons extends Summary {
+    }
 }
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 import jakarta.json.bind.annotation.JsonbTypeDeserializer;
+import java.io.Serializable;
 import java.util.Arrays;
 
 /**
@@ -29,7 +30,7 @@ import java.util.Arrays;
         @JsonSubTypes.Type(value = ArrayParameter.class, name = "array")})
 //This is a workaround utility class until Quarkus supports fully polymorphism
 @JsonbTypeDeserializer(ParameterDeserializer.class)
-public abstract class Parameter<T> implements Cloneable, Comparable<Parameter<T>> {
+public abstract class Parameter<T> implements Cloneable, Comparable<Parameter<T>>, Serializable {
 
     // Kaoto
     private String id;
@@ -1,5 +1,6 @@
 package io.kaoto.backend.model.step;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,7 +12,7 @@ import io.kaoto.backend.model.parameter.Parameter;
  * 🐱aka Branch[]
  *
  */
-public class Branch {
+public class Branch implements Serializable {
 
 
     public enum ConditionSyntax {
@@ -26,9 +26,11 @@ public class Step extends Metadata {
 
     @JsonView(Views.Summary.class)
     private String kind;
-    @JsonView(Views.Summary.class)
+    @JsonView({Views.InlineIcons.class, Views.Complete.class})
     private String icon;
     @JsonView(Views.Summary.class)
+    private String iconHash;
+    @JsonView(Views.Summary.class)
     private String title;
     @JsonView(Views.Summary.class)
     private String description;
@@ -131,6 +133,21 @@ public class Step extends Metadata {
         this.icon = icon;
     }
 
+    /*
+     * 🐱property iconHash: String
+     *
+     * Hash of the icon, to retrieve it on its own from the icons endpoint.
+     * Only steps coming from the catalog have it.
+     *
+     */
+    public String getIconHash() {
+        return iconHash;
+    }
+
+    public void setIconHash(final String iconHash) {
+        this.iconHash = iconHash;
+    }
+
     /*
      * 🐱property UUID: String
      *
@@ -320,6 +337,12 @@ public class Step extends Metadata {
             }
         }
 
+        //Catalog steps are shared snapshots, don't let copies write on their lists
+        step.setRequired(new ArrayList<>(required));
+        if (branches != null) {
+            step.setBranches(new ArrayList<>(branches));
+        }
+
         return step;
     }
 
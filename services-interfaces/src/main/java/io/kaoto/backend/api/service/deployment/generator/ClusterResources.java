@@ -0,0 +1,60 @@
+package io.kaoto.backend.api.service.deployment.generator;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClient;
+
+import java.util.List;
+
+/**
+ * 🐱miniclass ClusterResources (DeploymentGeneratorService)
+ * <p>
+ * 🐱section
+ * Read only view of the resources in the cluster. It may ask the cluster each time or answer from a local copy
+ * that is kept up to date.
+ */
+public interface ClusterResources {
+
+    String INTEGRATION_LABEL = "camel.apache.org/integration";
+
+    /*
+     * 🐱method list: HasMetadata[]
+     * 🐱param type: Class
+     * 🐱param namespace: String
+     *
+     * Returns all the resources of the given type in the namespace.
+     */
+    <T extends HasMetadata> List<T> list(Class<T> type, String namespace);
+
+    /*
+     * 🐱method pods: Pod[]
+     * 🐱param namespace: String
+     * 🐱param integration: String
+     *
+     * Returns the pods labeled as part of the given integration.
+     */
+    List<Pod> pods(String namespace, String integration);
+
+    /*
+     * 🐱method of: ClusterResources
+     * 🐱param kclient: KubernetesClient
+     *
+     * Resources read directly from the cluster on each call.
+     */
+    static ClusterResources of(final KubernetesClient kclient) {
+        return new ClusterResources() {
+            @Override
+            public <T extends HasMetadata> List<T> list(final Class<T> type, final String namespace) {
+                return kclient.resources(type).inNamespace(namespace).list().getItems();
+            }
+
+            @Override
+            public List<Pod> pods(final String namespace, final String integration) {
+                return kclient.pods()
+                        .inNamespace(namespace)
+                        .withLabel(INTEGRATION_LABEL + "=" + integration)
+                        .list().getItems();
+            }
+        };
+    }
+}
@@ -9,6 +9,9 @@ import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +50,25 @@ public interface DeploymentGeneratorService {
     @WithSpan
     String parse(List<StepParserService.ParseResult<Step>> flows);
 
+    /*
+     * 🐱method write
+     * 🐱param flows: ParseResult
+     * 🐱param output: OutputStream
+     *
+     * Same as parse, but writing the source code on the output as each flow
+     * is translated, without keeping it whole in memory. The output is not
+     * closed. By default, it writes whatever parse returns.
+     */
+    @WithSpan
+    default void write(final List<StepParserService.ParseResult<Step>> flows, final OutputStream output)
+            throws IOException {
+        final var source = parse(flows);
+        if (source == null) {
+            throw new IOException("Couldn't write the source of these flows.");
+        }
+        output.write(source.getBytes(StandardCharsets.UTF_8));
+    }
+
     /*
      * 🐱method parse: CustomResource
      * 🐱param input: String
@@ -81,7 +103,19 @@ public interface DeploymentGeneratorService {
      * Return the step kinds compatible with this service.
      */
     @WithSpan
-    Collection<? extends Deployment> getResources(String namespace, KubernetesClient kclient);
+    default Collection<? extends Deployment> getResources(String namespace, KubernetesClient kclient) {
+        return getResources(namespace, ClusterResources.of(kclient));
+    }
+
+    /*
+     * 🐱method getResources: Deployment[]
+     * 🐱param namespace: String
+     * 🐱param resources: ClusterResources
+     *
+     * Return the deployments of this kind found in the resources of the cluster.
+     */
+    @WithSpan
+    Collection<? extends Deployment> getResources(String namespace, ClusterResources resources);
 
     /*
      * 🐱method getPod: Pod
@@ -92,7 +126,20 @@ public interface DeploymentGeneratorService {
      * Return the pod associated to the resource by name. If no pod associated, returns null.
      */
     @WithSpan
-    Pod getPod(String namespace, String name, KubernetesClient kclient);
+    default Pod getPod(String namespace, String name, KubernetesClient kclient) {
+        return getPod(namespace, name, ClusterResources.of(kclient));
+    }
+
+    /*
+     * 🐱method getPod: Pod
+     * 🐱param namespace: String
+     * 🐱param name: String
+     * 🐱param resources: ClusterResources
+     *
+     * Return the pod associated to the resource by name, looking for it in the resources of the cluster.
+     */
+    @WithSpan
+    Pod getPod(String namespace, String name, ClusterResources resources);
 
     /*
      * 🐱method filterCatalog: List[Step]
@@ -0,0 +1,94 @@
+package io.kaoto.backend.api.service.dsl;
+
+import io.kaoto.backend.model.step.Step;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 🐱class DSLCompatibility
+ * 🐱relationship compositionOf DSLSpecification, 0..N
+ *
+ * Which DSLs can be used for a list of steps, checked for all of them at
+ * once.
+ *
+ * Each kind of step knows from the start the set of DSLs that accept it,
+ * so the steps are walked only once, reading the kind of each one a single
+ * time, and the DSLs left are the ones every kind seen accepts. Same
+ * result as asking appliesTo to each DSL, one after the other.
+ */
+public final class DSLCompatibility {
+
+    private final List<DSLSpecification> dsls;
+    private final Map<String, BitSet> accepting = new HashMap<>();
+    private final BitSet all;
+
+    public DSLCompatibility(final Collection<DSLSpecification> dsls) {
+        this.dsls = List.copyOf(dsls);
+        this.all = new BitSet(this.dsls.size());
+        this.all.set(0, this.dsls.size());
+        for (int i = 0; i < this.dsls.size(); i++) {
+            for (var kind : this.dsls.get(i).getKinds()) {
+                accepting.computeIfAbsent(kind, k -> new BitSet(this.dsls.size())).set(i);
+            }
+        }
+    }
+
+    /*
+     * 🐱method compatible: List[DSLSpecification]
+     * 🐱param steps: List[Step]
+     *
+     * The DSLs that can be used for all these steps, in the same order they
+     * were given.
+     */
+    public List<DSLSpecification> compatible(final List<Step> steps) {
+        final var matching = matching(steps);
+        final List<DSLSpecification> res = new ArrayList<>(matching.cardinality());
+        for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+            res.add(dsls.get(i));
+        }
+        return res;
+    }
+
+    /*
+     * 🐱method isCompatible: boolean
+     * 🐱param dsl: DSLSpecification
+     * 🐱param steps: List[Step]
+     *
+     * Whether this DSL can be used for all these steps.
+     */
+    public boolean isCompatible(final DSLSpecification dsl, final List<Step> steps) {
+        final var i = dsls.indexOf(dsl);
+        return i >= 0 && matching(steps).get(i);
+    }
+
+    private BitSet matching(final List<Step> steps) {
+        final var matching = (BitSet) all.clone();
+        if (steps == null) {
+            return matching;
+        }
+        final var seen = new HashSet<String>();
+        for (var step : steps) {
+            if (step == null) {
+                continue;
+            }
+            //Nobody accepts a step without kind
+            final var kind = step.getKind() != null ? step.getKind().toUpperCase(Locale.ROOT) : null;
+            if (kind == null || !accepting.containsKey(kind)) {
+                matching.clear();
+            } else if (seen.add(kind)) {
+                matching.and(accepting.get(kind));
+            }
+            if (matching.isEmpty()) {
+                break;
+            }
+        }
+        return matching;
+    }
+}
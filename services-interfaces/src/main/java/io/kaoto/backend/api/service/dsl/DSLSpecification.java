@@ -1,6 +1,7 @@
 package io.kaoto.backend.api.service.dsl;
 
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
+import io.kaoto.backend.api.service.step.parser.SourceSniffer;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.model.step.Step;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
@@ -96,7 +97,17 @@ public abstract class DSLSpecification {
      * Check if the source code is from this DSL.
      */
     public boolean appliesTo(final String sourceCode) {
-        return this.getStepParserService().appliesTo(sourceCode);
+        return appliesTo(SourceSniffer.sniff(sourceCode));
+    }
+
+    /*
+     * 🐱method appliesTo: boolean
+     * 🐱param source: Sniffed
+     *
+     * Check if the sniffed source code is from this DSL.
+     */
+    public boolean appliesTo(final SourceSniffer.Sniffed source) {
+        return this.getStepParserService().appliesTo(source);
     }
 
 
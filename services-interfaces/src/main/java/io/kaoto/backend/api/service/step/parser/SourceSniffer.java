@@ -0,0 +1,188 @@
+package io.kaoto.backend.api.service.step.parser;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+
+/**
+ * 🐱class SourceSniffer
+ * 🐱relationship compositionOf Sniffed, 0..n
+ *
+ * Finds out what kind of source code we have without parsing all of it.
+ *
+ * The source is read token by token only until the root apiVersion and kind
+ * are found, so each DSL can decide if it applies without deserializing the
+ * whole document again. The full tree is only built if someone asks for it,
+ * and then only once.
+ *
+ * Nothing is cached here: whoever gets a source sniffs it once and passes
+ * the result to every DSL that checks it and then to the one that parses
+ * it, so it is forgotten with the request. Anything a DSL works out from
+ * the source can be kept on it too.
+ */
+public final class SourceSniffer {
+
+    private static final Logger LOG = Logger.getLogger(SourceSniffer.class);
+    private static final ObjectMapper YAML_MAPPER = new YAMLMapper();
+
+    private SourceSniffer() {
+    }
+
+    /*
+     * 🐱method sniff: Sniffed
+     * 🐱param source: String
+     *
+     * Reads the source just enough to know what it is.
+     */
+    public static Sniffed sniff(final String source) {
+        if (source == null) {
+            return new Sniffed(null, false, false, null, null);
+        }
+        return read(source);
+    }
+
+    /*
+     * 🐱method kindOf: String
+     * 🐱param source: String
+     *
+     * Root kind of the source, if any, for sources that are only looked at
+     * once, like the files of a catalog.
+     */
+    public static String kindOf(final String source) {
+        return source != null ? read(source).getKind() : null;
+    }
+
+    private static Sniffed read(final String source) {
+        String apiVersion = null;
+        String kind = null;
+        try (JsonParser parser = YAML_MAPPER.createParser(source)) {
+            final var root = parser.nextToken();
+            if (root != JsonToken.START_OBJECT) {
+                return new Sniffed(source, root != null, root == JsonToken.START_ARRAY, null, null);
+            }
+
+            //Only the root fields matter, whatever is inside them is skipped
+            while ((apiVersion == null || kind == null) && parser.nextToken() == JsonToken.FIELD_NAME) {
+                final var field = parser.currentName();
+                final var value = parser.nextToken();
+                if (value.isScalarValue() && "apiVersion".equals(field)) {
+                    apiVersion = parser.getText();
+                } else if (value.isScalarValue() && "kind".equals(field)) {
+                    kind = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new Sniffed(source, true, false, apiVersion, kind);
+        } catch (IOException e) {
+            LOG.trace("This doesn't look like a yaml document.", e);
+            return new Sniffed(source, false, false, apiVersion, kind);
+        }
+    }
+
+    /*
+     * 🐱class Sniffed
+     *
+     * What we know about a source code after sniffing it.
+     */
+    public static final class Sniffed {
+        private final String source;
+        private final boolean valid;
+        private final boolean sequence;
+        private final String apiVersion;
+        private final String kind;
+        private volatile JsonNode tree;
+        private final Map<Object, Object> derived = new ConcurrentHashMap<>();
+
+        private Sniffed(final String source, final boolean valid, final boolean sequence,
+                        final String apiVersion, final String kind) {
+            this.source = source;
+            this.valid = valid;
+            this.sequence = sequence;
+            this.apiVersion = apiVersion;
+            this.kind = kind;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        /*
+         * 🐱method isValid: boolean
+         *
+         * The beginning of the source looks like yaml.
+         */
+        public boolean isValid() {
+            return valid;
+        }
+
+        /*
+         * 🐱method isSequence: boolean
+         *
+         * The root of the source is a list, like in a plain camel route.
+         */
+        public boolean isSequence() {
+            return sequence;
+        }
+
+        public String getApiVersion() {
+            return apiVersion;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        /*
+         * 🐱method isKind: boolean
+         * 🐱param expected: String
+         *
+         * The root kind is the expected one, ignoring case.
+         */
+        public boolean isKind(final String expected) {
+            return kind != null && kind.equalsIgnoreCase(expected);
+        }
+
+        /*
+         * 🐱method getTree: JsonNode
+         *
+         * The whole source parsed as a tree. It is parsed the first time it
+         * is needed and shared after that, so don't modify it.
+         */
+        public JsonNode getTree() throws IOException {
+            var res = tree;
+            if (res == null) {
+                synchronized (this) {
+                    res = tree;
+                    if (res == null) {
+                        res = YAML_MAPPER.readTree(source);
+                        tree = res;
+                    }
+                }
+            }
+            return res;
+        }
+
+        /*
+         * 🐱method derive: Object
+         * 🐱param key: Object
+         * 🐱param builder: Function
+         *
+         * Something worked out from this source, identified by the key. It is
+         * built the first time someone asks for it and shared after that.
+         */
+        @SuppressWarnings("unchecked")
+        public <V> V derive(final Object key, final Function<Sniffed, V> builder) {
+            return (V) derived.computeIfAbsent(key, k -> builder.apply(this));
+        }
+    }
+}
@@ -4,6 +4,10 @@ import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -26,6 +30,18 @@ public interface StepParserService<T extends Step> {
     @WithSpan
     ParseResult<T> deepParse(String yaml);
 
+    /*
+     * 🐱method deepParse: ParseResult
+     * 🐱param source: Sniffed
+     *
+     * Same as deepParse, on a source already sniffed. Parsers that read the
+     * tree of the source should override this, so whatever was worked out
+     * while sniffing it is not done again.
+     */
+    default ParseResult<T> deepParse(SourceSniffer.Sniffed source) {
+        return deepParse(source.getSource());
+    }
+
     /*
      * 🐱method getParsedFlows: List<ParseResult>
      * 🐱param yaml: String
@@ -36,6 +52,31 @@ public interface StepParserService<T extends Step> {
     @WithSpan
     List<ParseResult<T>> getParsedFlows(String yaml);
 
+    /*
+     * 🐱method getParsedFlows: List<ParseResult>
+     * 🐱param source: Sniffed
+     *
+     * Same as getParsedFlows, on a source already sniffed.
+     */
+    default List<ParseResult<T>> getParsedFlows(SourceSniffer.Sniffed source) {
+        return getParsedFlows(source.getSource());
+    }
+
+    /*
+     * 🐱method getParsedFlows: Iterator<ParseResult>
+     * 🐱param input: InputStream
+     *
+     * Same flows and metadata, but read from the source as they are asked
+     * for. Parsers that can read big sources piece by piece should override
+     * this; by default the whole source is read first. Errors on the source
+     * are thrown by the iterator when it gets to them.
+     * Parsers reading piece by piece may return them in the order they are
+     * on the source instead of the order of getParsedFlows.
+     */
+    default Iterator<ParseResult<T>> getParsedFlows(InputStream input) throws IOException {
+        return getParsedFlows(new String(input.readAllBytes(), StandardCharsets.UTF_8)).iterator();
+    }
+
     /*
      * 🐱method appliesTo: boolean
      * 🐱param yaml: String
@@ -44,6 +85,18 @@ public interface StepParserService<T extends Step> {
      */
     boolean appliesTo(String sourceCode);
 
+    /*
+     * 🐱method appliesTo: boolean
+     * 🐱param source: Sniffed
+     *
+     * Check if this parser knows how to parse the sniffed source code.
+     * Parsers that only need the root kind should override this, so the
+     * source is not parsed again.
+     */
+    default boolean appliesTo(SourceSniffer.Sniffed source) {
+        return appliesTo(source.getSource());
+    }
+
     /**
      * 🐱miniclass ParseResult (StepParserService)
      *